@@ -3,6 +3,7 @@ plugins {
     id("com.gradleup.shadow") version "8.3.7"
     id("io.micronaut.test-resources") version "4.5.4"
     id("io.micronaut.aot") version "4.5.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 version = "0.1"
@@ -24,21 +25,34 @@ dependencies {
     implementation("io.micronaut:micronaut-http-client")
     implementation("io.micronaut:micronaut-jackson-databind")
     implementation("io.micronaut.data:micronaut-data-jdbc")
+    // MeterRegistry for the lookup-tier, cache, repository and PokeAPI meters
+    implementation("io.micronaut.micrometer:micronaut-micrometer-core")
+    // scraped at /prometheus; management provides the endpoint
+    implementation("io.micronaut.micrometer:micronaut-micrometer-registry-prometheus")
+    implementation("io.micronaut:micronaut-management")
+    // server span per request and the OpenTelemetry SDK; spans leave through the exporter picked by otel.traces.exporter
+    implementation("io.micronaut.tracing:micronaut-tracing-opentelemetry-http")
+    runtimeOnly("io.opentelemetry:opentelemetry-exporter-otlp")
+    runtimeOnly("io.opentelemetry:opentelemetry-exporter-logging")
     implementation("io.micronaut.guice:micronaut-guice")
     implementation("io.micronaut.sql:micronaut-jdbc-hikari")
     implementation("org.flywaydb:flyway-core")
+    runtimeOnly("org.flywaydb:flyway-mysql")
     implementation("io.micronaut.validation:micronaut-validation")
     implementation("jakarta.annotation:jakarta.annotation-api")
     implementation("jakarta.validation:jakarta.validation-api")
     compileOnly("io.micronaut.openapi:micronaut-openapi-annotations")
     compileOnly("org.projectlombok:lombok")
     runtimeOnly("ch.qos.logback:logback-classic")
-    runtimeOnly("com.mysql:mysql-connector-j")
+    // 9.x replaced the driver's synchronized I/O sections with locks, so JDBC calls no longer pin virtual threads
+    runtimeOnly("com.mysql:mysql-connector-j:9.1.0")
     runtimeOnly("org.yaml:snakeyaml")
     implementation("com.github.ben-manes.caffeine:caffeine:3.1.6")
     // Lettuce + Micronaut Redis (Lettuce) for Redis-backed cache adapter
     implementation("io.micronaut.redis:micronaut-redis-lettuce")
     implementation("io.lettuce:lettuce-core:6.2.5.RELEASE")
+    // optional Redis read pool (ConnectionPoolSupport)
+    implementation("org.apache.commons:commons-pool2:2.11.1")
     testImplementation("com.jayway.jsonpath:json-path:2.9.0")
     testImplementation("io.micronaut.test:micronaut-test-rest-assured")
     testImplementation("net.minidev:json-smart:2.5.2")
@@ -47,8 +61,14 @@ dependencies {
     testImplementation("org.mockito:mockito-core")
     testImplementation("org.mockito:mockito-junit-jupiter")
     testImplementation("com.squareup.okhttp3:mockwebserver:4.10.0")
+    testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
     testRuntimeOnly("com.h2database:h2:2.1.214")
+    // a bundled redis-server for the Redis and tiered cache adapter tests
+    testImplementation("com.github.codemonstur:embedded-redis:1.4.3")
     testImplementation("com.zaxxer:HikariCP:5.0.1")
+    // src/jmh: H2 for the repository benchmarks, a bundled redis-server for the Redis adapter
+    jmh("com.h2database:h2:2.1.214")
+    jmh("com.github.codemonstur:embedded-redis:1.4.3")
 }
 
 application {
@@ -59,6 +79,38 @@ java {
     targetCompatibility = JavaVersion.toVersion("21")
 }
 
+tasks.named<Test>("test") {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// ./gradlew benchmark — long-running throughput comparisons tagged @Tag("benchmark")
+tasks.register<Test>("benchmark") {
+    description = "Runs the tests tagged as benchmarks."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    // report virtual threads pinned to their carrier while blocking
+    jvmArgs("-Djdk.tracePinnedThreads=short")
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+// ./gradlew jmh — microbenchmarks in src/jmh; -PjmhInclude=<regex> runs a subset
+jmh {
+    jmhVersion = "1.37"
+    includes = providers.gradleProperty("jmhInclude").map { listOf(it) }.orElse(listOf(".*"))
+    // JSON so runs from different commits can be diffed or loaded into a JMH visualizer
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    jvmArgsAppend = listOf("-Dlogback.configurationFile=logback-jmh.xml")
+}
+
 graalvmNative.toolchainDetection = false
 
 micronaut {
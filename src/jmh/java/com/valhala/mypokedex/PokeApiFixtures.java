@@ -0,0 +1,39 @@
+package com.valhala.mypokedex;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.parser.PokemonPayloadParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * PokeAPI {@code /pokemon/{name}} payloads checked in under {@code src/jmh/resources/fixtures},
+ * in the compact form the API serves them (moves, game indices and all sprite versions included).
+ */
+public final class PokeApiFixtures {
+
+    public static final List<String> NAMES = List.of("pikachu", "charizard", "mewtwo");
+
+    private PokeApiFixtures() {
+    }
+
+    public static byte[] load(String name) {
+        try (InputStream in = PokeApiFixtures.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+            if (in == null)
+                throw new IllegalArgumentException("No fixture named '" + name + "'");
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static PokemonDTO parse(String name) {
+        try {
+            return new PokemonPayloadParser().parse(load(name), name);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
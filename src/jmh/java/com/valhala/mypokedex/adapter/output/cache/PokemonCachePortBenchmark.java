@@ -0,0 +1,130 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.valhala.mypokedex.PokeApiFixtures;
+import com.valhala.mypokedex.config.PokemonFreshnessConfiguration;
+import com.valhala.mypokedex.config.RedisCacheConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hits, batch hits and writes against each {@link PokemonCachePort}. The Redis adapter runs
+ * against an embedded redis-server on a free local port, so its numbers include one loopback
+ * round trip and the value codec. Entries never go stale during a run, so the loader is never
+ * called.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PokemonCachePortBenchmark {
+
+    private static final int KEYS = 50;
+    private static final int BATCH = 20;
+
+    @Param({ "caffeine", "redis" })
+    public String strategy;
+
+    private PokemonCachePort cache;
+    private PokemonRedisCacheAdapter redis;
+    private RedisServer server;
+    private ExecutorService executor;
+    private final List<String> keys = new ArrayList<>();
+    private final List<PokemonDTO> values = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PokemonFreshnessConfiguration freshness = new PokemonFreshnessConfiguration();
+        RedisCacheConfiguration config = new RedisCacheConfiguration();
+        freshness.setSoftTtlSeconds(config.getTtlSeconds());
+        if (strategy.equals("redis")) {
+            config.setPort(freePort());
+            server = new RedisServer(config.getPort());
+            server.start();
+            redis = new PokemonRedisCacheAdapter(PokemonRedisCacheAdapter.createClient(config), config, null,
+                    freshness, new SimpleMeterRegistry(), OpenTelemetry.noop().getTracer("noop"), null, List.of());
+            cache = redis;
+        } else {
+            executor = Executors.newSingleThreadExecutor();
+            cache = new PokemonCaffeineCacheAdapter(null, freshness, executor, new SimpleMeterRegistry(),
+                    OpenTelemetry.noop().getTracer("noop"), List.of());
+        }
+        List<PokemonDTO> fixtures = PokeApiFixtures.NAMES.stream().map(PokeApiFixtures::parse).toList();
+        for (int i = 0; i < KEYS; i++) {
+            keys.add("pokemon-" + i);
+            values.add(fixtures.get(i % fixtures.size()));
+            put(keys.get(i), values.get(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (redis != null)
+            redis.shutdown();
+        if (server != null)
+            server.stop();
+        if (executor != null)
+            executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Optional<PokemonDTO> get() {
+        return cache.get(keys.get(ThreadLocalRandom.current().nextInt(KEYS)));
+    }
+
+    @Benchmark
+    public Map<String, PokemonDTO> getAll() {
+        int from = ThreadLocalRandom.current().nextInt(KEYS - BATCH);
+        return cache.getAll(keys.subList(from, from + BATCH));
+    }
+
+    @Benchmark
+    public void put() {
+        int i = ThreadLocalRandom.current().nextInt(KEYS);
+        put(keys.get(i), values.get(i));
+    }
+
+    // Redis writes are fire-and-forget; wait for the reply so the run measures the write
+    // rather than how fast commands can be queued
+    private void put(String key, PokemonDTO dto) {
+        if (redis != null) {
+            redis.putAsync(key, dto).join();
+        } else {
+            cache.put(key, dto);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
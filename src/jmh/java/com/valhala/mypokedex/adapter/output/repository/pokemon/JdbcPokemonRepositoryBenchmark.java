@@ -0,0 +1,96 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.PokeApiFixtures;
+import com.valhala.mypokedex.application.db.FlywayMigrationRunner;
+import com.valhala.mypokedex.config.PokemonReplicaConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row lookups through {@link JdbcPokemonRepository} against in-memory H2 in MySQL mode with the
+ * real migrations applied, so the numbers cover query, {@code ResultSet} mapping and, for
+ * {@code findWithPayload}, inflating the gzipped payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcPokemonRepositoryBenchmark {
+
+    @Param({ "pikachu", "charizard", "mewtwo" })
+    public String fixture;
+
+    private HikariDataSource dataSource;
+    private JdbcPokemonRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;MODE=MySQL");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(2);
+        dataSource = new HikariDataSource(config);
+        new FlywayMigrationRunner(dataSource).onApplicationEvent(null);
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        repository = new JdbcPokemonRepository(
+                new PokemonDataSources(() -> dataSource, null, new PokemonReplicaConfiguration(), meters), meters,
+                OpenTelemetry.noop().getTracer("jmh"));
+        for (String name : PokeApiFixtures.NAMES) {
+            PokemonEntity e = new PokemonEntity();
+            e.setIdentifier(name);
+            e.setPayload(new String(PokeApiFixtures.load(name), StandardCharsets.UTF_8));
+            e.setProjection(PokeApiFixtures.parse(name));
+            repository.save(e);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public PokemonDTO findProjection() {
+        return repository.findByIdentifier(fixture).map(PokemonEntity::getProjection).orElseThrow();
+    }
+
+    @Benchmark
+    public String findWithPayload() {
+        return repository.findByIdentifier(fixture).map(PokemonEntity::getPayload).orElseThrow();
+    }
+
+    @Benchmark
+    public Map<String, PokemonEntity> findAll() {
+        return repository.findAllByIdentifiers(PokeApiFixtures.NAMES);
+    }
+
+    @Benchmark
+    public Optional<PokemonEntity> findMissing() {
+        return repository.findByIdentifier("missingno");
+    }
+}
@@ -0,0 +1,56 @@
+package com.valhala.mypokedex.domain.pokemon.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valhala.mypokedex.PokeApiFixtures;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an upstream payload into the stored projection, the step every miss and
+ * every changed revalidation goes through. {@code readTree} is the full-tree baseline the
+ * streaming parser replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PokemonPayloadParserBenchmark {
+
+    @Param({ "pikachu", "charizard", "mewtwo" })
+    public String fixture;
+
+    private final PokemonPayloadParser parser = new PokemonPayloadParser();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] payload;
+
+    @Setup
+    public void load() {
+        payload = PokeApiFixtures.load(fixture);
+    }
+
+    @Benchmark
+    public PokemonDTO parse() throws IOException {
+        return parser.parse(payload, fixture);
+    }
+
+    @Benchmark
+    public JsonNode readTree() throws IOException {
+        return mapper.readTree(payload);
+    }
+}
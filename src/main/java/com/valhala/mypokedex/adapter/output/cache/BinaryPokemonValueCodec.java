@@ -0,0 +1,229 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact hand-written format: fields in record order, no names. Numbers are unsigned varints
+ * (ints zigzag-encoded); strings are UTF-8 with a varint length. Nullable values and containers
+ * carry {@code length + 1}, with 0 meaning null. Sprite URLs under PokeAPI's sprite repository
+ * are stored without that common prefix, which is most of a value's bytes. Any change to the
+ * layout needs a new format id.
+ */
+public final class BinaryPokemonValueCodec implements PokemonValueCodec {
+
+    static final byte FORMAT = 2;
+    static final String SPRITE_BASE = "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
+
+    @Override
+    public byte formatId() {
+        return FORMAT;
+    }
+
+    @Override
+    public byte[] encode(PokemonDTO dto) {
+        Writer out = new Writer();
+        out.varint(zigzag(dto.id()));
+        out.string(dto.identifier());
+        out.list(dto.types());
+        Map<String, Integer> stats = dto.baseStats();
+        if (stats == null) {
+            out.varint(0);
+        } else {
+            out.varint(stats.size() + 1L);
+            for (Map.Entry<String, Integer> e : stats.entrySet()) {
+                out.string(e.getKey());
+                out.varint(e.getValue() == null ? 0 : zigzag(e.getValue()) + 1L);
+            }
+        }
+        Map<String, String> sprites = dto.sprites();
+        if (sprites == null) {
+            out.varint(0);
+        } else {
+            out.varint(sprites.size() + 1L);
+            for (Map.Entry<String, String> e : sprites.entrySet()) {
+                out.string(e.getKey());
+                out.sprite(e.getValue());
+            }
+        }
+        out.list(dto.abilities());
+        out.string(dto.sourceUrl());
+        return out.toByteArray();
+    }
+
+    @Override
+    public PokemonDTO decode(byte[] data, int offset, int length) throws IOException {
+        Reader in = new Reader(data, offset, offset + length);
+        int id = unzigzag(in.varint());
+        String identifier = in.string();
+        List<String> types = in.list();
+        Map<String, Integer> stats = null;
+        long statCount = in.varint();
+        if (statCount > 0) {
+            stats = new LinkedHashMap<>();
+            for (long i = 1; i < statCount; i++) {
+                String key = in.string();
+                long value = in.varint();
+                stats.put(key, value == 0 ? null : unzigzag(value - 1));
+            }
+        }
+        Map<String, String> sprites = null;
+        long spriteCount = in.varint();
+        if (spriteCount > 0) {
+            sprites = new LinkedHashMap<>();
+            for (long i = 1; i < spriteCount; i++) {
+                sprites.put(in.string(), in.sprite());
+            }
+        }
+        List<String> abilities = in.list();
+        String sourceUrl = in.string();
+        return new PokemonDTO(id, identifier, types, stats, sprites, abilities, sourceUrl);
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static int unzigzag(long value) {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+
+    // unsynchronized ByteArrayOutputStream
+    private static final class Writer {
+        private byte[] buf = new byte[256];
+        private int count;
+
+        private void write(int b) {
+            ensure(1);
+            buf[count++] = (byte) b;
+        }
+
+        private void write(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buf, count, length);
+            count += length;
+        }
+
+        private void ensure(int extra) {
+            if (count + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, count);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        // 0: null, 1: SPRITE_BASE + the following string, otherwise a string with its tag shifted by one
+        void sprite(String url) {
+            if (url != null && url.startsWith(SPRITE_BASE)) {
+                varint(1);
+                string(url.substring(SPRITE_BASE.length()));
+            } else if (url == null) {
+                varint(0);
+            } else {
+                byte[] bytes = url.getBytes(StandardCharsets.UTF_8);
+                varint(bytes.length + 2L);
+                write(bytes, 0, bytes.length);
+            }
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+
+        void list(List<String> values) {
+            if (values == null) {
+                varint(0);
+                return;
+            }
+            varint(values.size() + 1L);
+            for (String value : values) {
+                string(value);
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private final int end;
+        private int pos;
+
+        Reader(byte[] data, int offset, int end) {
+            this.data = data;
+            this.pos = offset;
+            this.end = end;
+        }
+
+        long varint() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= end)
+                    throw new EOFException("truncated varint");
+                byte b = data[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return result;
+            }
+            throw new IOException("malformed varint");
+        }
+
+        String string() throws IOException {
+            long length = varint();
+            return length == 0 ? null : bytes(length - 1);
+        }
+
+        String sprite() throws IOException {
+            long tag = varint();
+            if (tag == 0)
+                return null;
+            if (tag == 1) {
+                String suffix = string();
+                return suffix == null ? null : SPRITE_BASE + suffix;
+            }
+            return bytes(tag - 2);
+        }
+
+        private String bytes(long length) throws IOException {
+            if (length > end - pos)
+                throw new EOFException("truncated string");
+            int size = (int) length;
+            String value = new String(data, pos, size, StandardCharsets.UTF_8);
+            pos += size;
+            return value;
+        }
+
+        List<String> list() throws IOException {
+            long count = varint();
+            if (count == 0)
+                return null;
+            List<String> values = new ArrayList<>((int) Math.min(count - 1, 64));
+            for (long i = 1; i < count; i++) {
+                values.add(string());
+            }
+            return values;
+        }
+    }
+}
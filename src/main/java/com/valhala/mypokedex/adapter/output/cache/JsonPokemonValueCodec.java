@@ -0,0 +1,29 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
+import java.io.IOException;
+
+/** The original format: the DTO as Jackson JSON. */
+public final class JsonPokemonValueCodec implements PokemonValueCodec {
+
+    static final byte FORMAT = 1;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    public byte formatId() {
+        return FORMAT;
+    }
+
+    @Override
+    public byte[] encode(PokemonDTO dto) throws IOException {
+        return mapper.writeValueAsBytes(dto);
+    }
+
+    @Override
+    public PokemonDTO decode(byte[] data, int offset, int length) throws IOException {
+        return mapper.readValue(data, offset, length, PokemonDTO.class);
+    }
+}
@@ -1,39 +1,111 @@
 package com.valhala.mypokedex.adapter.output.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.valhala.mypokedex.config.PokemonFreshnessConfiguration;
+import com.valhala.mypokedex.config.PokemonTracingFactory;
 import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCacheListener;
 import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonExecutors;
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import io.micronaut.context.annotation.Requires;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 @Singleton
-@Requires(property = "cache.strategy", notEquals = "redis", defaultValue = "caffeine")
+@Requires(property = "cache.strategy", value = "caffeine", defaultValue = "caffeine")
 public class PokemonCaffeineCacheAdapter implements PokemonCachePort {
     private static final Logger LOG = LoggerFactory.getLogger(PokemonCaffeineCacheAdapter.class);
-    private final Cache<String, PokemonDTO> cache;
+    private final LoadingCache<String, PokemonDTO> cache;
+    // upstream 404s, kept apart so they never go through the refreshing loader
+    private final Cache<String, Boolean> tombstones;
+    private final Tracer tracer;
+    private final List<PokemonCacheListener> listeners;
 
-    public PokemonCaffeineCacheAdapter() {
+    // entries older than the soft TTL are still returned; the first read after it triggers an
+    // async reload through the loader, and a failed reload keeps the old value
+    public PokemonCaffeineCacheAdapter(PokemonLoader loader, PokemonFreshnessConfiguration freshness,
+            @Named(PokemonExecutors.BLOCKING) ExecutorService executor, MeterRegistry meters,
+            @Named(PokemonTracingFactory.TRACER) Tracer tracer, List<PokemonCacheListener> listeners) {
+        this.tracer = tracer;
+        this.listeners = listeners;
         cache = Caffeine.newBuilder()
                 .expireAfterWrite(Duration.ofDays(7))
+                .refreshAfterWrite(Duration.ofSeconds(freshness.getSoftTtlSeconds()))
                 .maximumSize(10_000)
+                .executor(executor)
+                .recordStats()
+                .removalListener(this::replaced)
+                .build(new CacheLoader<String, PokemonDTO>() {
+                    @Override
+                    public PokemonDTO load(String key) {
+                        return loader.fetch(key).orElse(null);
+                    }
+
+                    @Override
+                    public CompletableFuture<PokemonDTO> asyncReload(String key, PokemonDTO oldValue,
+                            Executor ignored) {
+                        // listeners hear about a changed value from replaced(), once it is installed
+                        return loader.refresh(key).thenApply(fresh -> fresh.orElse(oldValue));
+                    }
+                });
+        tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(freshness.getTombstoneTtlSeconds()))
+                .maximumSize(10_000)
+                .recordStats()
                 .build();
+        // cache.gets{result=hit|miss}, evictions, size and load timings, tagged cache=<name>
+        CaffeineCacheMetrics.monitor(meters, cache, "pokemon");
+        CaffeineCacheMetrics.monitor(meters, tombstones, "pokemon-tombstones");
     }
 
     @Override
     public Optional<PokemonDTO> get(String key) {
-        PokemonDTO dto = cache.getIfPresent(key);
-        if (dto != null) {
-            LOG.debug("Cache hit for key='{}'", key);
-            return Optional.of(dto);
+        Span span = tracer.spanBuilder("cache.get")
+                .setAttribute("cache.system", "caffeine")
+                .setAttribute("cache.key", key)
+                .startSpan();
+        try {
+            PokemonDTO dto = cache.getIfPresent(key);
+            span.setAttribute("cache.hit", dto != null);
+            if (dto != null) {
+                LOG.debug("Cache hit for key='{}'", key);
+                return Optional.of(dto);
+            }
+            LOG.debug("Cache miss for key='{}'", key);
+            return Optional.empty();
+        } finally {
+            span.end();
         }
-        LOG.debug("Cache miss for key='{}'", key);
-        return Optional.empty();
+    }
+
+    @Override
+    public Map<String, PokemonDTO> getAll(Collection<String> keys) {
+        Map<String, PokemonDTO> hits = cache.getAllPresent(keys);
+        LOG.debug("Cache multi-get: {} of {} keys present", hits.size(), keys.size());
+        return hits;
     }
 
     @Override
@@ -42,7 +114,58 @@ public class PokemonCaffeineCacheAdapter implements PokemonCachePort {
             LOG.warn("Attempt to put null key or dto into cache: key={}, dtoNull={}", key, dto == null);
             return;
         }
-        cache.put(key, dto);
+        Span span = tracer.spanBuilder("cache.put")
+                .setAttribute("cache.system", "caffeine")
+                .setAttribute("cache.key", key)
+                .startSpan();
+        try {
+            cache.put(key, dto);
+            tombstones.invalidate(key);
+        } finally {
+            span.end();
+        }
+        notifyListeners(key);
         LOG.info("Cached pokemon for key='{}'", key);
     }
+
+    @Override
+    public void invalidate(String key) {
+        if (key == null)
+            return;
+        cache.invalidate(key);
+        tombstones.invalidate(key);
+        notifyListeners(key);
+        LOG.debug("Invalidated cache key='{}'", key);
+    }
+
+    // runs after the replacing value is in the cache, so a listener dropping state derived from
+    // the old value cannot rebuild it from the old value; unchanged refreshes stay silent
+    private void replaced(String key, PokemonDTO oldValue, RemovalCause cause) {
+        if (cause == RemovalCause.REPLACED && key != null
+                && !Objects.equals(oldValue, cache.policy().getIfPresentQuietly(key))) {
+            notifyListeners(key);
+        }
+    }
+
+    private void notifyListeners(String key) {
+        listeners.forEach(listener -> listener.invalidated(key));
+    }
+
+    @Override
+    public boolean hasTombstone(String key) {
+        return key != null && tombstones.getIfPresent(key) != null;
+    }
+
+    @Override
+    public Set<String> hasTombstones(Collection<String> keys) {
+        return new HashSet<>(tombstones.getAllPresent(keys).keySet());
+    }
+
+    @Override
+    public void putTombstone(String key) {
+        if (key == null)
+            return;
+        tombstones.put(key, Boolean.TRUE);
+        LOG.debug("Cached not-found tombstone for key='{}'", key);
+    }
 }
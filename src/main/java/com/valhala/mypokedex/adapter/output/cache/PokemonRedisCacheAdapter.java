@@ -1,92 +1,441 @@
 package com.valhala.mypokedex.adapter.output.cache;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valhala.mypokedex.config.PokemonFreshnessConfiguration;
+import com.valhala.mypokedex.config.PokemonTracingFactory;
+import com.valhala.mypokedex.config.RedisCacheConfiguration;
 import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCacheListener;
 import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
 import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import io.micronaut.context.annotation.Requires;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.lettuce.core.ClientOptions;
 import io.lettuce.core.api.StatefulRedisConnection;
-import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.support.ConnectionPoolSupport;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
+/**
+ * Redis cache on Lettuce's async API. Every command carries the configured timeout (client-side
+ * {@link TimeoutOptions}), and reads additionally wait at most that long, so a stalled Redis costs
+ * a request one timeout and a cache miss instead of a hung thread. Writes are fire-and-forget:
+ * they are queued on the multiplexed connection and only logged if they fail. Reads can
+ * optionally borrow from a connection pool so a slow multi-get does not queue behind others.
+ *
+ * <p>Lookups are counted per key as {@code pokemon.cache.requests{cache=redis,result=...}} and
+ * round trips timed as {@code pokemon.cache.latency{cache=redis,op=...}}.
+ */
 @Singleton
 @Requires(property = "cache.strategy", value = "redis")
 public class PokemonRedisCacheAdapter implements PokemonCachePort {
     private static final Logger LOG = LoggerFactory.getLogger(PokemonRedisCacheAdapter.class);
+    // tombstones live under their own prefix so MGET/GET of real entries never sees them
+    private static final String TOMBSTONE_PREFIX = "tombstone:";
+    private static final byte[] TOMBSTONE = "1".getBytes(StandardCharsets.UTF_8);
+    // values are raw bytes framed by VersionedPokemonCodec; keys stay UTF-8 strings
+    private static final RedisCodec<String, byte[]> CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
     private final RedisClient redisClient;
-    private final StatefulRedisConnection<String, String> connection;
-    private final ObjectMapper mapper = new ObjectMapper();
-    // TTL and timeout configurable via env/props
+    private final StatefulRedisConnection<String, byte[]> connection;
+    // null unless redis.pool-enabled
+    private final GenericObjectPool<StatefulRedisConnection<String, byte[]>> readPool;
+    private final VersionedPokemonCodec codec;
     private final int ttlSeconds;
     private final int timeoutMs;
+    // entries older than this (derived from PTTL) are served and refreshed in the background
+    private final long softTtlMs;
+    private final long tombstoneTtlSeconds;
+    private final PokemonLoader loader;
+    private final BiConsumer<String, PokemonDTO> onRefreshed;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    private final Timer getLatency;
+    private final Timer getAllLatency;
+    private final Timer putLatency;
+    private final Tracer tracer;
+    private final List<PokemonCacheListener> listeners;
 
-    public PokemonRedisCacheAdapter() {
-        String host = System.getProperty("redis.host", System.getenv().getOrDefault("REDIS_HOST", "localhost"));
-        String port = System.getProperty("redis.port", System.getenv().getOrDefault("REDIS_PORT", "6379"));
-        String redisUri = "redis://" + host + ":" + port;
-        this.redisClient = RedisClient.create(redisUri);
-        this.connection = redisClient.connect();
-        this.ttlSeconds = Integer.parseInt(
-                System.getProperty("redis.ttl-seconds", System.getenv().getOrDefault("REDIS_TTL_SECONDS", "604800")));
-        this.timeoutMs = Integer.parseInt(
-                System.getProperty("redis.timeout-ms", System.getenv().getOrDefault("REDIS_TIMEOUT_MS", "2000")));
-        LOG.info("Initialized Lettuce Redis cache adapter (uri={} ttl={}s timeout={}ms)", redisUri, ttlSeconds,
-                timeoutMs);
+    @Inject
+    public PokemonRedisCacheAdapter(RedisCacheConfiguration redis, PokemonLoader loader,
+            PokemonFreshnessConfiguration freshness, MeterRegistry meters,
+            @Named(PokemonTracingFactory.TRACER) Tracer tracer, List<PokemonCacheListener> listeners) {
+        this(createClient(redis), redis, loader, freshness, meters, tracer, null, listeners);
+    }
+
+    // used by the tiered adapter as its L2 (without listeners: the tiered adapter tells them); the
+    // client is closed together with this adapter. Refreshed values go to onRefreshed so the
+    // tiered adapter can update both tiers.
+    PokemonRedisCacheAdapter(RedisClient redisClient, RedisCacheConfiguration redis, PokemonLoader loader,
+            PokemonFreshnessConfiguration freshness, MeterRegistry meters, Tracer tracer,
+            BiConsumer<String, PokemonDTO> onRefreshed, List<PokemonCacheListener> listeners) {
+        this.redisClient = redisClient;
+        this.connection = redisClient.connect(CODEC);
+        this.readPool = redis.isPoolEnabled() ? createPool(redisClient, redis) : null;
+        this.codec = VersionedPokemonCodec.named(redis.getCodec());
+        this.ttlSeconds = redis.getTtlSeconds();
+        this.timeoutMs = redis.getTimeoutMs();
+        this.loader = loader;
+        this.softTtlMs = TimeUnit.SECONDS.toMillis(freshness.getSoftTtlSeconds());
+        this.tombstoneTtlSeconds = freshness.getTombstoneTtlSeconds();
+        this.onRefreshed = onRefreshed != null ? onRefreshed : this::put;
+        this.hits = meters.counter("pokemon.cache.requests", "cache", "redis", "result", "hit");
+        this.misses = meters.counter("pokemon.cache.requests", "cache", "redis", "result", "miss");
+        this.errors = meters.counter("pokemon.cache.requests", "cache", "redis", "result", "error");
+        this.getLatency = latency(meters, "get");
+        this.getAllLatency = latency(meters, "getAll");
+        this.putLatency = latency(meters, "put");
+        this.tracer = tracer;
+        this.listeners = listeners;
+        LOG.info("Initialized Lettuce Redis cache adapter (uri={} ttl={}s timeout={}ms codec={} pool={})",
+                redis.getUri(), ttlSeconds, timeoutMs, redis.getCodec(),
+                readPool == null ? "off" : redis.getPoolMaxTotal());
+    }
+
+    private static Timer latency(MeterRegistry meters, String op) {
+        return Timer.builder("pokemon.cache.latency")
+                .tags("cache", "redis", "op", op)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
+    /** Client whose commands all time out after {@code redis.timeout-ms}. */
+    static RedisClient createClient(RedisCacheConfiguration redis) {
+        Duration timeout = Duration.ofMillis(redis.getTimeoutMs());
+        RedisClient client = RedisClient.create(RedisURI.builder()
+                .withHost(redis.getHost())
+                .withPort(redis.getPort())
+                .withTimeout(timeout)
+                .build());
+        client.setOptions(ClientOptions.builder()
+                .timeoutOptions(TimeoutOptions.enabled(timeout))
+                .build());
+        return client;
+    }
+
+    private static GenericObjectPool<StatefulRedisConnection<String, byte[]>> createPool(RedisClient client,
+            RedisCacheConfiguration redis) {
+        GenericObjectPoolConfig<StatefulRedisConnection<String, byte[]>> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(redis.getPoolMaxTotal());
+        config.setMaxIdle(redis.getPoolMaxTotal());
+        config.setMinIdle(redis.getPoolMinIdle());
+        // waiting for a free connection counts against the same budget as the command itself
+        config.setMaxWait(Duration.ofMillis(redis.getTimeoutMs()));
+        return ConnectionPoolSupport.createGenericObjectPool(() -> client.connect(CODEC), config);
+    }
+
+    @FunctionalInterface
+    private interface Read<T> {
+        T run(RedisAsyncCommands<String, byte[]> commands) throws Exception;
+    }
+
+    // runs a read on a pooled connection when the pool is enabled, else on the shared one
+    private <T> T read(Read<T> read) throws Exception {
+        if (readPool == null) {
+            return read.run(connection.async());
+        }
+        try (StatefulRedisConnection<String, byte[]> pooled = readPool.borrowObject()) {
+            return read.run(pooled.async());
+        }
     }
 
     @Override
     public Optional<PokemonDTO> get(String key) {
         if (key == null)
             return Optional.empty();
+        Timer.Sample sample = Timer.start();
+        Span span = span("cache.get", key);
         try {
-            RedisCommands<String, String> commands = connection.sync();
-            String v = commands.get(key);
-            if (v == null) {
-                LOG.debug("Redis cache miss for key='{}'", key);
-                return Optional.empty();
-            }
-            try {
-                PokemonDTO dto = mapper.readValue(v, PokemonDTO.class);
-                LOG.debug("Redis cache hit for key='{}'", key);
-                return Optional.of(dto);
-            } catch (Exception ex) {
-                LOG.warn("Failed to deserialize cached value for key='{}'", key, ex);
-                return Optional.empty();
-            }
+            Optional<PokemonDTO> found = read(commands -> {
+                // GET and PTTL are pipelined on the connection: one round trip for value and age
+                RedisFuture<byte[]> value = commands.get(key);
+                RedisFuture<Long> pttl = commands.pttl(key);
+                if (!LettuceFutures.awaitAll(timeoutMs, TimeUnit.MILLISECONDS, value, pttl)) {
+                    LOG.warn("Redis get timed out after {}ms for key='{}'", timeoutMs, key);
+                    errors.increment();
+                    return Optional.<PokemonDTO>empty();
+                }
+                byte[] v = value.get();
+                if (v == null) {
+                    LOG.debug("Redis cache miss for key='{}'", key);
+                    misses.increment();
+                    return Optional.<PokemonDTO>empty();
+                }
+                try {
+                    PokemonDTO dto = codec.decode(v);
+                    LOG.debug("Redis cache hit for key='{}'", key);
+                    hits.increment();
+                    if (isStale(pttl.get())) {
+                        revalidate(key);
+                    }
+                    return Optional.of(dto);
+                } catch (Exception ex) {
+                    LOG.warn("Failed to deserialize cached value for key='{}'", key, ex);
+                    errors.increment();
+                    return Optional.<PokemonDTO>empty();
+                }
+            });
+            span.setAttribute("cache.hit", found.isPresent());
+            return found;
         } catch (Exception ex) {
             LOG.error("Redis error on get for key='{}'", key, ex);
+            errors.increment();
+            span.recordException(ex);
+            span.setStatus(StatusCode.ERROR);
             return Optional.empty();
+        } finally {
+            sample.stop(getLatency);
+            span.end();
+        }
+    }
+
+    private Span span(String name, String key) {
+        return tracer.spanBuilder(name)
+                .setAttribute("cache.system", "redis")
+                .setAttribute("cache.key", key)
+                .startSpan();
+    }
+
+    // age = configured TTL - remaining TTL; keys without an expiry (-1) are never stale
+    private boolean isStale(Long remainingMs) {
+        if (remainingMs == null || remainingMs < 0)
+            return false;
+        return ttlSeconds * 1000L - remainingMs > softTtlMs;
+    }
+
+    private void revalidate(String key) {
+        LOG.debug("Redis entry for key='{}' is past its soft TTL, refreshing", key);
+        loader.refresh(key).thenAccept(fresh -> fresh.ifPresent(dto -> onRefreshed.accept(key, dto)));
+    }
+
+    @Override
+    public Map<String, PokemonDTO> getAll(Collection<String> keys) {
+        Map<String, PokemonDTO> found = new HashMap<>();
+        if (keys == null || keys.isEmpty())
+            return found;
+        Timer.Sample sample = Timer.start();
+        try {
+            List<KeyValue<String, byte[]>> values = read(commands -> {
+                RedisFuture<List<KeyValue<String, byte[]>>> mget = commands.mget(keys.toArray(new String[0]));
+                if (!LettuceFutures.awaitAll(timeoutMs, TimeUnit.MILLISECONDS, mget)) {
+                    LOG.warn("Redis MGET of {} keys timed out after {}ms", keys.size(), timeoutMs);
+                    errors.increment(keys.size());
+                    return List.<KeyValue<String, byte[]>>of();
+                }
+                return mget.get();
+            });
+            for (KeyValue<String, byte[]> kv : values) {
+                if (!kv.hasValue()) {
+                    misses.increment();
+                    continue;
+                }
+                try {
+                    found.put(kv.getKey(), codec.decode(kv.getValue()));
+                    hits.increment();
+                } catch (Exception ex) {
+                    LOG.warn("Failed to deserialize cached value for key='{}'", kv.getKey(), ex);
+                    errors.increment();
+                }
+            }
+            LOG.debug("Redis MGET: {} of {} keys present", found.size(), keys.size());
+        } catch (Exception ex) {
+            LOG.error("Redis error on multi-get for {} keys", keys.size(), ex);
+            errors.increment(keys.size());
+        } finally {
+            sample.stop(getAllLatency);
         }
+        return found;
     }
 
     @Override
     public void put(String key, PokemonDTO dto) {
+        putAsync(key, dto);
+        notifyListeners(key);
+    }
+
+    /**
+     * Queues the write and returns at once; the future completes when Redis acknowledged it (or
+     * the write failed, which is logged and not propagated).
+     */
+    CompletableFuture<Void> putAsync(String key, PokemonDTO dto) {
         if (key == null || dto == null) {
             LOG.warn("Attempt to put null key or dto into Redis cache: key={}, dtoNull={}", key, dto == null);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
+        byte[] payload;
         try {
-            RedisCommands<String, String> commands = connection.sync();
-            try {
-                String payload = mapper.writeValueAsString(dto);
-                commands.setex(key, ttlSeconds, payload);
-                LOG.info("Cached pokemon in Redis for key='{}' ttl={}s", key, ttlSeconds);
-            } catch (JsonProcessingException e) {
-                LOG.error("Failed to serialize PokemonDTO for key='{}'", key, e);
-            }
+            payload = codec.encode(dto);
+        } catch (IOException e) {
+            LOG.error("Failed to serialize PokemonDTO for key='{}'", key, e);
+            return CompletableFuture.completedFuture(null);
+        }
+        Timer.Sample sample = Timer.start();
+        // ends when Redis acknowledges the write, so the span shows the real round trip
+        Span span = span("cache.put", key);
+        try {
+            RedisAsyncCommands<String, byte[]> commands = connection.async();
+            // the tombstone goes in the same pipeline so a put always clears a cached 404
+            RedisFuture<String> set = commands.setex(key, ttlSeconds, payload);
+            RedisFuture<Long> del = commands.del(TOMBSTONE_PREFIX + key);
+            return CompletableFuture.allOf(set.toCompletableFuture(), del.toCompletableFuture())
+                    .handle((ok, ex) -> {
+                        sample.stop(putLatency);
+                        if (ex != null) {
+                            LOG.error("Redis error on put for key='{}': {}", key, ex.getMessage());
+                            span.recordException(ex);
+                            span.setStatus(StatusCode.ERROR);
+                        } else {
+                            LOG.debug("Cached pokemon in Redis for key='{}' ttl={}s ({} bytes)", key, ttlSeconds,
+                                    payload.length);
+                        }
+                        span.end();
+                        return null;
+                    });
         } catch (Exception ex) {
             LOG.error("Redis error on put for key='{}'", key, ex);
+            span.recordException(ex);
+            span.setStatus(StatusCode.ERROR);
+            span.end();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        invalidateAsync(key);
+        notifyListeners(key);
+    }
+
+    private void notifyListeners(String key) {
+        if (key != null) {
+            listeners.forEach(listener -> listener.invalidated(key));
+        }
+    }
+
+    CompletableFuture<Void> invalidateAsync(String key) {
+        if (key == null)
+            return CompletableFuture.completedFuture(null);
+        try {
+            return connection.async().del(key, TOMBSTONE_PREFIX + key).toCompletableFuture()
+                    .handle((deleted, ex) -> {
+                        if (ex != null) {
+                            LOG.error("Redis error on invalidate for key='{}': {}", key, ex.getMessage());
+                        } else {
+                            LOG.debug("Invalidated Redis key='{}'", key);
+                        }
+                        return null;
+                    });
+        } catch (Exception ex) {
+            LOG.error("Redis error on invalidate for key='{}'", key, ex);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Override
+    public boolean hasTombstone(String key) {
+        if (key == null)
+            return false;
+        try {
+            return read(commands -> {
+                RedisFuture<Long> exists = commands.exists(TOMBSTONE_PREFIX + key);
+                if (!LettuceFutures.awaitAll(timeoutMs, TimeUnit.MILLISECONDS, exists)) {
+                    LOG.warn("Redis tombstone lookup timed out after {}ms for key='{}'", timeoutMs, key);
+                    return false;
+                }
+                return exists.get() > 0;
+            });
+        } catch (Exception ex) {
+            LOG.error("Redis error on tombstone lookup for key='{}'", key, ex);
+            return false;
+        }
+    }
+
+    @Override
+    public Set<String> hasTombstones(Collection<String> keys) {
+        Set<String> found = new HashSet<>();
+        if (keys == null || keys.isEmpty())
+            return found;
+        String[] tombstoneKeys = keys.stream().map(key -> TOMBSTONE_PREFIX + key).toArray(String[]::new);
+        try {
+            List<KeyValue<String, byte[]>> values = read(commands -> {
+                RedisFuture<List<KeyValue<String, byte[]>>> mget = commands.mget(tombstoneKeys);
+                if (!LettuceFutures.awaitAll(timeoutMs, TimeUnit.MILLISECONDS, mget)) {
+                    LOG.warn("Redis tombstone MGET of {} keys timed out after {}ms", keys.size(), timeoutMs);
+                    return List.<KeyValue<String, byte[]>>of();
+                }
+                return mget.get();
+            });
+            for (KeyValue<String, byte[]> kv : values) {
+                if (kv.hasValue())
+                    found.add(kv.getKey().substring(TOMBSTONE_PREFIX.length()));
+            }
+        } catch (Exception ex) {
+            LOG.error("Redis error on tombstone lookup for {} keys", keys.size(), ex);
+        }
+        return found;
+    }
+
+    @Override
+    public void putTombstone(String key) {
+        if (key == null)
+            return;
+        try {
+            connection.async().setex(TOMBSTONE_PREFIX + key, tombstoneTtlSeconds, TOMBSTONE)
+                    .whenComplete((ok, ex) -> {
+                        if (ex != null) {
+                            LOG.error("Redis error on tombstone put for key='{}': {}", key, ex.getMessage());
+                        } else {
+                            LOG.debug("Cached not-found tombstone in Redis for key='{}' ttl={}s", key,
+                                    tombstoneTtlSeconds);
+                        }
+                    });
+        } catch (Exception ex) {
+            LOG.error("Redis error on tombstone put for key='{}'", key, ex);
         }
     }
 
     @PreDestroy
     public void shutdown() {
+        try {
+            if (readPool != null)
+                readPool.close();
+        } catch (Exception ignored) {
+        }
         try {
             if (connection != null)
                 connection.close();
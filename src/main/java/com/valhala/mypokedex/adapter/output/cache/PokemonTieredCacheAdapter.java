@@ -0,0 +1,251 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.valhala.mypokedex.config.PokemonFreshnessConfiguration;
+import com.valhala.mypokedex.config.PokemonTracingFactory;
+import com.valhala.mypokedex.config.RedisCacheConfiguration;
+import com.valhala.mypokedex.config.TieredCacheConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCacheListener;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonLoader;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.micronaut.context.annotation.Requires;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Near cache: a bounded Caffeine L1 per node in front of the shared Redis L2. Writes and
+ * invalidations are broadcast on a pub/sub channel so other nodes drop their L1 copy and
+ * re-read L2; the L1 TTL bounds staleness if a message is missed (e.g. during a reconnect).
+ * Soft-TTL refreshes are driven by L2 reads and written back through both tiers.
+ */
+@Singleton
+@Requires(property = "cache.strategy", value = "tiered")
+public class PokemonTieredCacheAdapter implements PokemonCachePort {
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonTieredCacheAdapter.class);
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<String, PokemonDTO> cache;
+    private final Cache<String, Boolean> tombstones;
+    private final PokemonRedisCacheAdapter l2;
+    private final StatefulRedisConnection<String, String> publisher;
+    private final StatefulRedisPubSubConnection<String, String> subscriber;
+    private final String channel;
+    private final Tracer tracer;
+    private final List<PokemonCacheListener> listeners;
+
+    public PokemonTieredCacheAdapter(RedisCacheConfiguration redis, TieredCacheConfiguration tiered,
+            PokemonLoader loader, PokemonFreshnessConfiguration freshness, MeterRegistry meters,
+            @Named(PokemonTracingFactory.TRACER) Tracer tracer, List<PokemonCacheListener> listeners) {
+        this.tracer = tracer;
+        this.listeners = listeners;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(tiered.getL1TtlSeconds()))
+                .maximumSize(tiered.getL1MaxSize())
+                .recordStats()
+                .build();
+        this.tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(Math.min(tiered.getL1TtlSeconds(), freshness.getTombstoneTtlSeconds())))
+                .maximumSize(tiered.getL1MaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "pokemon-l1");
+        CaffeineCacheMetrics.monitor(meters, tombstones, "pokemon-l1-tombstones");
+        this.channel = tiered.getInvalidationChannel();
+        RedisClient client = PokemonRedisCacheAdapter.createClient(redis);
+        this.l2 = new PokemonRedisCacheAdapter(client, redis, loader, freshness, meters, tracer, this::put, List.of());
+        this.publisher = client.connect();
+        this.subscriber = client.connectPubSub();
+        this.subscriber.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String ch, String message) {
+                onInvalidation(message);
+            }
+        });
+        this.subscriber.sync().subscribe(channel);
+        LOG.info("Initialized tiered cache adapter (uri={} l1MaxSize={} l1Ttl={}s channel={} node={})",
+                redis.getUri(), tiered.getL1MaxSize(), tiered.getL1TtlSeconds(), channel, nodeId);
+    }
+
+    @Override
+    public Optional<PokemonDTO> get(String key) {
+        if (key == null)
+            return Optional.empty();
+        // the L2 lookup, if any, shows up as a child span
+        Span span = span("cache.get", key);
+        try (Scope ignored = span.makeCurrent()) {
+            PokemonDTO local = cache.getIfPresent(key);
+            span.setAttribute("cache.l1.hit", local != null);
+            if (local != null) {
+                LOG.debug("L1 cache hit for key='{}'", key);
+                span.setAttribute("cache.hit", true);
+                return Optional.of(local);
+            }
+            Optional<PokemonDTO> remote = l2.get(key);
+            span.setAttribute("cache.hit", remote.isPresent());
+            // fill L1 from L2 without broadcasting: the value is already the shared one
+            remote.ifPresent(dto -> cache.put(key, dto));
+            return remote;
+        } finally {
+            span.end();
+        }
+    }
+
+    @Override
+    public Map<String, PokemonDTO> getAll(Collection<String> keys) {
+        Map<String, PokemonDTO> hits = new HashMap<>(cache.getAllPresent(keys));
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            if (!hits.containsKey(key))
+                missing.add(key);
+        }
+        if (!missing.isEmpty()) {
+            Map<String, PokemonDTO> remote = l2.getAll(missing);
+            cache.putAll(remote);
+            hits.putAll(remote);
+        }
+        return hits;
+    }
+
+    @Override
+    public void put(String key, PokemonDTO dto) {
+        if (key == null || dto == null) {
+            LOG.warn("Attempt to put null key or dto into tiered cache: key={}, dtoNull={}", key, dto == null);
+            return;
+        }
+        Span span = span("cache.put", key);
+        try (Scope ignored = span.makeCurrent()) {
+            cache.put(key, dto);
+            tombstones.invalidate(key);
+            // broadcast once L2 has the value, so other nodes don't refill L1 from the old one
+            l2.putAsync(key, dto).thenRun(() -> broadcast(key));
+        } finally {
+            span.end();
+        }
+        notifyListeners(key);
+    }
+
+    @Override
+    public void invalidate(String key) {
+        if (key == null)
+            return;
+        cache.invalidate(key);
+        tombstones.invalidate(key);
+        l2.invalidateAsync(key).thenRun(() -> broadcast(key));
+        notifyListeners(key);
+    }
+
+    @Override
+    public boolean hasTombstone(String key) {
+        if (key == null)
+            return false;
+        if (tombstones.getIfPresent(key) != null) {
+            LOG.debug("L1 tombstone hit for key='{}'", key);
+            return true;
+        }
+        boolean remote = l2.hasTombstone(key);
+        if (remote) {
+            tombstones.put(key, Boolean.TRUE);
+        }
+        return remote;
+    }
+
+    @Override
+    public Set<String> hasTombstones(Collection<String> keys) {
+        Set<String> found = new HashSet<>(tombstones.getAllPresent(keys).keySet());
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            if (!found.contains(key))
+                missing.add(key);
+        }
+        if (!missing.isEmpty()) {
+            for (String key : l2.hasTombstones(missing)) {
+                tombstones.put(key, Boolean.TRUE);
+                found.add(key);
+            }
+        }
+        return found;
+    }
+
+    // not broadcast: other nodes find the tombstone in L2 on their next miss
+    @Override
+    public void putTombstone(String key) {
+        if (key == null)
+            return;
+        tombstones.put(key, Boolean.TRUE);
+        l2.putTombstone(key);
+    }
+
+    private Span span(String name, String key) {
+        return tracer.spanBuilder(name)
+                .setAttribute("cache.system", "tiered")
+                .setAttribute("cache.key", key)
+                .startSpan();
+    }
+
+    private void broadcast(String key) {
+        try {
+            publisher.async().publish(channel, nodeId + SEPARATOR + key);
+        } catch (Exception ex) {
+            LOG.warn("Failed to publish invalidation for key='{}': {}", key, ex.getMessage());
+        }
+    }
+
+    void onInvalidation(String message) {
+        int idx = message.indexOf(SEPARATOR);
+        if (idx < 0) {
+            LOG.warn("Ignoring malformed invalidation message '{}'", message);
+            return;
+        }
+        if (idx == nodeId.length() && message.startsWith(nodeId)) {
+            return; // our own write, L1 already holds the new value
+        }
+        String key = message.substring(idx + 1);
+        cache.invalidate(key);
+        tombstones.invalidate(key);
+        notifyListeners(key);
+        LOG.debug("Dropped L1 entry for key='{}' after remote invalidation", key);
+    }
+
+    private void notifyListeners(String key) {
+        listeners.forEach(listener -> listener.invalidated(key));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            subscriber.close();
+        } catch (Exception ignored) {
+        }
+        try {
+            publisher.close();
+        } catch (Exception ignored) {
+        }
+        l2.shutdown();
+    }
+}
@@ -0,0 +1,19 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
+import java.io.IOException;
+
+/**
+ * Encoding of cached pokemon values. Each codec owns a format id that {@link VersionedPokemonCodec}
+ * writes as the first byte of every value, so entries written by another format stay readable
+ * while a new one rolls out. Codecs never see that byte.
+ */
+public interface PokemonValueCodec {
+
+    byte formatId();
+
+    byte[] encode(PokemonDTO dto) throws IOException;
+
+    PokemonDTO decode(byte[] data, int offset, int length) throws IOException;
+}
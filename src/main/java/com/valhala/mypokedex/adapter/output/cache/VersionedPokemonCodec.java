@@ -0,0 +1,55 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Frames cached values as {@code [format id][codec bytes]}. Writes always use the configured
+ * codec; reads dispatch on the first byte, so switching {@code redis.codec} needs no flush.
+ * Values written before the framing existed are bare JSON objects and are recognised by their
+ * leading {@code '{'}.
+ */
+public final class VersionedPokemonCodec {
+
+    private static final PokemonValueCodec JSON = new JsonPokemonValueCodec();
+    private static final PokemonValueCodec BINARY = new BinaryPokemonValueCodec();
+
+    private final PokemonValueCodec writer;
+
+    public VersionedPokemonCodec(PokemonValueCodec writer) {
+        this.writer = writer;
+    }
+
+    /** {@code json} or {@code binary}. */
+    public static VersionedPokemonCodec named(String name) {
+        return switch (name == null ? "binary" : name.trim().toLowerCase(Locale.ROOT)) {
+            case "json" -> new VersionedPokemonCodec(JSON);
+            case "binary" -> new VersionedPokemonCodec(BINARY);
+            default -> throw new IllegalArgumentException("Unknown redis codec '" + name + "' (json|binary)");
+        };
+    }
+
+    public byte[] encode(PokemonDTO dto) throws IOException {
+        byte[] body = writer.encode(dto);
+        byte[] framed = new byte[body.length + 1];
+        framed[0] = writer.formatId();
+        System.arraycopy(body, 0, framed, 1, body.length);
+        return framed;
+    }
+
+    public PokemonDTO decode(byte[] value) throws IOException {
+        if (value == null || value.length == 0)
+            throw new IOException("empty cache value");
+        byte format = value[0];
+        if (format == '{')
+            return JSON.decode(value, 0, value.length);
+        PokemonValueCodec codec = switch (format) {
+            case JsonPokemonValueCodec.FORMAT -> JSON;
+            case BinaryPokemonValueCodec.FORMAT -> BINARY;
+            default -> throw new IOException("unknown cache value format " + format);
+        };
+        return codec.decode(value, 1, value.length - 1);
+    }
+}
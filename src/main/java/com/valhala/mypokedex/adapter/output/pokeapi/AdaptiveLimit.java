@@ -0,0 +1,38 @@
+package com.valhala.mypokedex.adapter.output.pokeapi;
+
+/**
+ * AIMD concurrency limit. Every completed call is a sample: a failure or a round trip slower
+ * than the latency threshold shrinks the limit by {@code backoffRatio}; a fast success grows it
+ * by about one per limit's worth of calls, but only while the limit is actually being used.
+ * The limit stays within {@code [min, max]} and starts at {@code max}.
+ */
+final class AdaptiveLimit {
+
+    private final int min;
+    private final int max;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private volatile double limit;
+
+    AdaptiveLimit(int min, int max, long latencyThresholdNanos, double backoffRatio) {
+        this.max = Math.max(1, max);
+        this.min = Math.max(1, Math.min(min, this.max));
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = this.max;
+    }
+
+    synchronized void onSample(long rttNanos, int inFlight, boolean failed) {
+        double current = limit;
+        if (failed || rttNanos > latencyThresholdNanos) {
+            limit = Math.max(min, current * backoffRatio);
+        } else if (inFlight * 2 >= (int) current) {
+            // an idle limit says nothing about capacity, so only grow when half of it is in use
+            limit = Math.min(max, current + 1.0 / current);
+        }
+    }
+
+    int current() {
+        return (int) limit;
+    }
+}
@@ -0,0 +1,106 @@
+package com.valhala.mypokedex.adapter.output.pokeapi;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of in-flight asynchronous calls. Excess calls are queued and started as
+ * earlier ones complete, so no thread ever blocks waiting for a permit. The cap is read on every
+ * admission, so it may change at runtime; once {@code maxQueued} calls are waiting, new ones are
+ * rejected with {@link RejectedExecutionException} (bulkhead).
+ *
+ * <p>Completions are handed to {@code executor}: the permit release, the start of the next queued
+ * call and whatever the caller chained on the result never run on the thread that completed the
+ * call (the HTTP client's own threads).
+ */
+final class AsyncLimiter {
+
+    private final IntSupplier limit;
+    private final int maxQueued;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+
+    AsyncLimiter(IntSupplier limit, int maxQueued, Executor executor) {
+        this.limit = limit;
+        this.maxQueued = Math.max(0, maxQueued);
+        this.executor = task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                task.run(); // shutting down: finish inline rather than leak the permit
+            }
+        };
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        if (queued.incrementAndGet() > maxQueued && inFlight.get() >= currentLimit()) {
+            queued.decrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Limiter full: " + inFlight.get() + " in flight, " + maxQueued + " queued"));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            CompletableFuture<T> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException ex) {
+                started = CompletableFuture.failedFuture(ex);
+            }
+            started.whenCompleteAsync((value, ex) -> {
+                release();
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                } else {
+                    result.complete(value);
+                }
+            }, executor);
+        });
+        drain();
+        return result;
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= currentLimit()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = waiting.poll();
+            if (next == null) {
+                // another thread took it; give the permit back and re-check the queue
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            next.run();
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    private int currentLimit() {
+        return Math.max(1, limit.getAsInt());
+    }
+}
@@ -0,0 +1,123 @@
+package com.valhala.mypokedex.adapter.output.pokeapi;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. Closed: outcomes of the last {@code windowSize} calls are kept and
+ * the breaker opens once at least {@code minimumCalls} were recorded and the failure rate reaches
+ * the threshold. Open: calls are refused until {@code openNanos} have passed. Half-open: a few
+ * probe calls are let through; all of them succeeding closes the breaker, any failure reopens it.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final Consumer<State> onTransition;
+
+    private final boolean[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesLeft;
+    private int probesSucceeded;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos, int halfOpenCalls,
+            LongSupplier clock, Consumer<State> onTransition) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.clock = clock;
+        this.onTransition = onTransition;
+        this.window = new boolean[this.windowSize];
+    }
+
+    /**
+     * Returns false if the call must not be made. A permitted call must be followed by exactly one
+     * of {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesLeft == 0) {
+                return false;
+            }
+            probesLeft--;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (++probesSucceeded >= halfOpenCalls) {
+                    transition(State.CLOSED);
+                }
+            }
+            case CLOSED -> record(false);
+            case OPEN -> { } // late result of a call started before the breaker opened
+        }
+    }
+
+    synchronized void onFailure() {
+        switch (state) {
+            case HALF_OPEN -> transition(State.OPEN);
+            case CLOSED -> record(true);
+            case OPEN -> { }
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == windowSize) {
+            if (window[next])
+                failures--;
+        } else {
+            recorded++;
+        }
+        window[next] = failed;
+        if (failed)
+            failures++;
+        next = (next + 1) % windowSize;
+        if (recorded >= minimumCalls && failures * 100.0 / recorded >= failureRateThreshold) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State to) {
+        state = to;
+        switch (to) {
+            case OPEN -> openedAt = clock.getAsLong();
+            case HALF_OPEN -> {
+                probesLeft = halfOpenCalls;
+                probesSucceeded = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                recorded = 0;
+                failures = 0;
+            }
+        }
+        onTransition.accept(to);
+    }
+}
@@ -1,94 +1,331 @@
 package com.valhala.mypokedex.adapter.output.pokeapi;
 
+import com.valhala.mypokedex.config.PokeApiConfiguration;
+import com.valhala.mypokedex.config.PokemonTracingFactory;
 import com.valhala.mypokedex.domain.pokemon.ports.PokeApiPort;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamResponse;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamUnavailableException;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonExecutors;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micronaut.context.annotation.Requires;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
+/**
+ * Fetches pokemon payloads with {@link HttpClient#sendAsync}. A single HTTP/2 client is shared so
+ * requests to the upstream host are multiplexed over few connections; retries are scheduled with
+ * a delayed executor instead of sleeping on a thread. A 404 is an empty result; anything else that
+ * is still failing after the last attempt fails with {@link UpstreamUnavailableException}.
+ *
+ * <p>Every attempt goes through a {@link CircuitBreaker}, which fails fast (and stops retries)
+ * while upstream's error rate is high, and an {@link AsyncLimiter} whose in-flight cap follows an
+ * {@link AdaptiveLimit} driven by observed latency; calls beyond its queue are rejected.
+ * Breaker state, transitions, the current limit and rejections are published as
+ * {@code pokeapi.*} meters, along with every attempt's latency by status code
+ * ({@code pokeapi.request}) and the retries taken ({@code pokeapi.retries}).
+ *
+ * <p>Each fetch is a {@code pokeapi.fetch} span with one client span per attempt; retries,
+ * backoffs and rejections are recorded as events on the fetch span. Every attempt carries the
+ * W3C {@code traceparent} of its own span.
+ */
 @Singleton
 @Requires(notEnv = "test")
 public class PokeApiHttpAdapter implements PokeApiPort {
 
     private static final Logger LOG = LoggerFactory.getLogger(PokeApiHttpAdapter.class);
+    private static final TextMapSetter<HttpRequest.Builder> HEADERS = (builder, name, value) -> {
+        if (builder != null)
+            builder.setHeader(name, value);
+    };
 
     private final String baseUrl;
     private final HttpClient client;
+    private final AdaptiveLimit limit;
+    private final AsyncLimiter limiter;
+    private final CircuitBreaker breaker;
+    private final MeterRegistry meters;
+    private final Tracer tracer;
+    private final TextMapPropagator propagator;
+    private final ExecutorService executor;
+    private final Duration requestTimeout;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
 
-    public PokeApiHttpAdapter() {
-        this("https://pokeapi.co/api/v2/pokemon/");
-    }
-
-    public PokeApiHttpAdapter(String baseUrl) {
-        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    public PokeApiHttpAdapter(PokeApiConfiguration config, MeterRegistry meters,
+            @Named(PokemonTracingFactory.TRACER) Tracer tracer,
+            @Named(PokemonTracingFactory.TRACER) TextMapPropagator propagator,
+            @Named(PokemonExecutors.BLOCKING) ExecutorService executor) {
+        String url = config.getBaseUrl();
+        this.baseUrl = url.endsWith("/") ? url : url + "/";
         this.client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(5))
+                .version(config.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
                 .build();
+        this.meters = meters;
+        this.tracer = tracer;
+        this.propagator = propagator;
+        this.limit = new AdaptiveLimit(config.getMinConcurrency(), config.getMaxConcurrency(),
+                TimeUnit.MILLISECONDS.toNanos(config.getLatencyThresholdMs()), 0.9);
+        this.executor = executor;
+        this.limiter = new AsyncLimiter(limit::current, config.getMaxQueued(), executor);
+        this.breaker = new CircuitBreaker(config.getBreakerWindowSize(), config.getBreakerMinimumCalls(),
+                config.getBreakerFailureRatePercent(), TimeUnit.MILLISECONDS.toNanos(config.getBreakerOpenMs()),
+                config.getBreakerHalfOpenCalls(), System::nanoTime, this::onTransition);
+        this.requestTimeout = Duration.ofMillis(config.getRequestTimeoutMs());
+        this.maxAttempts = Math.max(1, config.getMaxAttempts());
+        this.initialBackoffMs = config.getInitialBackoffMs();
+        Gauge.builder("pokeapi.circuit.state", breaker, b -> b.state().ordinal())
+                .description("0 closed, 1 open, 2 half-open").register(meters);
+        Gauge.builder("pokeapi.concurrency.limit", limit, AdaptiveLimit::current).register(meters);
+        Gauge.builder("pokeapi.inflight", limiter, AsyncLimiter::inFlight).register(meters);
+        Gauge.builder("pokeapi.queued", limiter, AsyncLimiter::queued).register(meters);
+        LOG.info("Initialized PokeAPI adapter (baseUrl={} http2={} concurrency={}..{} maxQueued={} maxAttempts={})",
+                this.baseUrl, config.isHttp2(), config.getMinConcurrency(), config.getMaxConcurrency(),
+                config.getMaxQueued(), maxAttempts);
     }
 
     @Override
-    public Optional<String> fetchPokemonRaw(String identifier) {
+    public Optional<byte[]> fetchPokemonRaw(String identifier) {
+        try {
+            return fetch(identifier).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while fetching '{}' from upstream", identifier, e);
+            throw new UpstreamUnavailableException("Interrupted while fetching '" + identifier + "'", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UpstreamUnavailableException unavailable) {
+                throw unavailable;
+            }
+            LOG.error("Unexpected failure fetching '{}' from upstream", identifier, e.getCause());
+            throw new UpstreamUnavailableException("Failed to fetch '" + identifier + "'", e.getCause());
+        }
+    }
+
+    // the HTTP client is asynchronous itself: the caller's executor is not needed
+    @Override
+    public CompletableFuture<Optional<byte[]>> fetchPokemonRawAsync(String identifier, Executor executor) {
+        return fetch(identifier);
+    }
+
+    @Override
+    public CompletableFuture<UpstreamResponse> revalidateAsync(String identifier, String etag, String lastModified,
+            Executor executor) {
+        return revalidate(identifier, etag, lastModified);
+    }
+
+    private CompletableFuture<Optional<byte[]>> fetch(String identifier) {
+        return revalidate(identifier, null, null)
+                .thenApply(resp -> Optional.ofNullable(resp.status() == UpstreamResponse.Status.OK ? resp.body() : null));
+    }
+
+    private CompletableFuture<UpstreamResponse> revalidate(String identifier, String etag, String lastModified) {
         String url = baseUrl + identifier;
-        LOG.debug("Preparing request to fetch pokemon '{}' from {}", identifier, url);
-        HttpRequest req = HttpRequest.newBuilder()
+        LOG.debug("Preparing request to fetch pokemon '{}' from {} (etag={} lastModified={})", identifier, url, etag,
+                lastModified);
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(URI.create(url))
-                .timeout(Duration.ofSeconds(10))
+                .timeout(requestTimeout)
                 .GET()
-                .header("Accept", "application/json")
-                .build();
+                .header("Accept", "application/json");
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+        Span fetch = tracer.spanBuilder("pokeapi.fetch")
+                .setAttribute("pokemon.identifier", identifier)
+                .setAttribute("pokeapi.revalidation", etag != null || lastModified != null)
+                .startSpan();
+        Context parent = Context.current().with(fetch);
+        return attempt(identifier, builder.build(), 1, initialBackoffMs, parent).whenComplete((resp, ex) -> {
+            if (ex != null) {
+                fetch.recordException(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                fetch.setStatus(StatusCode.ERROR);
+            } else {
+                fetch.setAttribute("pokeapi.outcome", resp.status().name());
+            }
+            fetch.end();
+        });
+    }
+
+    private CompletableFuture<UpstreamResponse> attempt(String identifier, HttpRequest req, int attempt, long backoff,
+            Context parent) {
+        LOG.debug("Attempt {}/{} to fetch '{}'", attempt, maxAttempts, identifier);
+        // started before the limiter so time spent queued for a slot is part of the attempt
+        Span span = tracer.spanBuilder("GET")
+                .setParent(parent)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("http.request.method", "GET")
+                .setAttribute("url.full", req.uri().toString())
+                .setAttribute("http.request.resend_count", (long) attempt - 1)
+                .startSpan();
+        return limiter.submit(() -> send(identifier, req, span))
+                .handle((resp, ex) -> {
+                    endAttempt(span, resp, ex);
+                    return outcome(identifier, req, attempt, backoff, resp, ex, parent);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private static void endAttempt(Span span, HttpResponse<byte[]> resp, Throwable ex) {
+        if (ex != null) {
+            span.recordException(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            span.setStatus(StatusCode.ERROR);
+        } else {
+            span.setAttribute("http.response.status_code", resp.statusCode());
+            if (resp.statusCode() >= 500)
+                span.setStatus(StatusCode.ERROR);
+        }
+        span.end();
+    }
+
+    // runs once the limiter admits the call, so queued calls also fail fast if the breaker opened
+    private CompletableFuture<HttpResponse<byte[]>> send(String identifier, HttpRequest req, Span span) {
+        if (!breaker.tryAcquire()) {
+            rejected("circuit_open");
+            return CompletableFuture.failedFuture(
+                    new UpstreamUnavailableException("Circuit open, not calling upstream for '" + identifier + "'"));
+        }
+        // W3C trace context of this attempt's span on a copy of the shared request
+        HttpRequest.Builder traced = HttpRequest.newBuilder(req, (name, value) -> true);
+        propagator.inject(Context.current().with(span), traced, HEADERS);
+        long start = System.nanoTime();
+        return client.sendAsync(traced.build(), HttpResponse.BodyHandlers.ofByteArray()).whenComplete((resp, ex) -> {
+            requestTimer(ex != null ? "error" : String.valueOf(resp.statusCode()))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            boolean failed = ex != null || isUpstreamFailure(resp.statusCode());
+            if (failed) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            limit.onSample(System.nanoTime() - start, limiter.inFlight(), failed);
+        });
+    }
+
+    private Timer requestTimer(String status) {
+        return Timer.builder("pokeapi.request")
+                .description("Upstream round trips per attempt, by status code")
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
+    // 404s and other client errors say nothing about upstream health
+    private static boolean isUpstreamFailure(int code) {
+        return code >= 500 || code == 429;
+    }
+
+    private void onTransition(CircuitBreaker.State state) {
+        if (state == CircuitBreaker.State.OPEN) {
+            LOG.warn("PokeAPI circuit breaker opened, failing fast");
+        } else {
+            LOG.info("PokeAPI circuit breaker is now {}", state);
+        }
+        meters.counter("pokeapi.circuit.transitions", "to", state.name().toLowerCase(Locale.ROOT)).increment();
+    }
+
+    private void rejected(String reason) {
+        meters.counter("pokeapi.calls.rejected", "reason", reason).increment();
+    }
 
-        int maxAttempts = 3;
-        long backoff = 250L; // ms
-
-        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-            LOG.debug("Attempt {}/{} to fetch '{}'", attempt, maxAttempts, identifier);
-            try {
-                HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString());
-                int code = resp.statusCode();
-                LOG.debug("Upstream response for '{}' attempt {}: status={}", identifier, attempt, code);
-                if (code == 200) {
-                    LOG.info("Successfully fetched '{}' from upstream (status=200)", identifier);
-                    return Optional.ofNullable(resp.body());
-                } else if (code == 404) {
-                    LOG.info("Upstream returned 404 for '{}', treating as not found", identifier);
-                    return Optional.empty();
-                } else {
-                    LOG.warn("Unexpected status {} fetching '{}' from upstream (attempt {})", code, identifier, attempt);
-                    // retry for server errors if attempts remain
-                    if (attempt == maxAttempts) {
-                        LOG.error("Giving up fetching '{}' after {} attempts; last status={}", identifier, attempt, code);
-                        return Optional.empty();
-                    }
-                    Thread.sleep(backoff);
-                    backoff *= 2;
-                }
-            } catch (IOException | InterruptedException e) {
-                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
-                LOG.warn("Error when fetching '{}' from upstream on attempt {}: {}", identifier, attempt, e.getMessage());
-                if (attempt == maxAttempts) {
-                    LOG.error("Final failure fetching '{}' from upstream after {} attempts", identifier, attempt, e);
-                    return Optional.empty();
-                }
-                try {
-                    Thread.sleep(backoff);
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                    LOG.error("Interrupted while backing off fetching '{}'", identifier, ex);
-                    return Optional.empty();
-                }
-                backoff *= 2;
+    private CompletableFuture<UpstreamResponse> outcome(String identifier, HttpRequest req, int attempt, long backoff,
+            HttpResponse<byte[]> resp, Throwable ex, Context parent) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        Span fetch = Span.fromContext(parent);
+        if (cause instanceof RejectedExecutionException) {
+            rejected("bulkhead_full");
+            fetch.addEvent("rejected", Attributes.of(AttributeKey.stringKey("pokeapi.reason"), "bulkhead_full"));
+            LOG.warn("Rejected fetching '{}': too many upstream calls in flight and queued", identifier);
+            return CompletableFuture.failedFuture(
+                    new UpstreamUnavailableException("Too many upstream calls for '" + identifier + "'", cause));
+        }
+        if (cause instanceof UpstreamUnavailableException) {
+            // refused by the breaker: retrying would only add load to a failing upstream
+            fetch.addEvent("rejected", Attributes.of(AttributeKey.stringKey("pokeapi.reason"), "circuit_open"));
+            return CompletableFuture.failedFuture(cause);
+        }
+        if (ex == null) {
+            int code = resp.statusCode();
+            LOG.debug("Upstream response for '{}' attempt {}: status={} version={}", identifier, attempt, code,
+                    resp.version());
+            if (code == 200) {
+                LOG.info("Successfully fetched '{}' from upstream (status=200)", identifier);
+                return CompletableFuture.completedFuture(UpstreamResponse.ok(resp.body(),
+                        resp.headers().firstValue("ETag").orElse(null),
+                        resp.headers().firstValue("Last-Modified").orElse(null)));
+            } else if (code == 304) {
+                LOG.info("Upstream copy of '{}' not modified (status=304)", identifier);
+                return CompletableFuture.completedFuture(UpstreamResponse.notModified(
+                        resp.headers().firstValue("ETag").orElse(null),
+                        resp.headers().firstValue("Last-Modified").orElse(null)));
+            } else if (code == 404) {
+                LOG.info("Upstream returned 404 for '{}', treating as not found", identifier);
+                return CompletableFuture.completedFuture(UpstreamResponse.notFound());
+            }
+            LOG.warn("Unexpected status {} fetching '{}' from upstream (attempt {})", code, identifier, attempt);
+            if (attempt >= maxAttempts) {
+                LOG.error("Giving up fetching '{}' after {} attempts; last status={}", identifier, attempt, code);
+                return CompletableFuture.failedFuture(new UpstreamUnavailableException(
+                        "Upstream returned status " + code + " for '" + identifier + "' after " + attempt + " attempts"));
+            }
+        } else {
+            LOG.warn("Error when fetching '{}' from upstream on attempt {}: {}", identifier, attempt, cause.getMessage());
+            if (attempt >= maxAttempts) {
+                LOG.error("Final failure fetching '{}' from upstream after {} attempts", identifier, attempt, cause);
+                return CompletableFuture.failedFuture(new UpstreamUnavailableException(
+                        "Failed to fetch '" + identifier + "' after " + attempt + " attempts", cause));
             }
         }
+        String reason = ex == null ? "status" : "error";
+        meters.counter("pokeapi.retries", "reason", reason).increment();
+        fetch.addEvent("retry", Attributes.of(
+                AttributeKey.longKey("pokeapi.attempt"), (long) attempt,
+                AttributeKey.longKey("pokeapi.backoff_ms"), backoff,
+                AttributeKey.stringKey("pokeapi.reason"), reason));
+        // back off without holding a thread or a concurrency permit; the next attempt starts on the
+        // blocking executor, like every other completion here, not on the common pool
+        return CompletableFuture
+                .runAsync(() -> { }, CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS, executor))
+                .thenCompose(ignored -> attempt(identifier, req, attempt + 1, backoff * 2, parent));
+    }
+
+    int inFlightRequests() {
+        return limiter.inFlight();
+    }
 
-        LOG.debug("Exhausted attempts to fetch '{}' from upstream, returning empty", identifier);
-        return Optional.empty();
+    CircuitBreaker.State circuitState() {
+        return breaker.state();
     }
 }
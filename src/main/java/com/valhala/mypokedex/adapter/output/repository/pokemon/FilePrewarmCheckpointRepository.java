@@ -0,0 +1,75 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.config.MappedRepositoryConfiguration;
+import com.valhala.mypokedex.domain.pokemon.repository.PrewarmCheckpointRepository;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pre-warm checkpoints for the embedded log, kept in a properties file next to it.
+ */
+@Singleton
+@Requires(property = "repository.strategy", value = "mmap")
+public class FilePrewarmCheckpointRepository implements PrewarmCheckpointRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FilePrewarmCheckpointRepository.class);
+    private final PropertiesFile file;
+    private final ReentrantLock lock = new ReentrantLock(); // load-modify-store of the whole file
+
+    public FilePrewarmCheckpointRepository(MappedRepositoryConfiguration config) {
+        this.file = new PropertiesFile(Path.of(config.getPath()).resolveSibling("prewarm-checkpoints.properties"),
+                "pre-warm checkpoints");
+    }
+
+    @Override
+    public OptionalInt findLastId(String job) {
+        String lastId;
+        lock.lock();
+        try {
+            lastId = file.load().getProperty(job);
+        } finally {
+            lock.unlock();
+        }
+        if (lastId == null)
+            return OptionalInt.empty();
+        try {
+            return OptionalInt.of(Integer.parseInt(lastId));
+        } catch (NumberFormatException ex) {
+            LOG.error("Invalid checkpoint for job='{}' in {}: {}", job, file.path(), lastId);
+            return OptionalInt.empty();
+        }
+    }
+
+    @Override
+    public void saveLastId(String job, int lastId) {
+        lock.lock();
+        try {
+            Properties checkpoints = file.load();
+            checkpoints.setProperty(job, String.valueOf(lastId));
+            file.store(checkpoints);
+        } finally {
+            lock.unlock();
+        }
+        LOG.debug("Saved checkpoint job='{}' lastId={}", job, lastId);
+    }
+
+    @Override
+    public void clear(String job) {
+        lock.lock();
+        try {
+            Properties checkpoints = file.load();
+            if (checkpoints.remove(job) != null) {
+                file.store(checkpoints);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
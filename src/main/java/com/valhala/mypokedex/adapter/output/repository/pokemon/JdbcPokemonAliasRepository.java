@@ -0,0 +1,66 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonAliasRepository;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.data.connection.annotation.Connectable;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.OptionalInt;
+
+@Singleton
+@Requires(property = "repository.strategy", value = "jdbc", defaultValue = "jdbc")
+public class JdbcPokemonAliasRepository implements PokemonAliasRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcPokemonAliasRepository.class);
+    private final DataSource ds;
+
+    public JdbcPokemonAliasRepository(Provider<DataSource> dsProvider) {
+        this.ds = dsProvider.get();
+    }
+
+    @Override
+    @Connectable
+    public OptionalInt findPokeapiId(String alias) {
+        String sql = "SELECT pokeapi_id FROM pokemon_aliases WHERE alias = ?";
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, alias);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return OptionalInt.of(rs.getInt("pokeapi_id"));
+                }
+            }
+        } catch (SQLException ex) {
+            LOG.error("SQL error when resolving alias='{}'", alias, ex);
+        }
+        return OptionalInt.empty();
+    }
+
+    @Override
+    @Connectable
+    public void saveAll(Map<String, Integer> aliases) {
+        if (aliases == null || aliases.isEmpty())
+            return;
+        String sql = "INSERT INTO pokemon_aliases (alias, pokeapi_id) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE pokeapi_id=VALUES(pokeapi_id)";
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+            for (Map.Entry<String, Integer> alias : aliases.entrySet()) {
+                ps.setString(1, alias.getKey());
+                ps.setInt(2, alias.getValue());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            LOG.debug("Saved {} pokemon aliases", aliases.size());
+        } catch (SQLException ex) {
+            LOG.error("SQL error when saving {} pokemon aliases", aliases.size(), ex);
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.valhala.mypokedex.adapter.output.repository.pokemon;
 
+import com.valhala.mypokedex.config.PokemonTracingFactory;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
 import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
 import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Requires;
 import io.micronaut.data.connection.annotation.Connectable;
-import jakarta.inject.Provider;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,67 +23,462 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+/**
+ * Statements are timed as {@code pokemon.repository.query{op=...}}; lookups are counted per
+ * requested identifier as {@code pokemon.repository.lookups{result=hit|miss|error}}. Single-row
+ * lookups and saves are traced as client spans. Reads are routed by {@link PokemonDataSources}
+ * and fall back to the primary if the replica fails; writes always use the primary.
+ */
 @Singleton
+@Requires(property = "repository.strategy", value = "jdbc", defaultValue = "jdbc")
 public class JdbcPokemonRepository implements PokemonRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(JdbcPokemonRepository.class);
-    private static final long DEFAULT_TTL_SECONDS = 30L * 24L * 3600L; // 30 days
+    static final long DEFAULT_TTL_SECONDS = 30L * 24L * 3600L; // 30 days
+    private static final int SCAN_PAGE_SIZE = 500;
+    // lookups only serve the projection and validators: the stored payload stays in the database
+    // until getPayload() asks for it (legacy rows, backfill). Scans read everything.
+    private static final String LOOKUP_COLUMNS = "id, identifier, updated_at, expires_at, " +
+            "pokeapi_id, name, types, base_stats, abilities, sprites, source_url, etag, last_modified";
+    private static final String COLUMNS = LOOKUP_COLUMNS + ", payload, payload_gz, payload_format";
+    private static final String PAYLOAD_BY_ID = "SELECT payload, payload_gz, payload_format FROM pokemons WHERE id = ?";
+    // Use MySQL upsert to insert or update existing record by identifier or PokeAPI id (both are
+    // unique); a row found through its PokeAPI id takes the new identifier. Payloads are always
+    // written gzipped; the plain payload column is cleared, which migrates legacy rows on rewrite.
+    private static final String UPSERT = "INSERT INTO pokemons (identifier, payload, updated_at, expires_at, " +
+            "pokeapi_id, name, types, base_stats, abilities, sprites, source_url, etag, last_modified, " +
+            "payload_gz, payload_format) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE identifier=VALUES(identifier), payload=VALUES(payload), updated_at=VALUES(updated_at), expires_at=VALUES(expires_at), " +
+            "pokeapi_id=VALUES(pokeapi_id), name=VALUES(name), types=VALUES(types), base_stats=VALUES(base_stats), " +
+            "abilities=VALUES(abilities), sprites=VALUES(sprites), source_url=VALUES(source_url), " +
+            "etag=VALUES(etag), last_modified=VALUES(last_modified), " +
+            "payload_gz=VALUES(payload_gz), payload_format=VALUES(payload_format)";
+    private static final String TOUCH = "UPDATE pokemons SET updated_at = ?, expires_at = ?, etag = ?, last_modified = ? " +
+            "WHERE identifier = ?";
+    private final PokemonDataSources dataSources;
     private final DataSource ds;
+    private final MeterRegistry meters;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    private final Tracer tracer;
 
-    public JdbcPokemonRepository(Provider<DataSource> dsProvider) {
-        this.ds = dsProvider.get();
+    public JdbcPokemonRepository(PokemonDataSources dataSources, MeterRegistry meters,
+            @Named(PokemonTracingFactory.TRACER) Tracer tracer) {
+        this.dataSources = dataSources;
+        this.ds = dataSources.primary();
+        this.meters = meters;
+        this.tracer = tracer;
+        this.hits = meters.counter("pokemon.repository.lookups", "result", "hit");
+        this.misses = meters.counter("pokemon.repository.lookups", "result", "miss");
+        this.errors = meters.counter("pokemon.repository.lookups", "result", "error");
+    }
+
+    private Span span(String operation) {
+        return tracer.spanBuilder(operation + " pokemons")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("db.system", "mysql")
+                .setAttribute("db.operation.name", operation)
+                .setAttribute("db.collection.name", "pokemons")
+                .startSpan();
+    }
+
+    private static void failed(Span span, Exception ex) {
+        span.recordException(ex);
+        span.setStatus(StatusCode.ERROR);
+    }
+
+    @FunctionalInterface
+    private interface Query<T> {
+        T run(Connection c, DataSource source) throws SQLException;
+    }
+
+    // replica unless the identifiers were just written; a replica error, or a replica answer that
+    // misses some identifiers (another node may have just written them), is retried on the primary
+    private <T> T read(Collection<String> identifiers, Query<T> query, Predicate<T> missed) throws SQLException {
+        DataSource source = dataSources.forRead(identifiers);
+        if (source != ds) {
+            try (Connection c = source.getConnection()) {
+                T result = query.run(c, source);
+                if (!missed.test(result)) {
+                    return result;
+                }
+                dataSources.replicaMissed();
+            } catch (SQLException ex) {
+                dataSources.replicaFailed(ex);
+            }
+        }
+        try (Connection c = ds.getConnection()) {
+            return query.run(c, ds);
+        }
+    }
+
+    private Timer queryTimer(String op) {
+        return Timer.builder("pokemon.repository.query")
+                .tag("op", op)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meters);
     }
 
     @Override
     @Connectable
     public Optional<PokemonEntity> findByIdentifier(String identifier) {
-        // Use the 'identifier' column consistently
-        String sql = "SELECT id, identifier, payload, updated_at, expires_at FROM pokemons WHERE identifier = ? LIMIT 1";
+        // numeric identifiers also match rows saved under the pokemon's name via the pokeapi_id index
+        boolean numeric = isNumeric(identifier);
+        String sql = numeric
+                ? "SELECT " + LOOKUP_COLUMNS + " FROM pokemons WHERE identifier = ? OR pokeapi_id = ? ORDER BY updated_at DESC LIMIT 1"
+                : "SELECT " + LOOKUP_COLUMNS + " FROM pokemons WHERE identifier = ? LIMIT 1";
         LOG.debug("Querying pokemon by identifier='{}'", identifier);
-        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, identifier);
-            Optional<PokemonEntity> e = getPokemonEntity(ps);
+        Timer.Sample sample = Timer.start();
+        Span span = span("SELECT");
+        span.setAttribute("pokemon.identifier", identifier);
+        try {
+            Optional<PokemonEntity> e = read(Collections.singletonList(identifier), (c, source) -> {
+                try (PreparedStatement ps = c.prepareStatement(sql)) {
+                    ps.setString(1, identifier);
+                    if (numeric) {
+                        ps.setInt(2, Integer.parseInt(identifier));
+                    }
+                    return getPokemonEntity(ps, source);
+                }
+            }, Optional::isEmpty);
             if (e.isPresent()) {
                 LOG.info("Found pokemon in DB: {}", identifier);
+                hits.increment();
+                span.setAttribute("pokemon.found", true);
                 return e;
             }
+            misses.increment();
+            span.setAttribute("pokemon.found", false);
         } catch (SQLException ex) {
             LOG.error("SQL error when querying pokemon by identifier={}", identifier, ex);
+            errors.increment();
+            failed(span, ex);
+        } finally {
+            sample.stop(queryTimer("findByIdentifier"));
+            span.end();
         }
         LOG.debug("Pokemon not found in DB: {}", identifier);
         return Optional.empty();
     }
 
-    private Optional<PokemonEntity> getPokemonEntity(PreparedStatement ps) throws SQLException {
+    @Override
+    @Connectable
+    public Map<String, PokemonEntity> findAllByIdentifiers(Collection<String> identifiers) {
+        Map<String, PokemonEntity> found = new HashMap<>();
+        if (identifiers == null || identifiers.isEmpty())
+            return found;
+        List<String> names = new ArrayList<>(identifiers);
+        List<Integer> ids = new ArrayList<>();
+        for (String identifier : identifiers) {
+            if (isNumeric(identifier))
+                ids.add(Integer.parseInt(identifier));
+        }
+        StringBuilder sql = new StringBuilder("SELECT ").append(LOOKUP_COLUMNS)
+                .append(" FROM pokemons WHERE identifier IN (").append(placeholders(names.size())).append(')');
+        if (!ids.isEmpty()) {
+            sql.append(" OR pokeapi_id IN (").append(placeholders(ids.size())).append(')');
+        }
+        LOG.debug("Querying {} pokemons by identifier", names.size());
+        Timer.Sample sample = Timer.start();
+        try {
+            read(names, (c, source) -> {
+                // a replica failure part way through is retried from scratch on the primary
+                found.clear();
+                try (PreparedStatement ps = c.prepareStatement(sql.toString())) {
+                    int idx = 1;
+                    for (String name : names) {
+                        ps.setString(idx++, name);
+                    }
+                    for (Integer id : ids) {
+                        ps.setInt(idx++, id);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            PokemonEntity e = mapRow(rs, source);
+                            if (identifiers.contains(e.getIdentifier())) {
+                                offer(found, e.getIdentifier(), e);
+                            }
+                            // a row found through its pokeapi_id answers the numeric identifier too
+                            if (e.getProjection() != null) {
+                                String byId = String.valueOf(e.getProjection().id());
+                                if (identifiers.contains(byId)) {
+                                    offer(found, byId, e);
+                                }
+                            }
+                        }
+                    }
+                }
+                return found;
+            }, m -> !m.keySet().containsAll(identifiers));
+            hits.increment(found.size());
+            misses.increment(names.size() - found.size());
+        } catch (SQLException ex) {
+            LOG.error("SQL error when querying {} pokemons by identifier", names.size(), ex);
+            errors.increment(names.size());
+        } finally {
+            sample.stop(queryTimer("findAllByIdentifiers"));
+        }
+        LOG.debug("Found {} of {} pokemons in DB", found.size(), names.size());
+        return found;
+    }
+
+    // prefer projected rows over legacy ones saved under the numeric identifier itself
+    private static void offer(Map<String, PokemonEntity> found, String key, PokemonEntity candidate) {
+        found.merge(key, candidate, (current, next) -> current.getProjection() != null ? current : next);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private Optional<PokemonEntity> getPokemonEntity(PreparedStatement ps, DataSource source) throws SQLException {
         ResultSet rs = ps.executeQuery();
         if (rs.next()) {
-            PokemonEntity e = new PokemonEntity();
-            e.setId(rs.getLong("id"));
-            e.setIdentifier(rs.getString("identifier"));
+            return Optional.of(mapRow(rs, source));
+        }
+        return Optional.empty();
+    }
+
+    // payloadSource: the database that answered a lookup (LOOKUP_COLUMNS), which is asked for the
+    // payload on first access; null for rows read with every column
+    private PokemonEntity mapRow(ResultSet rs, DataSource payloadSource) throws SQLException {
+        PokemonEntity e = new PokemonEntity();
+        long id = rs.getLong("id");
+        e.setId(id);
+        e.setIdentifier(rs.getString("identifier"));
+        if (payloadSource != null) {
+            e.setPayload(() -> loadPayload(payloadSource, id));
+        } else if (rs.getInt("payload_format") == PayloadCodec.GZIP) {
+            byte[] compressed = rs.getBytes("payload_gz");
+            if (compressed != null) {
+                // most reads only need the projection, so the payload is inflated on first access
+                e.setPayload(() -> PayloadCodec.gunzip(compressed));
+            }
+        } else {
             e.setPayload(rs.getString("payload"));
-            long updated = rs.getLong("updated_at");
-            if (rs.wasNull()) {
-                e.setUpdatedAt(null);
-            } else {
-                e.setUpdatedAt(Instant.ofEpochSecond(updated));
+        }
+        long updated = rs.getLong("updated_at");
+        if (rs.wasNull()) {
+            e.setUpdatedAt(null);
+        } else {
+            e.setUpdatedAt(Instant.ofEpochSecond(updated));
+        }
+        long expires = rs.getLong("expires_at");
+        if (rs.wasNull()) {
+            e.setExpiresAt(null);
+        } else {
+            e.setExpiresAt(Instant.ofEpochSecond(expires));
+        }
+        e.setProjection(getProjection(rs));
+        e.setEtag(rs.getString("etag"));
+        e.setLastModified(rs.getString("last_modified"));
+        return e;
+    }
+
+    // a replica that fails by now is retried on the primary, which is never behind it. Other
+    // failures are thrown rather than read as "no payload", so a backfill cannot blank the column.
+    private String loadPayload(DataSource source, long id) {
+        Timer.Sample sample = Timer.start();
+        try {
+            if (source != ds) {
+                try {
+                    return queryPayload(source, id);
+                } catch (SQLException ex) {
+                    dataSources.replicaFailed(ex);
+                }
             }
-            long expires = rs.getLong("expires_at");
-            if (rs.wasNull()) {
-                e.setExpiresAt(null);
-            } else {
-                e.setExpiresAt(Instant.ofEpochSecond(expires));
+            return queryPayload(ds, id);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("SQL error when loading the payload of pokemon row id=" + id, ex);
+        } finally {
+            sample.stop(queryTimer("loadPayload"));
+        }
+    }
+
+    private static String queryPayload(DataSource source, long id) throws SQLException {
+        try (Connection c = source.getConnection(); PreparedStatement ps = c.prepareStatement(PAYLOAD_BY_ID)) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                if (rs.getInt("payload_format") == PayloadCodec.GZIP) {
+                    byte[] compressed = rs.getBytes("payload_gz");
+                    return compressed == null ? null : PayloadCodec.gunzip(compressed);
+                }
+                return rs.getString("payload");
             }
-            return Optional.of(e);
         }
-        return Optional.empty();
+    }
+
+    private PokemonDTO getProjection(ResultSet rs) throws SQLException {
+        int pokeapiId = rs.getInt("pokeapi_id");
+        if (rs.wasNull()) {
+            return null; // legacy row: only the raw payload is available
+        }
+        return new PokemonDTO(
+                pokeapiId,
+                rs.getString("name"),
+                PokemonColumns.decodeList(rs.getString("types")),
+                PokemonColumns.decodeIntMap(rs.getString("base_stats")),
+                PokemonColumns.decodeStringMap(rs.getString("sprites")),
+                PokemonColumns.decodeList(rs.getString("abilities")),
+                rs.getString("source_url"));
+    }
+
+    private static boolean isNumeric(String identifier) {
+        if (identifier == null || identifier.isEmpty() || identifier.length() > 9)
+            return false;
+        for (int i = 0; i < identifier.length(); i++) {
+            if (!Character.isDigit(identifier.charAt(i)))
+                return false;
+        }
+        return true;
     }
 
     @Override
     @Connectable
     public void save(PokemonEntity entity) {
+        Timer.Sample sample = Timer.start();
+        Span span = span("INSERT");
+        span.setAttribute("pokemon.identifier", entity.getIdentifier());
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(UPSERT)) {
+            bind(ps, entity);
+            int rows = ps.executeUpdate();
+            dataSources.written(writtenKeys(List.of(entity)));
+            LOG.info("Saved pokemon '{}' (rows affected={})", entity.getIdentifier(), rows);
+        } catch (SQLException ex) {
+            LOG.error("SQL error when saving pokemon='{}'", entity.getIdentifier(), ex);
+            failed(span, ex);
+        } finally {
+            sample.stop(queryTimer("save"));
+            span.end();
+        }
+    }
+
+    // one statement, many parameter sets: a single round trip per batch with the MySQL driver's
+    // rewriteBatchedStatements=true
+    @Override
+    @Connectable
+    public void saveAll(Collection<PokemonEntity> entities) {
+        if (entities == null || entities.isEmpty())
+            return;
+        try {
+            upsert(entities);
+            LOG.info("Saved batch of {} pokemons", entities.size());
+        } catch (SQLException ex) {
+            throw new IllegalStateException("SQL error when saving batch of " + entities.size() + " pokemons", ex);
+        }
+    }
+
+    /**
+     * Batched upsert that reports failures to the caller instead of logging them, for writers
+     * that retry.
+     */
+    void upsert(Collection<PokemonEntity> entities) throws SQLException {
+        Timer.Sample sample = Timer.start();
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(UPSERT)) {
+            for (PokemonEntity entity : entities) {
+                bind(ps, entity);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            dataSources.written(writtenKeys(entities));
+        } finally {
+            sample.stop(queryTimer("saveAll"));
+        }
+    }
+
+    // the row can be read back by its identifier, its PokeAPI id or its name
+    private static List<String> writtenKeys(Collection<PokemonEntity> entities) {
+        List<String> keys = new ArrayList<>(entities.size() * 3);
+        for (PokemonEntity entity : entities) {
+            keys.add(entity.getIdentifier());
+            if (entity.getProjection() != null) {
+                keys.add(String.valueOf(entity.getProjection().id()));
+                keys.add(entity.getProjection().identifier());
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    @Connectable
+    public void touch(Collection<PokemonEntity> confirmed, Instant updatedAt, Instant expiresAt) {
+        if (confirmed == null || confirmed.isEmpty())
+            return;
+        Timer.Sample sample = Timer.start();
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(TOUCH)) {
+            List<String> identifiers = new ArrayList<>(confirmed.size());
+            for (PokemonEntity row : confirmed) {
+                ps.setLong(1, updatedAt.getEpochSecond());
+                ps.setLong(2, expiresAt.getEpochSecond());
+                ps.setString(3, row.getEtag());
+                ps.setString(4, row.getLastModified());
+                ps.setString(5, row.getIdentifier());
+                ps.addBatch();
+                identifiers.add(row.getIdentifier());
+            }
+            ps.executeBatch();
+            dataSources.written(identifiers);
+            LOG.debug("Touched {} unchanged pokemons", confirmed.size());
+        } catch (SQLException ex) {
+            LOG.error("SQL error when touching {} pokemons", confirmed.size(), ex);
+        } finally {
+            sample.stop(queryTimer("touch"));
+        }
+    }
+
+    // keyset pages in id order from the primary. Each page is read into memory and its connection
+    // returned to the pool before the rows are handed out, so a slow consumer holds no connection.
+    // A failure part way through is thrown, not logged, so callers never mistake a partial scan for
+    // the whole table.
+    @Override
+    public void forEach(Consumer<PokemonEntity> action) {
+        String sql = "SELECT " + COLUMNS + " FROM pokemons WHERE id > ? ORDER BY id LIMIT " + SCAN_PAGE_SIZE;
+        long lastId = 0;
+        int rows = 0;
+        List<PokemonEntity> page;
+        do {
+            Timer.Sample sample = Timer.start();
+            page = new ArrayList<>(SCAN_PAGE_SIZE);
+            try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setLong(1, lastId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        page.add(mapRow(rs, null));
+                    }
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException("SQL error when scanning pokemons after id=" + lastId, ex);
+            } finally {
+                sample.stop(queryTimer("forEach"));
+            }
+            for (PokemonEntity e : page) {
+                lastId = e.getId();
+                action.accept(e);
+            }
+            rows += page.size();
+        } while (page.size() == SCAN_PAGE_SIZE);
+        LOG.debug("Scanned {} pokemons", rows);
+    }
+
+    private void bind(PreparedStatement ps, PokemonEntity entity) throws SQLException {
         // Ensure timestamps are present to avoid NPE when accessing getEpochSecond()
         Instant now = Instant.now();
         if (entity.getUpdatedAt() == null) {
@@ -82,19 +487,37 @@ public class JdbcPokemonRepository implements PokemonRepository {
         if (entity.getExpiresAt() == null) {
             entity.setExpiresAt(entity.getUpdatedAt().plusSeconds(DEFAULT_TTL_SECONDS));
         }
-        // Use MySQL upsert to insert or update existing record by identifier
-        String insert = "INSERT INTO pokemons (identifier, payload, updated_at, expires_at) VALUES (?, ?, ?, ?) " +
-                "ON DUPLICATE KEY UPDATE payload=VALUES(payload), updated_at=VALUES(updated_at), expires_at=VALUES(expires_at)";
         LOG.debug("Saving pokemon '{}', updatedAt={}, expiresAt={}", entity.getIdentifier(), entity.getUpdatedAt(), entity.getExpiresAt());
-        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(insert)) {
-            ps.setString(1, entity.getIdentifier());
-            ps.setString(2, entity.getPayload());
-            ps.setLong(3, entity.getUpdatedAt().getEpochSecond());
-            ps.setLong(4, entity.getExpiresAt().getEpochSecond());
-            int rows = ps.executeUpdate();
-            LOG.info("Saved pokemon '{}' (rows affected={})", entity.getIdentifier(), rows);
-        } catch (SQLException ex) {
-            LOG.error("SQL error when saving pokemon='{}'", entity.getIdentifier(), ex);
+        ps.setString(1, entity.getIdentifier());
+        ps.setNull(2, Types.VARCHAR);
+        ps.setLong(3, entity.getUpdatedAt().getEpochSecond());
+        ps.setLong(4, entity.getExpiresAt().getEpochSecond());
+        setProjection(ps, 5, entity.getProjection());
+        ps.setString(12, entity.getEtag());
+        ps.setString(13, entity.getLastModified());
+        String payload = entity.getPayload();
+        if (payload == null) {
+            ps.setNull(14, Types.BLOB);
+        } else {
+            ps.setBytes(14, PayloadCodec.gzip(payload));
+        }
+        ps.setInt(15, PayloadCodec.GZIP);
+    }
+
+    private void setProjection(PreparedStatement ps, int index, PokemonDTO dto) throws SQLException {
+        if (dto == null) {
+            ps.setNull(index, Types.INTEGER);
+            for (int i = index + 1; i <= index + 6; i++) {
+                ps.setNull(i, Types.VARCHAR);
+            }
+            return;
         }
+        ps.setInt(index, dto.id());
+        ps.setString(index + 1, dto.identifier());
+        ps.setString(index + 2, PokemonColumns.encodeList(dto.types()));
+        ps.setString(index + 3, PokemonColumns.encodeMap(dto.baseStats()));
+        ps.setString(index + 4, PokemonColumns.encodeList(dto.abilities()));
+        ps.setString(index + 5, PokemonColumns.encodeMap(dto.sprites()));
+        ps.setString(index + 6, dto.sourceUrl());
     }
 }
@@ -0,0 +1,74 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.domain.pokemon.repository.PrewarmCheckpointRepository;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.data.connection.annotation.Connectable;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.OptionalInt;
+
+@Singleton
+@Requires(property = "repository.strategy", value = "jdbc", defaultValue = "jdbc")
+public class JdbcPrewarmCheckpointRepository implements PrewarmCheckpointRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcPrewarmCheckpointRepository.class);
+    private final DataSource ds;
+
+    public JdbcPrewarmCheckpointRepository(Provider<DataSource> dsProvider) {
+        this.ds = dsProvider.get();
+    }
+
+    @Override
+    @Connectable
+    public OptionalInt findLastId(String job) {
+        String sql = "SELECT last_id FROM prewarm_checkpoints WHERE job = ?";
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, job);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return OptionalInt.of(rs.getInt("last_id"));
+                }
+            }
+        } catch (SQLException ex) {
+            LOG.error("SQL error when reading checkpoint for job='{}'", job, ex);
+        }
+        return OptionalInt.empty();
+    }
+
+    @Override
+    @Connectable
+    public void saveLastId(String job, int lastId) {
+        String sql = "INSERT INTO prewarm_checkpoints (job, last_id, updated_at) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE last_id=VALUES(last_id), updated_at=VALUES(updated_at)";
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, job);
+            ps.setInt(2, lastId);
+            ps.setLong(3, Instant.now().getEpochSecond());
+            ps.executeUpdate();
+            LOG.debug("Saved checkpoint job='{}' lastId={}", job, lastId);
+        } catch (SQLException ex) {
+            LOG.error("SQL error when saving checkpoint for job='{}'", job, ex);
+        }
+    }
+
+    @Override
+    @Connectable
+    public void clear(String job) {
+        try (Connection c = ds.getConnection();
+                PreparedStatement ps = c.prepareStatement("DELETE FROM prewarm_checkpoints WHERE job = ?")) {
+            ps.setString(1, job);
+            ps.executeUpdate();
+        } catch (SQLException ex) {
+            LOG.error("SQL error when clearing checkpoint for job='{}'", job, ex);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.config.MappedRepositoryConfiguration;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonAliasRepository;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Aliases for the embedded log: names and identifiers of stored pokemons resolve through the log's
+ * index. Other learned aliases are kept in a properties file next to the log, rewritten whenever
+ * new ones are learned; PokemonAliasIndex only saves aliases it did not know, so that is rare once
+ * the catalogue has been seen.
+ */
+@Singleton
+@Requires(property = "repository.strategy", value = "mmap")
+public class MappedPokemonAliasRepository implements PokemonAliasRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappedPokemonAliasRepository.class);
+    private final MappedPokemonRepository rows;
+    private final PropertiesFile file;
+    private final Map<String, Integer> learned = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public MappedPokemonAliasRepository(MappedPokemonRepository rows, MappedRepositoryConfiguration config) {
+        this.rows = rows;
+        this.file = new PropertiesFile(Path.of(config.getPath()).resolveSibling("pokemon-aliases.properties"),
+                "learned pokemon aliases (alias=pokeapi id)");
+        Properties persisted = file.load();
+        for (String alias : persisted.stringPropertyNames()) {
+            try {
+                learned.put(alias, Integer.parseInt(persisted.getProperty(alias)));
+            } catch (NumberFormatException ex) {
+                LOG.error("Invalid alias '{}' in {}: {}", alias, file.path(), persisted.getProperty(alias));
+            }
+        }
+    }
+
+    @Override
+    public OptionalInt findPokeapiId(String alias) {
+        Integer id = alias == null ? null : learned.get(alias);
+        return id != null ? OptionalInt.of(id) : rows.findPokeapiId(alias);
+    }
+
+    @Override
+    public void saveAll(Map<String, Integer> aliases) {
+        if (aliases == null || aliases.isEmpty())
+            return;
+        writeLock.lock();
+        try {
+            learned.putAll(aliases);
+            Properties snapshot = new Properties();
+            learned.forEach((alias, id) -> snapshot.setProperty(alias, String.valueOf(id)));
+            file.store(snapshot);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
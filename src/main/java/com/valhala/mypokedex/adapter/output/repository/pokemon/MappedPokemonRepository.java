@@ -0,0 +1,570 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.config.MappedRepositoryConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Pokemon rows in a local append-only file instead of MySQL, for nodes without a database.
+ * The file is memory-mapped; an in-memory index points each identifier at its latest record, and
+ * reads decode straight from the mapped region. The payload stays gzipped in the mapping until
+ * {@link PokemonEntity#getPayload()} is first called.
+ *
+ * <p>Each record is {@code int length | int crc32 | body} and the log ends at a zero length.
+ * A save appends a record and, with {@code sync-on-write}, forces it to disk before returning.
+ * Startup maps the file and scans it to rebuild the index; a torn record left by a crash fails
+ * its checksum and the log is cut there. Records superseded by later saves are dropped by
+ * compaction, which copies the live ones into a new file that atomically replaces the old one.
+ *
+ * <p>The mapping is limited to 2 GiB.
+ */
+@Singleton
+@Requires(property = "repository.strategy", value = "mmap")
+public class MappedPokemonRepository implements PokemonRepository {
+    private static final Logger LOG = LoggerFactory.getLogger(MappedPokemonRepository.class);
+    private static final int MAGIC = 0x504B4458; // "PKDX"
+    private static final int FORMAT = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8; // length + crc32
+    private static final int END_MARKER_BYTES = 4;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Path path;
+    private final long initialSize;
+    private final boolean syncOnWrite;
+    private final long compactionMinDeadBytes;
+    private final int compactionMinDeadPercent;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Log log;
+    private final Counter hits;
+    private final Counter misses;
+
+    // one file generation; compaction replaces it as a whole
+    private static final class Log {
+        final FileChannel channel;
+        // remapped when the log grows; readers take the offset first, then the buffer
+        volatile MappedByteBuffer buffer;
+        final Map<String, Integer> offsets = new ConcurrentHashMap<>(); // identifier -> latest record
+        final Map<String, String> byPokeapiId = new ConcurrentHashMap<>(); // pokeapi id -> identifier
+        final Map<String, Integer> pokeapiIds = new ConcurrentHashMap<>(); // identifier or projected name -> pokeapi id
+        int end; // guarded by writeLock, like deadBytes
+        long deadBytes;
+
+        Log(FileChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private record Stored(PokemonEntity entity, ByteBuffer payloadGz) {
+    }
+
+    public MappedPokemonRepository(MappedRepositoryConfiguration config, MeterRegistry meters) {
+        this.path = Path.of(config.getPath());
+        this.initialSize = Math.max(4096, config.getInitialSizeBytes());
+        this.syncOnWrite = config.isSyncOnWrite();
+        this.compactionMinDeadBytes = config.getCompactionMinDeadBytes();
+        this.compactionMinDeadPercent = config.getCompactionMinDeadPercent();
+        this.hits = meters.counter("pokemon.repository.lookups", "result", "hit");
+        this.misses = meters.counter("pokemon.repository.lookups", "result", "miss");
+        long started = System.nanoTime();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.deleteIfExists(compactionPath()); // left behind by a compaction that did not finish
+            this.log = open(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open pokemon log " + path, ex);
+        }
+        meters.gauge("pokemon.repository.mmap.bytes", this, r -> r.log.end);
+        meters.gauge("pokemon.repository.mmap.dead_bytes", this, r -> r.log.deadBytes);
+        LOG.info("Opened pokemon log {}: {} pokemons, {} bytes ({} superseded) in {}ms", path, log.offsets.size(),
+                log.end, log.deadBytes, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public Optional<PokemonEntity> findByIdentifier(String identifier) {
+        Stored stored = lookup(identifier);
+        if (stored == null) {
+            misses.increment();
+            LOG.debug("Pokemon not found in log: {}", identifier);
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(stored.entity());
+    }
+
+    @Override
+    public Map<String, PokemonEntity> findAllByIdentifiers(Collection<String> identifiers) {
+        Map<String, PokemonEntity> found = new HashMap<>();
+        if (identifiers == null || identifiers.isEmpty())
+            return found;
+        for (String identifier : identifiers) {
+            Stored stored = lookup(identifier);
+            if (stored != null) {
+                found.put(identifier, stored.entity());
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(identifiers.size() - found.size());
+        return found;
+    }
+
+    /**
+     * PokeAPI id of a pokemon stored under the given name or identifier.
+     */
+    public OptionalInt findPokeapiId(String alias) {
+        Integer id = alias == null ? null : log.pokeapiIds.get(alias);
+        return id != null ? OptionalInt.of(id) : OptionalInt.empty();
+    }
+
+    // numeric identifiers also match rows saved under the pokemon's name, like the pokeapi_id index
+    private Stored lookup(String identifier) {
+        if (identifier == null)
+            return null;
+        Log current = log;
+        Integer offset = current.offsets.get(identifier);
+        if (offset == null) {
+            String canonical = current.byPokeapiId.get(identifier);
+            offset = canonical != null ? current.offsets.get(canonical) : null;
+        }
+        return offset != null ? decode(current.buffer, offset) : null;
+    }
+
+    @Override
+    public void save(PokemonEntity entity) {
+        if (entity.getIdentifier() == null) {
+            LOG.warn("Not saving pokemon without identifier");
+            return;
+        }
+        byte[] body = encode(withTimestamps(entity), payloadOf(entity));
+        writeLock.lock();
+        try {
+            Log current = log;
+            int offset = append(current, body);
+            if (syncOnWrite) {
+                current.buffer.force(offset, current.end - offset);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        LOG.debug("Saved pokemon '{}' to the log", entity.getIdentifier());
+    }
+
+    // one force for the whole batch
+    @Override
+    public void saveAll(Collection<PokemonEntity> entities) {
+        if (entities == null || entities.isEmpty())
+            return;
+        writeLock.lock();
+        try {
+            Log current = log;
+            int first = current.end;
+            for (PokemonEntity entity : entities) {
+                if (entity.getIdentifier() != null) {
+                    append(current, encode(withTimestamps(entity), payloadOf(entity)));
+                }
+            }
+            if (syncOnWrite && current.end > first) {
+                current.buffer.force(first, current.end - first);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        LOG.info("Saved batch of {} pokemons to the log", entities.size());
+    }
+
+    // rewrites the records with the new timestamps and validators; the compressed payload is copied as is
+    @Override
+    public void touch(Collection<PokemonEntity> confirmed, Instant updatedAt, Instant expiresAt) {
+        if (confirmed == null || confirmed.isEmpty())
+            return;
+        writeLock.lock();
+        try {
+            Log current = log;
+            int first = current.end;
+            for (PokemonEntity row : confirmed) {
+                Integer offset = current.offsets.get(row.getIdentifier());
+                if (offset == null)
+                    continue;
+                Stored stored = decode(current.buffer, offset);
+                stored.entity().setUpdatedAt(updatedAt);
+                stored.entity().setExpiresAt(expiresAt);
+                stored.entity().setEtag(row.getEtag());
+                stored.entity().setLastModified(row.getLastModified());
+                append(current, encode(stored.entity(), stored.payloadGz()));
+            }
+            if (syncOnWrite && current.end > first) {
+                current.buffer.force(first, current.end - first);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // the latest record of each identifier; rows saved during the scan may or may not be included
+    @Override
+    public void forEach(Consumer<PokemonEntity> action) {
+        Log current = log;
+        for (int offset : current.offsets.values()) {
+            action.accept(decode(current.buffer, offset).entity());
+        }
+    }
+
+    @Scheduled(fixedDelay = "${repository.mmap.compaction-interval:10m}")
+    void compactIfWorthwhile() {
+        long dead;
+        long size;
+        writeLock.lock();
+        try {
+            dead = log.deadBytes;
+            size = log.end;
+        } finally {
+            writeLock.unlock();
+        }
+        if (dead >= compactionMinDeadBytes && dead * 100 >= size * compactionMinDeadPercent) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the log with only the latest record of each identifier. Writers wait for it; readers
+     * keep using the previous mapping until the new file is in place.
+     */
+    public void compact() {
+        writeLock.lock();
+        try {
+            Log old = log;
+            Path target = compactionPath();
+            Log fresh = null;
+            try {
+                Files.deleteIfExists(target);
+                fresh = open(target);
+                for (int offset : old.offsets.values()) {
+                    int size = RECORD_HEADER_BYTES + old.buffer.getInt(offset);
+                    ensureCapacity(fresh, fresh.end + size + END_MARKER_BYTES);
+                    fresh.buffer.put(fresh.end, old.buffer, offset, size);
+                    index(fresh, fresh.end);
+                    fresh.end += size;
+                }
+                fresh.buffer.putInt(fresh.end, 0);
+                fresh.buffer.force();
+                Files.move(target, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException ex) {
+                if (fresh != null) {
+                    close(fresh);
+                }
+                LOG.error("Compaction of pokemon log {} failed, keeping the current file", path, ex);
+                return;
+            }
+            log = fresh;
+            close(old);
+            LOG.info("Compacted pokemon log {}: {} -> {} bytes, {} pokemons", path, old.end, fresh.end,
+                    fresh.offsets.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            log.buffer.force();
+            close(log);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Path compactionPath() {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    private static void close(Log log) {
+        try {
+            log.channel.close(); // the mapping stays valid for readers still holding it
+        } catch (IOException ex) {
+            LOG.warn("Error closing pokemon log: {}", ex.getMessage());
+        }
+    }
+
+    private Log open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = channel.size();
+        Log opened = new Log(channel);
+        opened.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, initialSize));
+        if (size == 0) {
+            opened.buffer.putInt(0, MAGIC);
+            opened.buffer.putInt(4, FORMAT);
+            opened.buffer.putInt(FILE_HEADER_BYTES, 0);
+            opened.buffer.force();
+            opened.end = FILE_HEADER_BYTES;
+            return opened;
+        }
+        if (opened.buffer.getInt(0) != MAGIC || opened.buffer.getInt(4) != FORMAT) {
+            channel.close();
+            throw new IOException("Not a pokemon log (format " + FORMAT + "): " + file);
+        }
+        recover(opened, file);
+        return opened;
+    }
+
+    // scans from the start; the first incomplete or corrupt record ends the log
+    private static void recover(Log log, Path file) {
+        ByteBuffer buffer = log.buffer;
+        int position = FILE_HEADER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - RECORD_HEADER_BYTES)
+                break;
+            if (crc(buffer, position + RECORD_HEADER_BYTES, length) != buffer.getInt(position + 4)) {
+                LOG.warn("Discarding torn record at offset {} of {}", position, file);
+                break;
+            }
+            index(log, position);
+            position += RECORD_HEADER_BYTES + length;
+        }
+        log.end = position;
+        if (position + END_MARKER_BYTES <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+    }
+
+    // header fields only: identifier, then the projection's id and name
+    private static void index(Log log, int offset) {
+        ByteBuffer buffer = log.buffer;
+        Cursor in = new Cursor(buffer, offset + RECORD_HEADER_BYTES);
+        String identifier = in.getString();
+        in.skip(16); // updatedAt, expiresAt
+        in.skipString(); // etag
+        in.skipString(); // lastModified
+        Integer previous = log.offsets.put(identifier, offset);
+        if (previous != null) {
+            log.deadBytes += RECORD_HEADER_BYTES + buffer.getInt(previous);
+        }
+        if (in.getBoolean()) {
+            int pokeapiId = in.getInt();
+            String name = in.getString();
+            log.byPokeapiId.put(String.valueOf(pokeapiId), identifier);
+            log.pokeapiIds.put(identifier, pokeapiId);
+            if (name != null) {
+                log.pokeapiIds.put(name, pokeapiId);
+            }
+        }
+    }
+
+    private int append(Log log, byte[] body) {
+        int offset = log.end;
+        int size = RECORD_HEADER_BYTES + body.length;
+        ensureCapacity(log, (long) offset + size + END_MARKER_BYTES);
+        MappedByteBuffer buffer = log.buffer;
+        buffer.put(offset + RECORD_HEADER_BYTES, body);
+        buffer.putInt(offset + 4, crc(buffer, offset + RECORD_HEADER_BYTES, body.length));
+        buffer.putInt(offset + size, 0);
+        buffer.putInt(offset, body.length);
+        log.end = offset + size;
+        index(log, offset);
+        return offset;
+    }
+
+    private void ensureCapacity(Log log, long needed) {
+        int capacity = log.buffer.capacity();
+        if (needed <= capacity)
+            return;
+        long grown = Math.max(needed, 2L * capacity);
+        if (grown > Integer.MAX_VALUE) {
+            if (needed > Integer.MAX_VALUE)
+                throw new IllegalStateException("Pokemon log " + path + " is full");
+            grown = Integer.MAX_VALUE;
+        }
+        try {
+            log.buffer = log.channel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot grow pokemon log " + path, ex);
+        }
+        LOG.debug("Grew pokemon log {} to {} bytes", path, grown);
+    }
+
+    private static int crc(ByteBuffer buffer, int from, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(from, length));
+        return (int) crc.getValue();
+    }
+
+    private static PokemonEntity withTimestamps(PokemonEntity entity) {
+        if (entity.getUpdatedAt() == null) {
+            entity.setUpdatedAt(Instant.now());
+        }
+        if (entity.getExpiresAt() == null) {
+            entity.setExpiresAt(entity.getUpdatedAt().plusSeconds(JdbcPokemonRepository.DEFAULT_TTL_SECONDS));
+        }
+        return entity;
+    }
+
+    private static ByteBuffer payloadOf(PokemonEntity entity) {
+        String payload = entity.getPayload();
+        return payload == null ? null : ByteBuffer.wrap(PayloadCodec.gzip(payload));
+    }
+
+    private static byte[] encode(PokemonEntity entity, ByteBuffer payloadGz) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512 + (payloadGz == null ? 0 : payloadGz.remaining()));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, entity.getIdentifier());
+            out.writeLong(entity.getUpdatedAt() == null ? NO_TIMESTAMP : entity.getUpdatedAt().getEpochSecond());
+            out.writeLong(entity.getExpiresAt() == null ? NO_TIMESTAMP : entity.getExpiresAt().getEpochSecond());
+            writeString(out, entity.getEtag());
+            writeString(out, entity.getLastModified());
+            PokemonDTO dto = entity.getProjection();
+            out.writeBoolean(dto != null);
+            if (dto != null) {
+                out.writeInt(dto.id());
+                writeString(out, dto.identifier());
+                writeString(out, PokemonColumns.encodeList(dto.types()));
+                writeString(out, PokemonColumns.encodeMap(dto.baseStats()));
+                writeString(out, PokemonColumns.encodeMap(dto.sprites()));
+                writeString(out, PokemonColumns.encodeList(dto.abilities()));
+                writeString(out, dto.sourceUrl());
+            }
+            if (payloadGz == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] compressed = new byte[payloadGz.remaining()];
+                payloadGz.duplicate().get(compressed);
+                out.writeInt(compressed.length);
+                out.write(compressed);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static Stored decode(ByteBuffer buffer, int offset) {
+        Cursor in = new Cursor(buffer, offset + RECORD_HEADER_BYTES);
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier(in.getString());
+        e.setUpdatedAt(in.getInstant());
+        e.setExpiresAt(in.getInstant());
+        e.setEtag(in.getString());
+        e.setLastModified(in.getString());
+        if (in.getBoolean()) {
+            // fields are stored in constructor order
+            e.setProjection(new PokemonDTO(
+                    in.getInt(),
+                    in.getString(),
+                    PokemonColumns.decodeList(in.getString()),
+                    PokemonColumns.decodeIntMap(in.getString()),
+                    PokemonColumns.decodeStringMap(in.getString()),
+                    PokemonColumns.decodeList(in.getString()),
+                    in.getString()));
+        }
+        ByteBuffer payloadGz = in.getBytes();
+        if (payloadGz != null) {
+            // a view of the mapping: inflated on first access without copying it to the heap
+            e.setPayload(() -> PayloadCodec.gunzip(payloadGz));
+        }
+        return new Stored(e, payloadGz);
+    }
+
+    // absolute reads, so concurrent readers of the same mapping do not share a position
+    private static final class Cursor {
+        private final ByteBuffer buffer;
+        private int position;
+
+        Cursor(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        void skip(int bytes) {
+            position += bytes;
+        }
+
+        boolean getBoolean() {
+            return buffer.get(position++) != 0;
+        }
+
+        int getInt() {
+            int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
+
+        Instant getInstant() {
+            long value = buffer.getLong(position);
+            position += 8;
+            return value == NO_TIMESTAMP ? null : Instant.ofEpochSecond(value);
+        }
+
+        String getString() {
+            int length = getInt();
+            if (length < 0)
+                return null;
+            byte[] utf8 = new byte[length];
+            buffer.get(position, utf8);
+            position += length;
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        void skipString() {
+            int length = getInt();
+            if (length > 0) {
+                position += length;
+            }
+        }
+
+        ByteBuffer getBytes() {
+            int length = getInt();
+            if (length < 0)
+                return null;
+            ByteBuffer slice = buffer.slice(position, length);
+            position += length;
+            return slice;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Flat text encoding for the projected list/map columns of {@code pokemons}. Lists are
+ * {@code a,b}; maps are {@code k=v;k2=v2} where a key without {@code =} maps to null.
+ * Separators and {@code \} inside values are backslash-escaped.
+ *
+ * <p>These columns are only ever read back whole with their row, never filtered or indexed on,
+ * so a JSON column type would put a Jackson parse on every row read in place of this
+ * single-pass split without buying any query capability; it would also behave differently between MySQL and the H2 database used by the
+ * tests, which returns JSON values as quoted byte strings.
+ */
+final class PokemonColumns {
+
+    private static final char ESCAPE = '\\';
+    private static final char LIST_SEP = ',';
+    private static final char ENTRY_SEP = ';';
+    private static final char KV_SEP = '=';
+
+    private PokemonColumns() {
+    }
+
+    static String encodeList(List<String> values) {
+        if (values == null)
+            return null;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0)
+                sb.append(LIST_SEP);
+            escape(sb, values.get(i));
+        }
+        return sb.toString();
+    }
+
+    static List<String> decodeList(String column) {
+        List<String> out = new ArrayList<>();
+        if (column == null || column.isEmpty())
+            return out;
+        for (String token : split(column, LIST_SEP)) {
+            out.add(unescape(token));
+        }
+        return out;
+    }
+
+    static String encodeMap(Map<String, ?> values) {
+        if (values == null)
+            return null;
+        StringBuilder sb = new StringBuilder();
+        boolean first = true;
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            if (!first)
+                sb.append(ENTRY_SEP);
+            first = false;
+            escape(sb, entry.getKey());
+            if (entry.getValue() != null) {
+                sb.append(KV_SEP);
+                escape(sb, String.valueOf(entry.getValue()));
+            }
+        }
+        return sb.toString();
+    }
+
+    static Map<String, String> decodeStringMap(String column) {
+        return decodeMap(column, Function.identity());
+    }
+
+    static Map<String, Integer> decodeIntMap(String column) {
+        return decodeMap(column, Integer::valueOf);
+    }
+
+    private static <V> Map<String, V> decodeMap(String column, Function<String, V> valueParser) {
+        Map<String, V> out = new HashMap<>();
+        if (column == null || column.isEmpty())
+            return out;
+        for (String entry : split(column, ENTRY_SEP)) {
+            List<String> kv = split(entry, KV_SEP);
+            String key = unescape(kv.get(0));
+            out.put(key, kv.size() > 1 ? valueParser.apply(unescape(kv.get(1))) : null);
+        }
+        return out;
+    }
+
+    private static void escape(StringBuilder sb, String value) {
+        if (value == null)
+            return;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ESCAPE || c == LIST_SEP || c == ENTRY_SEP || c == KV_SEP)
+                sb.append(ESCAPE);
+            sb.append(c);
+        }
+    }
+
+    private static String unescape(String token) {
+        if (token.indexOf(ESCAPE) < 0)
+            return token;
+        StringBuilder sb = new StringBuilder(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == ESCAPE && i + 1 < token.length()) {
+                c = token.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    // splits on unescaped separators only; tokens keep their escapes for the next level
+    private static List<String> split(String value, char separator) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ESCAPE) {
+                i++;
+            } else if (c == separator) {
+                tokens.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        tokens.add(value.substring(start));
+        return tokens;
+    }
+}
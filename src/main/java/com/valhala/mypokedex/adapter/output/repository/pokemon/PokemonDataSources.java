@@ -0,0 +1,147 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.valhala.mypokedex.config.PokemonReplicaConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Picks the datasource for pokemon reads. Writes always use the primary ({@code default}). Reads
+ * go to the {@code replica} datasource when one is configured and it passed its last health
+ * check. Identifiers written within the read-your-writes window are read from the primary, so a
+ * row the replica may not have applied yet is not reported missing. That window is node-local:
+ * it only knows the writes of this process, so the repository also retries replica misses on the
+ * primary, which covers rows just written by another node.
+ *
+ * <p>Routes are counted as
+ * {@code pokemon.repository.reads{route=replica|primary|read_your_writes|fallback|miss_retry}}.
+ */
+@Singleton
+@Requires(property = "repository.strategy", value = "jdbc", defaultValue = "jdbc")
+public class PokemonDataSources {
+    public static final String REPLICA = "replica";
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonDataSources.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final int healthCheckTimeoutSeconds;
+    private final Cache<String, Boolean> recentWrites;
+    private volatile boolean replicaHealthy = true;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private final Counter pinnedReads;
+    private final Counter fallbacks;
+    private final Counter missRetries;
+
+    public PokemonDataSources(Provider<DataSource> primary, @Nullable @Named(REPLICA) DataSource replica,
+            PokemonReplicaConfiguration config, MeterRegistry meters) {
+        this.primary = primary.get();
+        this.replica = replica;
+        this.healthCheckTimeoutSeconds = config.getHealthCheckTimeoutSeconds();
+        this.recentWrites = replica != null && config.getReadYourWritesMs() > 0
+                ? Caffeine.newBuilder()
+                        .expireAfterWrite(Duration.ofMillis(config.getReadYourWritesMs()))
+                        .maximumSize(100_000)
+                        .build()
+                : null;
+        this.replicaReads = reads(meters, "replica");
+        this.primaryReads = reads(meters, "primary");
+        this.pinnedReads = reads(meters, "read_your_writes");
+        this.fallbacks = reads(meters, "fallback");
+        this.missRetries = reads(meters, "miss_retry");
+        meters.gauge("pokemon.repository.replica.healthy", this, s -> s.isReplicaHealthy() ? 1 : 0);
+        if (replica != null) {
+            LOG.info("Routing pokemon reads to the replica datasource (readYourWritesMs={})",
+                    config.getReadYourWritesMs());
+        }
+    }
+
+    private static Counter reads(MeterRegistry meters, String route) {
+        return meters.counter("pokemon.repository.reads", "route", route);
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public boolean isReplicaHealthy() {
+        return replica != null && replicaHealthy;
+    }
+
+    DataSource forRead(Collection<String> identifiers) {
+        if (!isReplicaHealthy()) {
+            primaryReads.increment();
+            return primary;
+        }
+        if (recentWrites != null) {
+            for (String identifier : identifiers) {
+                if (identifier != null && recentWrites.getIfPresent(identifier) != null) {
+                    pinnedReads.increment();
+                    return primary;
+                }
+            }
+        }
+        replicaReads.increment();
+        return replica;
+    }
+
+    void written(Collection<String> identifiers) {
+        if (recentWrites == null)
+            return;
+        for (String identifier : identifiers) {
+            if (identifier != null) {
+                recentWrites.put(identifier, Boolean.TRUE);
+            }
+        }
+    }
+
+    // the replica answered but lacked some rows; the read is retried on the primary
+    void replicaMissed() {
+        missRetries.increment();
+    }
+
+    // the failed read is retried on the primary; later reads stay there until a health check passes
+    void replicaFailed(SQLException ex) {
+        fallbacks.increment();
+        if (replicaHealthy) {
+            replicaHealthy = false;
+            LOG.warn("Replica read failed, routing pokemon reads to the primary: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = "${pokemon.replica.health-check-interval:5s}")
+    void checkReplica() {
+        if (replica == null)
+            return;
+        boolean healthy;
+        try (Connection c = replica.getConnection()) {
+            healthy = c.isValid(healthCheckTimeoutSeconds);
+        } catch (SQLException ex) {
+            LOG.debug("Replica health check failed: {}", ex.getMessage());
+            healthy = false;
+        }
+        if (healthy != replicaHealthy) {
+            if (healthy) {
+                LOG.info("Replica is healthy again, routing pokemon reads back to it");
+            } else {
+                LOG.warn("Replica health check failed, routing pokemon reads to the primary");
+            }
+        }
+        replicaHealthy = healthy;
+    }
+}
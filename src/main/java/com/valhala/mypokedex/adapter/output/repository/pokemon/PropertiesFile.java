@@ -0,0 +1,58 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * A properties file next to the embedded log. Each store writes a temporary file and moves it
+ * over the old one, so a crash leaves either version. Callers serialize their own updates.
+ */
+class PropertiesFile {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropertiesFile.class);
+    private final Path file;
+    private final String comment;
+
+    PropertiesFile(Path file, String comment) {
+        this.file = file;
+        this.comment = comment;
+    }
+
+    Path path() {
+        return file;
+    }
+
+    Properties load() {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(in);
+            } catch (IOException ex) {
+                LOG.error("Error reading {}", file, ex);
+            }
+        }
+        return properties;
+    }
+
+    void store(Properties properties) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                properties.store(out, comment);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            LOG.error("Error saving {}", file, ex);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.config.PokemonWriteBehindConfiguration;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Requires;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind in front of {@link JdbcPokemonRepository}: {@link #save} queues the row and
+ * returns, and a single writer thread flushes queued rows as batched upserts. A save for an
+ * identifier that is still queued replaces the queued row, so a hot key costs one write per
+ * batch. Reads see queued rows before the database does. {@link #saveAll} and {@link #touch} write
+ * synchronously; they first wait for any batch in flight with the same identifiers, so an older
+ * queued copy can never be committed over them.
+ *
+ * <p>The queue is bounded. A save that finds it full waits up to the offer timeout and is then
+ * written by the calling thread. A failed batch is retried with backoff; rows that still fail go
+ * back into the queue behind newer saves ({@code result=requeued}), unless a newer copy was saved
+ * meanwhile. Shutdown drains the queue; only rows that fail while draining are given up, logged
+ * with their identifiers and counted as {@code result=failed}.
+ */
+@Singleton
+@Primary
+@Requires(property = "pokemon.write-behind.enabled", notEquals = "false")
+@Requires(property = "repository.strategy", value = "jdbc", defaultValue = "jdbc")
+public class WriteBehindPokemonRepository implements PokemonRepository {
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehindPokemonRepository.class);
+
+    private final JdbcPokemonRepository delegate;
+    private final int capacity;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutNanos;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long drainTimeoutMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    // insertion-ordered so rows are written roughly in the order they were saved
+    private final LinkedHashMap<String, PokemonEntity> pending = new LinkedHashMap<>();
+    // taken by the writer; still answers reads until the batch is committed
+    private final Map<String, PokemonEntity> inFlight = new HashMap<>();
+    private boolean running = true;
+    private final Thread writer;
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter overflow;
+    private final Counter written;
+    private final Counter retried;
+    private final Counter requeued;
+    private final Counter failed;
+
+    public WriteBehindPokemonRepository(JdbcPokemonRepository delegate, PokemonWriteBehindConfiguration config,
+            MeterRegistry meters) {
+        this.delegate = delegate;
+        this.capacity = Math.max(1, config.getCapacity());
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(config.getLingerMs());
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getOfferTimeoutMs());
+        this.maxAttempts = Math.max(1, config.getMaxAttempts());
+        this.retryBackoffMs = config.getRetryBackoffMs();
+        this.drainTimeoutMs = TimeUnit.SECONDS.toMillis(config.getDrainTimeoutSeconds());
+        this.queued = writes(meters, "queued");
+        this.coalesced = writes(meters, "coalesced");
+        this.overflow = writes(meters, "overflow");
+        this.written = writes(meters, "written");
+        this.retried = writes(meters, "retried");
+        this.requeued = writes(meters, "requeued");
+        this.failed = writes(meters, "failed");
+        meters.gauge("pokemon.repository.write_behind.pending", this, WriteBehindPokemonRepository::queuedCount);
+        this.writer = new Thread(this::drainLoop, "pokemon-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        LOG.info("Write-behind enabled for pokemon rows (capacity={} batchSize={} lingerMs={})", capacity, batchSize,
+                config.getLingerMs());
+    }
+
+    private static Counter writes(MeterRegistry meters, String result) {
+        return meters.counter("pokemon.repository.write_behind", "result", result);
+    }
+
+    @Override
+    public Optional<PokemonEntity> findByIdentifier(String identifier) {
+        PokemonEntity queuedRow = queuedRow(identifier);
+        return queuedRow != null ? Optional.of(queuedRow) : delegate.findByIdentifier(identifier);
+    }
+
+    @Override
+    public Map<String, PokemonEntity> findAllByIdentifiers(Collection<String> identifiers) {
+        if (identifiers == null || identifiers.isEmpty())
+            return delegate.findAllByIdentifiers(identifiers);
+        Map<String, PokemonEntity> found = new HashMap<>();
+        List<String> stored = new ArrayList<>();
+        for (String identifier : identifiers) {
+            PokemonEntity queuedRow = queuedRow(identifier);
+            if (queuedRow != null) {
+                found.put(identifier, queuedRow);
+            } else {
+                stored.add(identifier);
+            }
+        }
+        if (!stored.isEmpty()) {
+            found.putAll(delegate.findAllByIdentifiers(stored));
+        }
+        return found;
+    }
+
+    @Override
+    public void save(PokemonEntity entity) {
+        if (entity.getIdentifier() == null || !enqueue(entity)) {
+            delegate.save(entity);
+        }
+    }
+
+    // synchronous: pre-warm checkpoints only after its batch is stored
+    @Override
+    public void saveAll(Collection<PokemonEntity> entities) {
+        if (entities == null || entities.isEmpty())
+            return;
+        lock.lock();
+        try {
+            // the rows being saved are newer than any queued copy, which must not overwrite them later
+            awaitCommitted(entities.stream().map(PokemonEntity::getIdentifier).toList());
+            for (PokemonEntity entity : entities) {
+                if (pending.remove(entity.getIdentifier()) != null) {
+                    coalesced.increment();
+                }
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        delegate.saveAll(entities);
+    }
+
+    @Override
+    public void touch(Collection<PokemonEntity> confirmed, Instant updatedAt, Instant expiresAt) {
+        if (confirmed == null || confirmed.isEmpty())
+            return;
+        lock.lock();
+        try {
+            // keep queued copies from rolling the timestamps back when they are flushed; the copies
+            // already handed to readers are left as they are
+            awaitCommitted(confirmed.stream().map(PokemonEntity::getIdentifier).toList());
+            for (PokemonEntity row : confirmed) {
+                PokemonEntity queuedRow = pending.get(row.getIdentifier());
+                if (queuedRow != null) {
+                    pending.put(row.getIdentifier(), touched(queuedRow, row, updatedAt, expiresAt));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        delegate.touch(confirmed, updatedAt, expiresAt);
+    }
+
+    // stored rows first, with queued copies in place of the stored ones they will replace
+    @Override
+    public void forEach(Consumer<PokemonEntity> action) {
+        Map<String, PokemonEntity> queuedRows;
+        lock.lock();
+        try {
+            queuedRows = new LinkedHashMap<>(inFlight);
+            queuedRows.putAll(pending);
+        } finally {
+            lock.unlock();
+        }
+        delegate.forEach(entity -> {
+            if (!queuedRows.containsKey(entity.getIdentifier())) {
+                action.accept(entity);
+            }
+        });
+        queuedRows.values().forEach(action);
+    }
+
+    /**
+     * Rows accepted but not yet committed, queued or being written.
+     */
+    public int queuedCount() {
+        lock.lock();
+        try {
+            return pending.size() + inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // caller holds the lock
+    private void awaitCommitted(Collection<String> identifiers) {
+        while (identifiers.stream().anyMatch(inFlight::containsKey)) {
+            committed.awaitUninterruptibly();
+        }
+    }
+
+    private static PokemonEntity touched(PokemonEntity row, PokemonEntity confirmed, Instant updatedAt,
+            Instant expiresAt) {
+        PokemonEntity copy = new PokemonEntity();
+        copy.setId(row.getId());
+        copy.setIdentifier(row.getIdentifier());
+        copy.setPayload(row.getPayload());
+        copy.setProjection(row.getProjection());
+        copy.setEtag(confirmed.getEtag());
+        copy.setLastModified(confirmed.getLastModified());
+        copy.setUpdatedAt(updatedAt);
+        copy.setExpiresAt(expiresAt);
+        return copy;
+    }
+
+    private PokemonEntity queuedRow(String identifier) {
+        if (identifier == null)
+            return null;
+        lock.lock();
+        try {
+            PokemonEntity queuedRow = pending.get(identifier);
+            return queuedRow != null ? queuedRow : inFlight.get(identifier);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // false when the caller has to write the row itself: queue full past the offer timeout, or shut down
+    private boolean enqueue(PokemonEntity entity) {
+        String key = entity.getIdentifier();
+        lock.lock();
+        try {
+            long nanos = offerTimeoutNanos;
+            while (running) {
+                if (pending.containsKey(key)) {
+                    pending.put(key, entity);
+                    coalesced.increment();
+                    return true;
+                }
+                if (pending.size() < capacity) {
+                    pending.put(key, entity);
+                    queued.increment();
+                    if (pending.size() == 1 || pending.size() >= batchSize) {
+                        notEmpty.signal();
+                    }
+                    return true;
+                }
+                if (nanos <= 0) {
+                    overflow.increment();
+                    LOG.warn("Write-behind queue full ({} rows), saving pokemon '{}' inline", capacity, key);
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainLoop() {
+        List<PokemonEntity> batch;
+        while ((batch = take()) != null) {
+            write(batch);
+        }
+        LOG.debug("Write-behind writer stopped");
+    }
+
+    // next batch, or null once shut down and drained
+    private List<PokemonEntity> take() {
+        lock.lock();
+        try {
+            while (pending.isEmpty()) {
+                if (!running)
+                    return null;
+                notEmpty.awaitUninterruptibly();
+            }
+            // linger so a burst of saves shares one round trip
+            long nanos = lingerNanos;
+            while (running && pending.size() < batchSize && nanos > 0) {
+                try {
+                    nanos = notEmpty.awaitNanos(nanos);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break; // only close() stops the writer; flush what is there
+                }
+            }
+            List<PokemonEntity> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<Map.Entry<String, PokemonEntity>> it = pending.entrySet().iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                Map.Entry<String, PokemonEntity> entry = it.next();
+                it.remove();
+                inFlight.put(entry.getKey(), entry.getValue());
+                batch.add(entry.getValue());
+            }
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<PokemonEntity> batch) {
+        boolean stored = false;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                delegate.upsert(batch);
+                written.increment(batch.size());
+                LOG.debug("Wrote behind {} pokemons", batch.size());
+                stored = true;
+                break;
+            } catch (SQLException | RuntimeException ex) {
+                if (attempt == maxAttempts) {
+                    LOG.warn("Write-behind batch of {} pokemons failed after {} attempts: {}", batch.size(), attempt,
+                            ex.getMessage());
+                    break;
+                }
+                retried.increment();
+                long backoff = retryBackoffMs << (attempt - 1);
+                LOG.warn("Write-behind batch of {} pokemons failed (attempt {}/{}), retrying in {}ms: {}",
+                        batch.size(), attempt, maxAttempts, backoff, ex.getMessage());
+                if (Thread.currentThread().isInterrupted())
+                    continue; // no backoff for an interrupted writer
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        lock.lock();
+        try {
+            // single writer: nothing else can have put these identifiers in flight meanwhile
+            batch.forEach(entity -> inFlight.remove(entity.getIdentifier()));
+            if (!stored) {
+                giveBack(batch);
+            }
+            committed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // caller holds the lock. A newer queued copy wins over the failed one. Once shut down, or when
+    // the writer was interrupted, requeueing could spin forever, so the rows are given up.
+    private void giveBack(List<PokemonEntity> batch) {
+        if (!running || Thread.currentThread().isInterrupted()) {
+            failed.increment(batch.size());
+            LOG.error("Dropping {} pokemon rows after {} failed write attempts: {}", batch.size(), maxAttempts,
+                    batch.stream().map(PokemonEntity::getIdentifier).toList());
+            return;
+        }
+        for (PokemonEntity entity : batch) {
+            if (pending.putIfAbsent(entity.getIdentifier(), entity) == null) {
+                requeued.increment();
+            }
+        }
+        notEmpty.signal();
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(drainTimeoutMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int left = queuedCount();
+        if (left > 0) {
+            LOG.error("Write-behind queue not drained on shutdown: {} pokemon rows were not written", left);
+        } else {
+            LOG.info("Write-behind queue drained");
+        }
+    }
+}
@@ -1,32 +1,98 @@
 package com.valhala.mypokedex.application.controller;
 
+import com.valhala.mypokedex.config.PokemonBatchConfiguration;
+import com.valhala.mypokedex.config.PokemonHttpCacheConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonBatchItem;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonBatchRequest;
 import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamUnavailableException;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonExecutors;
 import com.valhala.mypokedex.domain.pokemon.usecase.GetPokemonUseCase;
+import com.valhala.mypokedex.http.RequestIdFilter;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.PathVariable;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.inject.Named;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Controller("/api/pokemon")
 public class PokemonController {
     private static final Logger LOG = LoggerFactory.getLogger(PokemonController.class);
     private final GetPokemonUseCase service;
+    private final PokemonBatchConfiguration batchConfig;
+    private final Executor requestExecutor;
+    private final PokemonResponseCache responseCache;
+    private final String cacheControl;
 
-    public PokemonController(GetPokemonUseCase service) {
+    public PokemonController(GetPokemonUseCase service, PokemonBatchConfiguration batchConfig,
+            PokemonHttpCacheConfiguration httpCache, PokemonResponseCache responseCache,
+            @Named(PokemonExecutors.REQUEST) Executor requestExecutor) {
         this.service = service;
+        this.batchConfig = batchConfig;
+        this.requestExecutor = requestExecutor;
+        this.responseCache = responseCache;
+        this.cacheControl = cacheControl(httpCache);
+    }
+
+    private static String cacheControl(PokemonHttpCacheConfiguration config) {
+        StringBuilder value = new StringBuilder("public, max-age=").append(config.getMaxAgeSeconds());
+        if (config.getSharedMaxAgeSeconds() >= 0) {
+            value.append(", s-maxage=").append(config.getSharedMaxAgeSeconds());
+        }
+        if (config.getStaleWhileRevalidateSeconds() >= 0) {
+            value.append(", stale-while-revalidate=").append(config.getStaleWhileRevalidateSeconds());
+        }
+        return value.toString();
+    }
+
+    private HttpResponse<?> found(String identifier, PokemonDTO dto, String ifNoneMatch, String acceptEncoding) {
+        return send(responseCache.put(identifier, dto), ifNoneMatch, acceptEncoding);
+    }
+
+    // bodies are written as pre-encoded bytes; a matching If-None-Match gets an empty 304
+    private HttpResponse<?> send(PokemonResponseCache.Encoded encoded, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = encoded.gzip() != null && PokemonResponseCache.acceptsGzip(acceptEncoding);
+        String etag = gzip ? PokemonETag.gzipVariant(encoded.etag()) : encoded.etag();
+        if (PokemonETag.matches(ifNoneMatch, encoded.etag()) || PokemonETag.matches(ifNoneMatch, etag)) {
+            return HttpResponse.notModified()
+                    .header(HttpHeaders.ETAG, etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        MutableHttpResponse<byte[]> response = HttpResponse.ok(gzip ? encoded.gzip() : encoded.json())
+                .contentType(MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.ETAG, etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response;
     }
 
     @Get("/{identifier}")
@@ -34,11 +100,29 @@ public class PokemonController {
     @Tag(name = "Pokemon")
     @Operation(summary = "Get Pokemon by identifier", description = "Retrieve a Pokemon by its identifier (id or name)")
     @ApiResponse(responseCode = "200", description = "Pokemon found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PokemonDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified - If-None-Match matches the current ETag")
     @ApiResponse(responseCode = "404", description = "Pokemon not found")
     @ApiResponse(responseCode = "400", description = "Bad request - invalid identifier")
-    public HttpResponse<?> get(@PathVariable String identifier) {
-        String reqId = UUID.randomUUID().toString();
-        MDC.put("reqId", reqId);
+    @ApiResponse(responseCode = "503", description = "PokeAPI unavailable and no stored copy to serve")
+    public CompletableFuture<HttpResponse<?>> get(@PathVariable String identifier,
+            @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Nullable @Header(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        Optional<PokemonResponseCache.Encoded> cached = responseCache.get(identifier);
+        if (cached.isPresent()) {
+            LOG.debug("Serving pokemon '{}' from the response cache", identifier);
+            return CompletableFuture.completedFuture(send(cached.get(), ifNoneMatch, acceptEncoding));
+        }
+        // inline on the server thread, or on a virtual thread when pokemon.execution.virtual-threads=true
+        return CompletableFuture.supplyAsync(() -> find(identifier, ifNoneMatch, acceptEncoding), requestExecutor);
+    }
+
+    private HttpResponse<?> find(String identifier, String ifNoneMatch, String acceptEncoding) {
+        String reqId = RequestIdFilter.currentId();
+        // may run on a virtual thread, which doesn't inherit the filter's MDC
+        boolean bound = MDC.get(RequestIdFilter.MDC_KEY) == null && reqId != null;
+        if (bound) {
+            MDC.put(RequestIdFilter.MDC_KEY, reqId);
+        }
         LOG.info("[reqId={}] Received request for pokemon identifier='{}'", reqId, identifier);
         try {
             if (identifier == null || identifier.isBlank()) {
@@ -49,17 +133,102 @@ public class PokemonController {
                 Optional<PokemonDTO> result = service.getPokemon(identifier);
                 if (result.isPresent()) {
                     LOG.info("[reqId={}] Returning pokemon '{}' to client", reqId, identifier);
-                    return HttpResponse.ok(result.get());
+                    return found(identifier, result.get(), ifNoneMatch, acceptEncoding);
                 } else {
                     LOG.info("[reqId={}] Pokemon '{}' not found", reqId, identifier);
                     return HttpResponse.notFound();
                 }
+            } catch (UpstreamUnavailableException ex) {
+                LOG.warn("[reqId={}] Upstream unavailable for pokemon '{}': {}", reqId, identifier, ex.getMessage());
+                return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
             } catch (Exception ex) {
                 LOG.error("[reqId={}] Unhandled error while fetching pokemon '{}'", reqId, identifier, ex);
                 return HttpResponse.serverError();
             }
         } finally {
-            MDC.remove("reqId");
+            if (bound) {
+                MDC.remove(RequestIdFilter.MDC_KEY);
+            }
+        }
+    }
+
+    @Get("/async/{identifier}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Tag(name = "Pokemon")
+    @Operation(summary = "Get Pokemon by identifier (non-blocking)", description = "Same contract as GET /api/pokemon/{identifier}; the upstream call does not hold a request thread")
+    @ApiResponse(responseCode = "200", description = "Pokemon found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PokemonDTO.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified - If-None-Match matches the current ETag")
+    @ApiResponse(responseCode = "404", description = "Pokemon not found")
+    @ApiResponse(responseCode = "400", description = "Bad request - invalid identifier")
+    @ApiResponse(responseCode = "503", description = "PokeAPI unavailable and no stored copy to serve")
+    public CompletableFuture<HttpResponse<?>> getAsync(@PathVariable String identifier,
+            @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Nullable @Header(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        String reqId = RequestIdFilter.currentId();
+        LOG.info("[reqId={}] Received async request for pokemon identifier='{}'", reqId, identifier);
+        if (identifier == null || identifier.isBlank()) {
+            LOG.warn("[reqId={}] Bad request: empty identifier", reqId);
+            return CompletableFuture.completedFuture(HttpResponse.badRequest());
+        }
+        Optional<PokemonResponseCache.Encoded> cached = responseCache.get(identifier);
+        if (cached.isPresent()) {
+            LOG.debug("[reqId={}] Serving pokemon '{}' from the response cache", reqId, identifier);
+            return CompletableFuture.completedFuture(send(cached.get(), ifNoneMatch, acceptEncoding));
+        }
+        CompletableFuture<Optional<PokemonDTO>> result;
+        try {
+            result = service.getPokemonAsync(identifier);
+        } catch (Exception ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        return result.<HttpResponse<?>>handle((dto, ex) -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof UpstreamUnavailableException) {
+                LOG.warn("[reqId={}] Upstream unavailable for pokemon '{}': {}", reqId, identifier, cause.getMessage());
+                return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            if (ex != null) {
+                LOG.error("[reqId={}] Unhandled error while fetching pokemon '{}'", reqId, identifier, ex);
+                return HttpResponse.serverError();
+            }
+            if (dto.isPresent()) {
+                LOG.info("[reqId={}] Returning pokemon '{}' to client", reqId, identifier);
+                return found(identifier, dto.get(), ifNoneMatch, acceptEncoding);
+            }
+            LOG.info("[reqId={}] Pokemon '{}' not found", reqId, identifier);
+            return HttpResponse.notFound();
+        });
+    }
+
+    @Post("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Tag(name = "Pokemon")
+    @Operation(summary = "Get several Pokemon at once", description = "Retrieve up to pokemon.batch.max-size Pokemon by identifier (id or name); each item reports found, not_found or error")
+    @ApiResponse(responseCode = "200", description = "Per-identifier results in request order", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = PokemonBatchItem.class))))
+    @ApiResponse(responseCode = "400", description = "Bad request - empty, oversized or blank identifiers")
+    public CompletableFuture<HttpResponse<?>> batch(@Body PokemonBatchRequest request) {
+        return CompletableFuture.supplyAsync(() -> resolveBatch(request), requestExecutor);
+    }
+
+    private HttpResponse<?> resolveBatch(PokemonBatchRequest request) {
+        List<String> identifiers = request == null ? null : request.identifiers();
+        if (identifiers == null || identifiers.isEmpty() || identifiers.size() > batchConfig.getMaxSize()) {
+            LOG.warn("Bad batch request: {} identifiers (max {})", identifiers == null ? 0 : identifiers.size(), batchConfig.getMaxSize());
+            return HttpResponse.badRequest();
+        }
+        for (String identifier : identifiers) {
+            if (identifier == null || identifier.isBlank()) {
+                LOG.warn("Bad batch request: blank identifier");
+                return HttpResponse.badRequest();
+            }
+        }
+        LOG.info("Received batch request for {} pokemon identifiers", identifiers.size());
+        try {
+            return HttpResponse.ok(service.getPokemons(identifiers));
+        } catch (Exception ex) {
+            LOG.error("Unhandled error while fetching batch of {} pokemons", identifiers.size(), ex);
+            return HttpResponse.serverError();
         }
     }
 }
@@ -0,0 +1,99 @@
+package com.valhala.mypokedex.application.controller;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Strong ETags derived from the DTO content only: maps are hashed in key order, so the same
+ * pokemon gets the same tag on every node and from every cache tier, whatever map
+ * implementation it was deserialized into.
+ */
+final class PokemonETag {
+
+    private PokemonETag() {
+    }
+
+    static String of(PokemonDTO dto) {
+        MessageDigest digest = sha256();
+        update(digest, String.valueOf(dto.id()));
+        update(digest, dto.identifier());
+        update(digest, dto.types());
+        update(digest, dto.baseStats());
+        update(digest, dto.sprites());
+        update(digest, dto.abilities());
+        update(digest, dto.sourceUrl());
+        // 128 bits is plenty to tell versions of one pokemon apart
+        return '"' + HexFormat.of().formatHex(digest.digest(), 0, 16) + '"';
+    }
+
+    /**
+     * Tag of the gzip-encoded representation: a strong ETag must differ between content codings.
+     */
+    static String gzipVariant(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * If-None-Match semantics (RFC 9110 13.1.2): {@code *} or any listed tag, compared weakly.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank())
+            return false;
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaque))
+                return true;
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // length prefix keeps field boundaries unambiguous
+        digest.update((byte) 1);
+        digest.update(new byte[] { (byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16),
+                (byte) (bytes.length >>> 8), (byte) bytes.length });
+        digest.update(bytes);
+    }
+
+    private static void update(MessageDigest digest, List<String> values) {
+        update(digest, values == null ? null : String.valueOf(values.size()));
+        if (values != null) {
+            values.forEach(v -> update(digest, v));
+        }
+    }
+
+    private static void update(MessageDigest digest, Map<String, ?> values) {
+        update(digest, values == null ? null : String.valueOf(values.size()));
+        if (values != null) {
+            new TreeMap<>(values).forEach((k, v) -> {
+                update(digest, k);
+                update(digest, v == null ? null : String.valueOf(v));
+            });
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.valhala.mypokedex.application.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.valhala.mypokedex.config.PokemonHttpCacheConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCacheListener;
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonAliasIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Final response bytes per pokemon: the serialized JSON, its gzip variant and the ETag, all
+ * computed once when the pokemon enters this cache. Hits are written out as-is, with no Jackson or
+ * compression work. Entries are keyed like the pokemon cache, by canonical key, and are dropped
+ * whenever the pokemon cache replaces or drops that key (puts, refreshes, invalidations, remote
+ * invalidations in the tiered cache, snapshot imports). The short TTL only covers what those
+ * notifications can miss.
+ */
+@Singleton
+public class PokemonResponseCache implements PokemonCacheListener {
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonResponseCache.class);
+
+    public record Encoded(String etag, byte[] json, byte[] gzip) {
+    }
+
+    private final JsonMapper jsonMapper;
+    private final PokemonAliasIndex aliases;
+    private final boolean enabled;
+    private final int gzipMinBytes;
+    private final Cache<String, Encoded> cache;
+
+    public PokemonResponseCache(JsonMapper jsonMapper, PokemonAliasIndex aliases, PokemonHttpCacheConfiguration config,
+            MeterRegistry meters) {
+        this.jsonMapper = jsonMapper;
+        this.aliases = aliases;
+        this.enabled = config.isResponseCacheEnabled();
+        this.gzipMinBytes = config.getGzipMinBytes();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(config.getResponseCacheTtlSeconds()))
+                .maximumSize(config.getResponseCacheMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "pokemon-responses");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Probed on the request thread, so only names the alias index already holds in memory can hit;
+     * any other name misses here and is resolved by the use case on its executor.
+     */
+    public Optional<Encoded> get(String identifier) {
+        if (!enabled)
+            return Optional.empty();
+        return aliases.knownKey(identifier).map(cache::getIfPresent);
+    }
+
+    public Encoded put(String identifier, PokemonDTO dto) {
+        Encoded encoded = encode(dto);
+        if (enabled) {
+            cache.put(PokemonAliasIndex.keyOf(dto, aliases.canonicalKey(identifier)), encoded);
+        }
+        return encoded;
+    }
+
+    @Override
+    public void invalidated(String key) {
+        cache.invalidate(key);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    Encoded encode(PokemonDTO dto) {
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(dto);
+            // small bodies don't shrink enough to be worth the client's inflate
+            byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+            LOG.debug("Encoded pokemon '{}': json={}B gzip={}B", dto.identifier(), json.length,
+                    gzip == null ? "-" : gzip.length);
+            return new Encoded(PokemonETag.of(dto), json, gzip);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * True if the Accept-Encoding header lists gzip with a non-zero q-value.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("*"))
+                continue;
+            boolean refused = false;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().replace(" ", "");
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) == 0.0;
+                    } catch (NumberFormatException ignored) {
+                        // malformed q-value: treat as acceptable
+                    }
+                }
+            }
+            if (!refused)
+                return true;
+        }
+        return false;
+    }
+}
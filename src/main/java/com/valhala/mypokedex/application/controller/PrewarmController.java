@@ -0,0 +1,54 @@
+package com.valhala.mypokedex.application.controller;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PrewarmStatus;
+import com.valhala.mypokedex.domain.pokemon.usecase.PrewarmPokemonUseCase;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// the service has no authentication: the admin endpoint only exists where it is switched on explicitly
+@Controller("/api/admin/prewarm")
+@Requires(property = "pokemon.prewarm.endpoint-enabled", value = "true")
+public class PrewarmController {
+    private static final Logger LOG = LoggerFactory.getLogger(PrewarmController.class);
+    private final PrewarmPokemonUseCase prewarm;
+
+    public PrewarmController(PrewarmPokemonUseCase prewarm) {
+        this.prewarm = prewarm;
+    }
+
+    @Post
+    @Produces(MediaType.APPLICATION_JSON)
+    @Tag(name = "Admin")
+    @Operation(summary = "Start the pre-warm job", description = "Loads the configured PokeAPI id range into the database and cache, resuming from the last checkpoint")
+    @ApiResponse(responseCode = "202", description = "Job started", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PrewarmStatus.class)))
+    @ApiResponse(responseCode = "409", description = "A run is already in progress")
+    public HttpResponse<PrewarmStatus> start() {
+        if (!prewarm.start()) {
+            return HttpResponse.<PrewarmStatus>status(HttpStatus.CONFLICT).body(prewarm.status());
+        }
+        LOG.info("Pre-warm started on demand");
+        return HttpResponse.accepted().body(prewarm.status());
+    }
+
+    @Get
+    @Produces(MediaType.APPLICATION_JSON)
+    @Tag(name = "Admin")
+    @Operation(summary = "Pre-warm job progress", description = "Checkpoint, counters and throughput of the current or last run")
+    @ApiResponse(responseCode = "200", description = "Job status", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PrewarmStatus.class)))
+    public HttpResponse<PrewarmStatus> status() {
+        return HttpResponse.ok(prewarm.status());
+    }
+}
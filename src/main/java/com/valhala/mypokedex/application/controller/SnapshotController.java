@@ -0,0 +1,58 @@
+package com.valhala.mypokedex.application.controller;
+
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonSnapshotUseCase;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.server.types.files.StreamedFile;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// an export scans the whole repository and spools it to disk, and the service has no
+// authentication: like the import, the endpoint only exists where it is switched on explicitly.
+@Controller("/api/admin/snapshot")
+@Requires(property = "pokemon.snapshot.export-endpoint-enabled", value = "true")
+public class SnapshotController {
+    private final PokemonSnapshotUseCase snapshots;
+
+    public SnapshotController(PokemonSnapshotUseCase snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Get
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    @Tag(name = "Admin")
+    @Operation(summary = "Export a dataset snapshot", description = "Streams every stored pokemon, projected, as a compact checksummed binary snapshot")
+    @ApiResponse(responseCode = "200", description = "Snapshot file", content = @Content(mediaType = "application/octet-stream"))
+    public HttpResponse<StreamedFile> export() throws IOException {
+        String filename = "pokemons-" + Instant.now().truncatedTo(ChronoUnit.SECONDS).toString().replace(":", "") + ".pksnap";
+        // spooled to a temporary file first: the repository scan runs at disk speed instead of the
+        // client's, and the file is deleted once the response stream is closed
+        Path file = Files.createTempFile("pokemons-", ".pksnap");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            snapshots.export(out);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        long length = Files.size(file);
+        InputStream in = Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+        return HttpResponse.ok(new StreamedFile(in, MediaType.APPLICATION_OCTET_STREAM_TYPE,
+                Instant.now().toEpochMilli(), length).attach(filename));
+    }
+}
@@ -0,0 +1,52 @@
+package com.valhala.mypokedex.application.controller;
+
+import com.valhala.mypokedex.domain.pokemon.dto.SnapshotImportResult;
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonSnapshotUseCase;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// an import overwrites rows and cache entries with whatever the file says, and the service has no
+// authentication: the endpoint only exists where it is switched on explicitly. Startup imports
+// (pokemon.snapshot.import-path) do not need it.
+@Controller("/api/admin/snapshot")
+@Requires(property = "pokemon.snapshot.import-endpoint-enabled", value = "true")
+public class SnapshotImportController {
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotImportController.class);
+    private final PokemonSnapshotUseCase snapshots;
+
+    public SnapshotImportController(PokemonSnapshotUseCase snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Post
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Tag(name = "Admin")
+    @Operation(summary = "Import a dataset snapshot", description = "Loads a snapshot into the repository and cache; rows updated after the snapshot are kept")
+    @ApiResponse(responseCode = "200", description = "Import summary", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SnapshotImportResult.class)))
+    @ApiResponse(responseCode = "400", description = "Not a snapshot, or a corrupt or truncated one; blocks before the damage were imported")
+    public HttpResponse<SnapshotImportResult> importSnapshot(@Body InputStream body) {
+        try {
+            return HttpResponse.ok(snapshots.importFrom(body));
+        } catch (IOException ex) {
+            LOG.warn("Rejected snapshot import: {}", ex.getMessage());
+            return HttpResponse.badRequest();
+        }
+    }
+}
@@ -10,12 +10,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
 
 @Singleton
 @Requires(beans = DataSource.class)
+@Requires(property = "repository.strategy", value = "jdbc", defaultValue = "jdbc")
 public class FlywayMigrationRunner implements ApplicationEventListener<StartupEvent> {
 
     private static final Logger LOG = LoggerFactory.getLogger(FlywayMigrationRunner.class);
+    private static final List<String> MIGRATIONS = List.of(
+            "V1__create_pokemon_table.sql",
+            "V2__add_pokemon_projection_columns.sql",
+            "V3__create_prewarm_checkpoints.sql",
+            "V4__create_pokemon_aliases.sql",
+            "V5__add_pokemon_validators.sql",
+            "V6__compress_pokemon_payload.sql",
+            "V7__unique_pokemon_pokeapi_id.sql");
+    // "already exists" errors for tables, columns, indexes and constraints
+    private static final Set<Integer> ALREADY_APPLIED = Set.of(
+            1050, 1060, 1061, 1826, // MySQL
+            42101, 42111, 42121, 90045); // H2
 
     private final DataSource dataSource;
 
@@ -30,6 +46,9 @@ public class FlywayMigrationRunner implements ApplicationEventListener<StartupEv
             Flyway flyway = Flyway.configure()
                     .dataSource(dataSource)
                     .locations("classpath:db/migration")
+                    // databases created by the manual fallback already hold the V1 schema
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
                     .load();
 
             LOG.info("Running Flyway migrations on StartupEvent...");
@@ -47,18 +66,34 @@ public class FlywayMigrationRunner implements ApplicationEventListener<StartupEv
     }
 
     private void runManualMigrations() throws Exception {
-        // Simple fallback: execute the V1 SQL migration file if present
-        String resourcePath = "/db/migration/V1__create_pokemon_table.sql";
-        try (var in = FlywayMigrationRunner.class.getResourceAsStream(resourcePath)) {
-            if (in == null) {
-                LOG.warn("Fallback migration file {} not found on classpath", resourcePath);
-                return;
-            }
+        // Simple fallback: execute the bundled SQL migration files in order. Statements that were
+        // already applied on a previous start (e.g. ADD COLUMN) fail and are skipped; any other
+        // error stops the migration.
+        for (String file : MIGRATIONS) {
+            String resourcePath = "/db/migration/" + file;
+            try (var in = FlywayMigrationRunner.class.getResourceAsStream(resourcePath)) {
+                if (in == null) {
+                    LOG.warn("Fallback migration file {} not found on classpath", resourcePath);
+                    continue;
+                }
 
-            String sql = new String(in.readAllBytes());
-            try (var conn = dataSource.getConnection(); var stmt = conn.createStatement()) {
-                LOG.info("Executing fallback migration SQL from {}", resourcePath);
-                stmt.execute(sql);
+                String sql = new String(in.readAllBytes());
+                try (var conn = dataSource.getConnection(); var stmt = conn.createStatement()) {
+                    LOG.info("Executing fallback migration SQL from {}", resourcePath);
+                    for (String statement : sql.split(";")) {
+                        if (statement.isBlank()) {
+                            continue;
+                        }
+                        try {
+                            stmt.execute(statement);
+                        } catch (SQLException ex) {
+                            if (!ALREADY_APPLIED.contains(ex.getErrorCode())) {
+                                throw ex;
+                            }
+                            LOG.warn("Skipping fallback statement from {}: {}", resourcePath, ex.getMessage());
+                        }
+                    }
+                }
             }
         }
     }
@@ -0,0 +1,45 @@
+package com.valhala.mypokedex.application.job;
+
+import com.valhala.mypokedex.config.PrewarmConfiguration;
+import com.valhala.mypokedex.domain.pokemon.usecase.PrewarmPokemonUseCase;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.event.ApplicationStartupEvent;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts the pre-warm job after startup (migrations run on the earlier StartupEvent) and on the
+ * configured cron schedule, when enabled.
+ */
+@Singleton
+@Requires(notEnv = "test")
+public class PrewarmScheduler implements ApplicationEventListener<ApplicationStartupEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PrewarmScheduler.class);
+    private final PrewarmPokemonUseCase prewarm;
+    private final PrewarmConfiguration config;
+
+    public PrewarmScheduler(PrewarmPokemonUseCase prewarm, PrewarmConfiguration config) {
+        this.prewarm = prewarm;
+        this.config = config;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartupEvent event) {
+        if (config.isOnStartup()) {
+            LOG.info("Starting pre-warm on startup");
+            prewarm.start();
+        }
+    }
+
+    @Scheduled(cron = "${pokemon.prewarm.cron:0 0 4 * * ?}")
+    void scheduled() {
+        if (config.isScheduleEnabled()) {
+            LOG.info("Starting scheduled pre-warm");
+            prewarm.start();
+        }
+    }
+}
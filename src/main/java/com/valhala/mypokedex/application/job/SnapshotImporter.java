@@ -0,0 +1,48 @@
+package com.valhala.mypokedex.application.job;
+
+import com.valhala.mypokedex.config.PokemonSnapshotConfiguration;
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonSnapshotUseCase;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.runtime.event.ApplicationStartupEvent;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Loads the configured snapshot file after startup (migrations run on the earlier StartupEvent),
+ * before the node answers from a cold cache. A missing or broken snapshot is logged and the node
+ * starts without it.
+ */
+@Singleton
+@Requires(notEnv = "test")
+@Requires(property = "pokemon.snapshot.import-path", pattern = ".+")
+public class SnapshotImporter implements ApplicationEventListener<ApplicationStartupEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotImporter.class);
+    private final PokemonSnapshotUseCase snapshots;
+    private final Path path;
+
+    public SnapshotImporter(PokemonSnapshotUseCase snapshots, PokemonSnapshotConfiguration config) {
+        this.snapshots = snapshots;
+        this.path = Path.of(config.getImportPath());
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartupEvent event) {
+        LOG.info("Importing pokemon snapshot {}", path);
+        try (InputStream in = Files.newInputStream(path)) {
+            snapshots.importFrom(in);
+        } catch (NoSuchFileException ex) {
+            LOG.warn("Pokemon snapshot {} not found, starting without it", path);
+        } catch (IOException | RuntimeException ex) {
+            LOG.error("Pokemon snapshot import from {} failed", path, ex);
+        }
+    }
+}
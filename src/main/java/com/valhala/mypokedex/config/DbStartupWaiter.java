@@ -13,6 +13,7 @@ import java.sql.Connection;
 @Singleton
 @Requires(notEnv = "test")
 @Requires(property = "wait.for.db.enabled", notEquals = "false")
+@Requires(property = "repository.strategy", value = "jdbc", defaultValue = "jdbc")
 public class DbStartupWaiter implements ApplicationEventListener<ApplicationStartupEvent> {
 
     private static final Logger LOG = LoggerFactory.getLogger(DbStartupWaiter.class);
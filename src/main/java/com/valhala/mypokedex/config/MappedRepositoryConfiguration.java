@@ -0,0 +1,52 @@
+package com.valhala.mypokedex.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("repository.mmap")
+public class MappedRepositoryConfiguration {
+    private String path = "data/pokemons.log";
+    private long initialSizeBytes = 16L * 1024 * 1024; // the mapping doubles when an append does not fit
+    private boolean syncOnWrite = true; // force each append to disk before the save returns
+    private long compactionMinDeadBytes = 4L * 1024 * 1024;
+    private int compactionMinDeadPercent = 50; // of the log taken up by superseded records
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public long getInitialSizeBytes() {
+        return initialSizeBytes;
+    }
+
+    public void setInitialSizeBytes(long initialSizeBytes) {
+        this.initialSizeBytes = initialSizeBytes;
+    }
+
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    public long getCompactionMinDeadBytes() {
+        return compactionMinDeadBytes;
+    }
+
+    public void setCompactionMinDeadBytes(long compactionMinDeadBytes) {
+        this.compactionMinDeadBytes = compactionMinDeadBytes;
+    }
+
+    public int getCompactionMinDeadPercent() {
+        return compactionMinDeadPercent;
+    }
+
+    public void setCompactionMinDeadPercent(int compactionMinDeadPercent) {
+        this.compactionMinDeadPercent = compactionMinDeadPercent;
+    }
+}
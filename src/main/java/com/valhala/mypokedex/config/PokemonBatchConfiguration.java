@@ -0,0 +1,28 @@
+package com.valhala.mypokedex.config;
+
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonBatchSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("pokemon.batch")
+public class PokemonBatchConfiguration implements PokemonBatchSettings {
+    private int maxSize = 50;
+    private int upstreamParallelism = 8;
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int getUpstreamParallelism() {
+        return upstreamParallelism;
+    }
+
+    public void setUpstreamParallelism(int upstreamParallelism) {
+        this.upstreamParallelism = upstreamParallelism;
+    }
+}
@@ -0,0 +1,68 @@
+package com.valhala.mypokedex.config;
+
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonExecutors;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.TaskExecutors;
+import io.opentelemetry.context.Context;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors for the pokemon read path, switched by {@code pokemon.execution.virtual-threads}.
+ * <ul>
+ * <li>{@link PokemonExecutors#REQUEST}: runs controller requests. Inline on the Jetty worker by
+ * default; with virtual threads each request gets its own virtual thread and the worker is
+ * released.</li>
+ * <li>{@link PokemonExecutors#BLOCKING}: fan-out and async pipeline work in the use case. The
+ * shared IO pool by default, a virtual-thread-per-task executor otherwise.</li>
+ * </ul>
+ * Tasks handed to either executor run in the trace context of the code that submitted them, so
+ * repository and upstream spans stay children of the request span.
+ */
+@Factory
+public class PokemonExecutorFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonExecutorFactory.class);
+
+    private static final String VIRTUAL_THREADS = "pokemon.execution.virtual-threads";
+
+    @Singleton
+    @Named(PokemonExecutors.REQUEST)
+    @Requires(property = VIRTUAL_THREADS, notEquals = "true")
+    Executor inlineRequestExecutor() {
+        return Runnable::run;
+    }
+
+    @Singleton
+    @Named(PokemonExecutors.BLOCKING)
+    @Requires(property = VIRTUAL_THREADS, notEquals = "true")
+    ExecutorService platformBlockingExecutor(@Named(TaskExecutors.IO) ExecutorService io) {
+        return Context.taskWrapping(io);
+    }
+
+    @Singleton
+    @Named(PokemonExecutors.REQUEST)
+    @Requires(property = VIRTUAL_THREADS, value = "true")
+    @Bean(preDestroy = "shutdown")
+    ExecutorService virtualRequestExecutor() {
+        LOG.info("Serving pokemon requests on virtual threads");
+        return Context.taskWrapping(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pokemon-request-", 0).factory()));
+    }
+
+    @Singleton
+    @Named(PokemonExecutors.BLOCKING)
+    @Requires(property = VIRTUAL_THREADS, value = "true")
+    @Bean(preDestroy = "shutdown")
+    ExecutorService virtualBlockingExecutor() {
+        return Context.taskWrapping(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pokemon-blocking-", 0).factory()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.valhala.mypokedex.config;
+
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonFreshnessSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * Soft TTL: past it a stored or cached pokemon is still served, but one background refresh
+ * is started. Hard TTL: past it a stored row is refetched before being served. Tombstone TTL:
+ * how long an upstream 404 is remembered in the cache before upstream is asked again.
+ */
+@ConfigurationProperties("pokemon.freshness")
+public class PokemonFreshnessConfiguration implements PokemonFreshnessSettings {
+    private long softTtlSeconds = 24L * 3600L; // 1 day
+    private long hardTtlSeconds = 30L * 24L * 3600L; // 30 days
+    private long tombstoneTtlSeconds = 300L; // 5 minutes
+
+    @Override
+    public long getSoftTtlSeconds() {
+        return softTtlSeconds;
+    }
+
+    public void setSoftTtlSeconds(long softTtlSeconds) {
+        this.softTtlSeconds = softTtlSeconds;
+    }
+
+    @Override
+    public long getHardTtlSeconds() {
+        return hardTtlSeconds;
+    }
+
+    public void setHardTtlSeconds(long hardTtlSeconds) {
+        this.hardTtlSeconds = hardTtlSeconds;
+    }
+
+    @Override
+    public long getTombstoneTtlSeconds() {
+        return tombstoneTtlSeconds;
+    }
+
+    public void setTombstoneTtlSeconds(long tombstoneTtlSeconds) {
+        this.tombstoneTtlSeconds = tombstoneTtlSeconds;
+    }
+}
@@ -0,0 +1,70 @@
+package com.valhala.mypokedex.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("pokemon.http-cache")
+public class PokemonHttpCacheConfiguration {
+    private long maxAgeSeconds = 3_600;
+    private long sharedMaxAgeSeconds = 86_400; // s-maxage, for CDNs; negative to omit
+    private long staleWhileRevalidateSeconds = 86_400; // negative to omit
+    private boolean responseCacheEnabled = true;
+    private long responseCacheMaxSize = 5_000;
+    private long responseCacheTtlSeconds = 60;
+    private int gzipMinBytes = 512;
+
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    public void setMaxAgeSeconds(long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public long getSharedMaxAgeSeconds() {
+        return sharedMaxAgeSeconds;
+    }
+
+    public void setSharedMaxAgeSeconds(long sharedMaxAgeSeconds) {
+        this.sharedMaxAgeSeconds = sharedMaxAgeSeconds;
+    }
+
+    public long getStaleWhileRevalidateSeconds() {
+        return staleWhileRevalidateSeconds;
+    }
+
+    public void setStaleWhileRevalidateSeconds(long staleWhileRevalidateSeconds) {
+        this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+    }
+
+    public boolean isResponseCacheEnabled() {
+        return responseCacheEnabled;
+    }
+
+    public void setResponseCacheEnabled(boolean responseCacheEnabled) {
+        this.responseCacheEnabled = responseCacheEnabled;
+    }
+
+    public long getResponseCacheMaxSize() {
+        return responseCacheMaxSize;
+    }
+
+    public void setResponseCacheMaxSize(long responseCacheMaxSize) {
+        this.responseCacheMaxSize = responseCacheMaxSize;
+    }
+
+    public long getResponseCacheTtlSeconds() {
+        return responseCacheTtlSeconds;
+    }
+
+    public void setResponseCacheTtlSeconds(long responseCacheTtlSeconds) {
+        this.responseCacheTtlSeconds = responseCacheTtlSeconds;
+    }
+
+    public int getGzipMinBytes() {
+        return gzipMinBytes;
+    }
+
+    public void setGzipMinBytes(int gzipMinBytes) {
+        this.gzipMinBytes = gzipMinBytes;
+    }
+}
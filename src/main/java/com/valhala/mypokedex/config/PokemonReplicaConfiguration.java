@@ -0,0 +1,25 @@
+package com.valhala.mypokedex.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("pokemon.replica")
+public class PokemonReplicaConfiguration {
+    private int healthCheckTimeoutSeconds = 2;
+    private long readYourWritesMs = 2_000; // reads of a just-written identifier go to the primary; 0 to disable
+
+    public int getHealthCheckTimeoutSeconds() {
+        return healthCheckTimeoutSeconds;
+    }
+
+    public void setHealthCheckTimeoutSeconds(int healthCheckTimeoutSeconds) {
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+    }
+
+    public long getReadYourWritesMs() {
+        return readYourWritesMs;
+    }
+
+    public void setReadYourWritesMs(long readYourWritesMs) {
+        this.readYourWritesMs = readYourWritesMs;
+    }
+}
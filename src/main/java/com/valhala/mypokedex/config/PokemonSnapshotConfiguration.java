@@ -0,0 +1,27 @@
+package com.valhala.mypokedex.config;
+
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonSnapshotSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("pokemon.snapshot")
+public class PokemonSnapshotConfiguration implements PokemonSnapshotSettings {
+    private String importPath; // loaded on startup when set
+    private int blockSize = 500; // entries per checksummed block, and per repository batch on import
+
+    public String getImportPath() {
+        return importPath;
+    }
+
+    public void setImportPath(String importPath) {
+        this.importPath = importPath;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+}
@@ -0,0 +1,32 @@
+package com.valhala.mypokedex.config;
+
+import io.micronaut.context.annotation.Factory;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+/**
+ * Tracer for the spans the application creates itself (cache, repository, PokeAPI attempts), and
+ * the propagator that puts their context on outgoing calls. Server spans and the exporter come
+ * from micronaut-tracing, configured under {@code otel.*}.
+ */
+@Factory
+public class PokemonTracingFactory {
+
+    public static final String TRACER = "pokemon";
+    public static final String INSTRUMENTATION_SCOPE = "com.valhala.mypokedex";
+
+    @Singleton
+    @Named(TRACER)
+    Tracer pokemonTracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_SCOPE);
+    }
+
+    @Singleton
+    @Named(TRACER)
+    TextMapPropagator pokemonPropagator(OpenTelemetry openTelemetry) {
+        return openTelemetry.getPropagators().getTextMapPropagator();
+    }
+}
@@ -0,0 +1,76 @@
+package com.valhala.mypokedex.config;
+
+import com.valhala.mypokedex.domain.pokemon.settings.PrewarmSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("pokemon.prewarm")
+public class PrewarmConfiguration implements PrewarmSettings {
+    private boolean onStartup = false;
+    private boolean scheduleEnabled = false;
+    private int firstId = 1;
+    private int lastId = 1025;
+    private int concurrency = 4;
+    private double ratePerSecond = 10.0;
+    private int batchSize = 50;
+
+    public boolean isOnStartup() {
+        return onStartup;
+    }
+
+    public void setOnStartup(boolean onStartup) {
+        this.onStartup = onStartup;
+    }
+
+    public boolean isScheduleEnabled() {
+        return scheduleEnabled;
+    }
+
+    public void setScheduleEnabled(boolean scheduleEnabled) {
+        this.scheduleEnabled = scheduleEnabled;
+    }
+
+    @Override
+    public int getFirstId() {
+        return firstId;
+    }
+
+    public void setFirstId(int firstId) {
+        this.firstId = firstId;
+    }
+
+    @Override
+    public int getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(int lastId) {
+        this.lastId = lastId;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
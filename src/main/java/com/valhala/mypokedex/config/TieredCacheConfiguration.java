@@ -0,0 +1,34 @@
+package com.valhala.mypokedex.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("cache.tiered")
+public class TieredCacheConfiguration {
+    private long l1MaxSize = 2_000;
+    private int l1TtlSeconds = 300;
+    private String invalidationChannel = "pokemon-cache-invalidation";
+
+    public long getL1MaxSize() {
+        return l1MaxSize;
+    }
+
+    public void setL1MaxSize(long l1MaxSize) {
+        this.l1MaxSize = l1MaxSize;
+    }
+
+    public int getL1TtlSeconds() {
+        return l1TtlSeconds;
+    }
+
+    public void setL1TtlSeconds(int l1TtlSeconds) {
+        this.l1TtlSeconds = l1TtlSeconds;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+}
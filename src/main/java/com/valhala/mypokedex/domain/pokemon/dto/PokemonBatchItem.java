@@ -0,0 +1,25 @@
+package com.valhala.mypokedex.domain.pokemon.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PokemonBatchItem(
+        String identifier,
+        String status,
+        PokemonDTO pokemon) {
+    public static final String FOUND = "found";
+    public static final String NOT_FOUND = "not_found";
+    public static final String ERROR = "error";
+
+    public static PokemonBatchItem found(String identifier, PokemonDTO pokemon) {
+        return new PokemonBatchItem(identifier, FOUND, pokemon);
+    }
+
+    public static PokemonBatchItem notFound(String identifier) {
+        return new PokemonBatchItem(identifier, NOT_FOUND, null);
+    }
+
+    public static PokemonBatchItem error(String identifier) {
+        return new PokemonBatchItem(identifier, ERROR, null);
+    }
+}
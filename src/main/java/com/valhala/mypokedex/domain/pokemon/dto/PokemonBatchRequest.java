@@ -0,0 +1,6 @@
+package com.valhala.mypokedex.domain.pokemon.dto;
+
+import java.util.List;
+
+public record PokemonBatchRequest(List<String> identifiers) {
+}
@@ -0,0 +1,18 @@
+package com.valhala.mypokedex.domain.pokemon.dto;
+
+import java.time.Instant;
+
+public record PrewarmStatus(
+        boolean running,
+        Instant startedAt,
+        Instant finishedAt,
+        int firstId,
+        int lastId,
+        int checkpoint,
+        int processed,
+        int stored,
+        int unchanged,
+        int notFound,
+        int failed,
+        double idsPerSecond) {
+}
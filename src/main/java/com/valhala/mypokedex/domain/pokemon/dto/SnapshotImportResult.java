@@ -0,0 +1,11 @@
+package com.valhala.mypokedex.domain.pokemon.dto;
+
+import java.time.Instant;
+
+public record SnapshotImportResult(
+        Instant snapshotCreatedAt,
+        long entries,
+        long stored,
+        long keptNewer, // stored rows updated after the snapshot was taken, left as they were
+        long elapsedMs) {
+}
@@ -0,0 +1,167 @@
+package com.valhala.mypokedex.domain.pokemon.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projects a PokeAPI pokemon payload into a {@link PokemonDTO} with a single streaming pass.
+ * Only id, name, types, stats, abilities and top-level sprite URLs are read; everything else
+ * (moves, game indices, nested sprite variants, ...) is skipped without being materialized.
+ * Names are read from {@code name} (PokeAPI) or {@code identifier}. The source URL is built from
+ * the parsed id, so a pokemon fetched as {@code pikachu} or {@code 025} gets the same DTO (and the
+ * same response ETag) as one fetched as {@code 25}.
+ */
+@Singleton
+public class PokemonPayloadParser {
+
+    // JsonFactory is thread-safe and meant to be shared
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final String SOURCE_URL_BASE = "https://pokeapi.co/api/v2/pokemon/";
+
+    /** PokeAPI URL of a pokemon; {@code key} is its canonical id whenever that is known. */
+    public static String sourceUrl(String key) {
+        return SOURCE_URL_BASE + key;
+    }
+
+    public PokemonDTO parse(byte[] payload, String identifier) throws IOException {
+        int id = 0;
+        String name = null;
+        List<String> types = new ArrayList<>();
+        Map<String, Integer> baseStats = new HashMap<>();
+        Map<String, String> sprites = new HashMap<>();
+        List<String> abilities = new ArrayList<>();
+
+        try (JsonParser p = FACTORY.createParser(payload)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "Expected a JSON object at the payload root");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    // unexpected objects or arrays under a scalar field are skipped whole, or their
+                    // own fields would be read as top-level ones
+                    case "id" -> {
+                        id = value == JsonToken.VALUE_NUMBER_INT ? p.getIntValue() : 0;
+                        p.skipChildren();
+                    }
+                    case "name", "identifier" -> {
+                        if (name == null && value == JsonToken.VALUE_STRING)
+                            name = p.getText();
+                        p.skipChildren();
+                    }
+                    case "types" -> readNamedRefs(p, "type", types);
+                    case "abilities" -> readNamedRefs(p, "ability", abilities);
+                    case "stats" -> readStats(p, baseStats);
+                    case "sprites" -> readSprites(p, sprites);
+                    default -> p.skipChildren();
+                }
+            }
+        }
+        return new PokemonDTO(id, name != null ? name : identifier, types, baseStats, sprites, abilities,
+                sourceUrl(id > 0 ? String.valueOf(id) : identifier));
+    }
+
+    // [{ "<wrapper>": { "name": "..." }, ... }] -> names
+    private void readNamedRefs(JsonParser p, String wrapper, List<String> out) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if (field.equals(wrapper)) {
+                    String refName = readRefName(p);
+                    if (refName != null)
+                        out.add(refName);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+    }
+
+    // [{ "base_stat": 45, "stat": { "name": "hp" } }, ...] -> {hp=45}
+    private void readStats(JsonParser p, Map<String, Integer> out) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            String statName = null;
+            int base = 0;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if (field.equals("stat")) {
+                    statName = readRefName(p);
+                } else if (field.equals("base_stat") && value == JsonToken.VALUE_NUMBER_INT) {
+                    base = p.getIntValue();
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (statName != null)
+                out.put(statName, base);
+        }
+    }
+
+    // top-level sprite URLs only; nested variants ("other", "versions") are skipped
+    private void readSprites(JsonParser p, Map<String, String> out) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String key = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_STRING) {
+                out.put(key, p.getText());
+            } else if (value == JsonToken.VALUE_NULL) {
+                out.put(key, null);
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    // { "name": "...", "url": "..." } -> name
+    private String readRefName(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        String refName = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ((field.equals("name") || field.equals("identifier")) && value == JsonToken.VALUE_STRING) {
+                if (refName == null)
+                    refName = p.getText();
+            } else {
+                p.skipChildren();
+            }
+        }
+        return refName;
+    }
+}
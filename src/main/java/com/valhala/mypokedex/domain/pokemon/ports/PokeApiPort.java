@@ -1,7 +1,37 @@
 package com.valhala.mypokedex.domain.pokemon.ports;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface PokeApiPort {
-    Optional<String> fetchPokemonRaw(String identifier);
+    /**
+     * Empty when upstream does not know the identifier (404). Throws
+     * {@link UpstreamUnavailableException} when upstream could not be reached.
+     */
+    Optional<byte[]> fetchPokemonRaw(String identifier);
+
+    /**
+     * Non-blocking variant of {@link #fetchPokemonRaw(String)}. Implementations without a
+     * native async path run the blocking call on {@code executor}, the caller's executor for
+     * blocking work. Transient failures complete the future with
+     * {@link UpstreamUnavailableException}.
+     */
+    default CompletableFuture<Optional<byte[]>> fetchPokemonRawAsync(String identifier, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> fetchPokemonRaw(identifier), executor);
+    }
+
+    /**
+     * Conditional fetch used to revalidate a stored copy: sends {@code If-None-Match} /
+     * {@code If-Modified-Since} for the given validators (null to skip) and reports
+     * {@link UpstreamResponse.Status#NOT_MODIFIED} on a 304, without a body. Implementations that
+     * cannot revalidate always fetch the full payload, on {@code executor} if they have no
+     * native async path.
+     */
+    default CompletableFuture<UpstreamResponse> revalidateAsync(String identifier, String etag, String lastModified,
+            Executor executor) {
+        return fetchPokemonRawAsync(identifier, executor).thenApply(raw -> raw
+                .map(body -> UpstreamResponse.ok(body, null, null))
+                .orElseGet(UpstreamResponse::notFound));
+    }
 }
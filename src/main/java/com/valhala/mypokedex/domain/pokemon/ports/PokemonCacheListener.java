@@ -0,0 +1,12 @@
+package com.valhala.mypokedex.domain.pokemon.ports;
+
+/**
+ * Told about every key whose cached pokemon was replaced or dropped: puts, invalidations and
+ * background refreshes on this node, and for shared caches the invalidations broadcast by other
+ * nodes. Caches derived from the pokemon cache use it to follow along under the same canonical
+ * keys.
+ */
+public interface PokemonCacheListener {
+
+    void invalidated(String key);
+}
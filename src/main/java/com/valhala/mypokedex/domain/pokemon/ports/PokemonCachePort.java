@@ -2,11 +2,21 @@ package com.valhala.mypokedex.domain.pokemon.ports;
 
 import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PokemonCachePort {
 
     Optional<PokemonDTO> get(String key);
+    Map<String, PokemonDTO> getAll(Collection<String> keys); // hits only
     void put(String key, PokemonDTO dto);
+    void invalidate(String key);
+
+    // tombstones remember an upstream 404 for a short TTL; they never hold or replace a real entry
+    boolean hasTombstone(String key);
+    Set<String> hasTombstones(Collection<String> keys); // the keys that have one, in a single lookup
+    void putTombstone(String key);
 
 }
@@ -0,0 +1,24 @@
+package com.valhala.mypokedex.domain.pokemon.ports;
+
+/**
+ * Outcome of a conditional upstream fetch. {@code body} is only set for {@link Status#OK};
+ * validators are whatever upstream sent (either may be null).
+ */
+public record UpstreamResponse(Status status, byte[] body, String etag, String lastModified) {
+
+    public enum Status {
+        OK, NOT_MODIFIED, NOT_FOUND
+    }
+
+    public static UpstreamResponse ok(byte[] body, String etag, String lastModified) {
+        return new UpstreamResponse(Status.OK, body, etag, lastModified);
+    }
+
+    public static UpstreamResponse notModified(String etag, String lastModified) {
+        return new UpstreamResponse(Status.NOT_MODIFIED, null, etag, lastModified);
+    }
+
+    public static UpstreamResponse notFound() {
+        return new UpstreamResponse(Status.NOT_FOUND, null, null, null);
+    }
+}
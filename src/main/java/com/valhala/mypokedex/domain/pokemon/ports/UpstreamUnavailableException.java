@@ -0,0 +1,17 @@
+package com.valhala.mypokedex.domain.pokemon.ports;
+
+/**
+ * Upstream could not answer (timeouts, 5xx after retries, interrupted calls). Unlike a 404, which
+ * is reported as an empty result, this says nothing about whether the pokemon exists, so it must
+ * never be cached.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.valhala.mypokedex.domain.pokemon.repository;
+
+import java.util.Map;
+import java.util.OptionalInt;
+
+public interface PokemonAliasRepository {
+
+    OptionalInt findPokeapiId(String alias);
+    void saveAll(Map<String, Integer> aliases); // alias -> pokeapi id
+}
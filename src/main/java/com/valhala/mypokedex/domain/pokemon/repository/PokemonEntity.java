@@ -1,13 +1,21 @@
 package com.valhala.mypokedex.domain.pokemon.repository;
 
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
 import java.time.Instant;
+import java.util.function.Supplier;
 
 public class PokemonEntity {
     private long id;
     private String identifier;
     private String payload; // raw JSON
+    private Supplier<String> payloadLoader; // decodes a stored payload on first use
+    private PokemonDTO projection; // pre-parsed fields, null for rows written before V2
     private Instant updatedAt;
     private Instant expiresAt;
+    // upstream validators (ETag / Last-Modified) for conditional revalidation, null if not sent
+    private String etag;
+    private String lastModified;
 
     public PokemonEntity() {
     }
@@ -29,11 +37,30 @@ public class PokemonEntity {
     }
 
     public String getPayload() {
+        if (payload == null && payloadLoader != null) {
+            payload = payloadLoader.get();
+            payloadLoader = null;
+        }
         return payload;
     }
 
     public void setPayload(String payload) {
         this.payload = payload;
+        this.payloadLoader = null;
+    }
+
+    /** Defers decoding of the stored payload until {@link #getPayload()} is first called. */
+    public void setPayload(Supplier<String> loader) {
+        this.payload = null;
+        this.payloadLoader = loader;
+    }
+
+    public PokemonDTO getProjection() {
+        return projection;
+    }
+
+    public void setProjection(PokemonDTO projection) {
+        this.projection = projection;
     }
 
     public Instant getUpdatedAt() {
@@ -51,4 +78,20 @@ public class PokemonEntity {
     public void setExpiresAt(Instant expiresAt) {
         this.expiresAt = expiresAt;
     }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
 }
@@ -1,9 +1,26 @@
 package com.valhala.mypokedex.domain.pokemon.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PokemonRepository {
 
     Optional<PokemonEntity> findByIdentifier(String identifier);
+    Map<String, PokemonEntity> findAllByIdentifiers(Collection<String> identifiers); // keyed by requested identifier
     void save(PokemonEntity entity);
+
+    // unlike save, a batch that could not be stored throws: callers checkpoint on the strength of it
+    default void saveAll(Collection<PokemonEntity> entities) {
+        entities.forEach(this::save);
+    }
+
+    // upstream confirmed the stored payloads are current: the timestamps move and the rows' ETag and
+    // Last-Modified replace the stored ones; the payloads and projections are left as they are
+    void touch(Collection<PokemonEntity> confirmed, Instant updatedAt, Instant expiresAt);
+
+    // every stored row, streamed: the whole table is never held in memory
+    void forEach(Consumer<PokemonEntity> action);
 }
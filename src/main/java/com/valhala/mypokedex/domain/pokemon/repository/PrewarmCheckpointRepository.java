@@ -0,0 +1,10 @@
+package com.valhala.mypokedex.domain.pokemon.repository;
+
+import java.util.OptionalInt;
+
+public interface PrewarmCheckpointRepository {
+
+    OptionalInt findLastId(String job);
+    void saveLastId(String job, int lastId);
+    void clear(String job);
+}
@@ -0,0 +1,10 @@
+package com.valhala.mypokedex.domain.pokemon.settings;
+
+/**
+ * Limits of batch lookups; see {@code pokemon.batch}.
+ */
+public interface PokemonBatchSettings {
+
+    int getMaxSize(); // identifiers per request
+    int getUpstreamParallelism(); // upstream fetches in flight for one batch
+}
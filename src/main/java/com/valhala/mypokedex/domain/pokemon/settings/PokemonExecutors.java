@@ -0,0 +1,14 @@
+package com.valhala.mypokedex.domain.pokemon.settings;
+
+/**
+ * Names of the executors the use cases and adapters run on. The beans themselves are provided
+ * outside the domain, which only refers to them by name.
+ */
+public final class PokemonExecutors {
+
+    public static final String REQUEST = "pokemon-request"; // controller requests
+    public static final String BLOCKING = "pokemon-blocking"; // fan-out and async pipeline work
+
+    private PokemonExecutors() {
+    }
+}
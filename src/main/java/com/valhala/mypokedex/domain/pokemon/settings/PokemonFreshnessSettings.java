@@ -0,0 +1,11 @@
+package com.valhala.mypokedex.domain.pokemon.settings;
+
+/**
+ * How long stored and cached pokemons are trusted; see {@code pokemon.freshness}.
+ */
+public interface PokemonFreshnessSettings {
+
+    long getSoftTtlSeconds(); // past it the row is served and refreshed in the background
+    long getHardTtlSeconds(); // past it the row is refetched before being served
+    long getTombstoneTtlSeconds(); // how long an upstream 404 is remembered
+}
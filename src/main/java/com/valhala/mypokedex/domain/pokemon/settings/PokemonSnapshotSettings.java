@@ -0,0 +1,9 @@
+package com.valhala.mypokedex.domain.pokemon.settings;
+
+/**
+ * Layout of dataset snapshots; see {@code pokemon.snapshot}.
+ */
+public interface PokemonSnapshotSettings {
+
+    int getBlockSize(); // entries per checksummed block, and per repository batch on import
+}
@@ -0,0 +1,13 @@
+package com.valhala.mypokedex.domain.pokemon.settings;
+
+/**
+ * Id range, pace and chunking of a pre-warm run; see {@code pokemon.prewarm}.
+ */
+public interface PrewarmSettings {
+
+    int getFirstId();
+    int getLastId();
+    int getConcurrency(); // upstream fetches in flight
+    double getRatePerSecond(); // upstream requests started per second
+    int getBatchSize(); // ids fetched, stored and checkpointed together
+}
@@ -0,0 +1,18 @@
+package com.valhala.mypokedex.domain.pokemon.snapshot;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
+import java.time.Instant;
+
+/**
+ * One stored pokemon in a snapshot: its repository key, the projected DTO and the row's freshness
+ * timestamps and upstream validators. Timestamps and validators may be null.
+ */
+public record PokemonSnapshotEntry(
+        String identifier,
+        PokemonDTO pokemon,
+        Instant updatedAt,
+        Instant expiresAt,
+        String etag,
+        String lastModified) {
+}
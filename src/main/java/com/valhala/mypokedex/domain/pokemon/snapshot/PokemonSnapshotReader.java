@@ -0,0 +1,137 @@
+package com.valhala.mypokedex.domain.pokemon.snapshot;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a snapshot written by {@link PokemonSnapshotWriter} one checked block at a time. A block
+ * whose checksum does not match, a truncated stream or a trailer that disagrees with the number of
+ * entries read fails with an {@link IOException}; blocks returned before that were intact.
+ */
+public final class PokemonSnapshotReader {
+
+    private static final int MAX_BLOCK_BYTES = 64 * 1024 * 1024;
+
+    private final DataInputStream in;
+    private final Instant createdAt;
+    private long count;
+    private int blocks;
+    private boolean done;
+
+    public PokemonSnapshotReader(InputStream source) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(source, 64 * 1024), 64 * 1024));
+        if (in.readInt() != PokemonSnapshotWriter.MAGIC)
+            throw new IOException("Not a pokemon snapshot");
+        int format = in.readInt();
+        if (format != PokemonSnapshotWriter.FORMAT)
+            throw new IOException("Unsupported pokemon snapshot format " + format);
+        this.createdAt = Instant.ofEpochMilli(in.readLong());
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Entries of the next block, or null once the trailer has been read and checked.
+     */
+    public List<PokemonSnapshotEntry> nextBlock() throws IOException {
+        if (done)
+            return null;
+        int entries = in.readInt();
+        if (entries == 0) {
+            long expected = in.readLong();
+            if (expected != count)
+                throw new IOException("Pokemon snapshot has " + count + " entries, its trailer says " + expected);
+            done = true;
+            return null;
+        }
+        int length = in.readInt();
+        if (entries < 0 || length < 0 || length > MAX_BLOCK_BYTES)
+            throw new IOException("Pokemon snapshot block " + (blocks + 1) + " has an invalid header");
+        int expectedCrc = in.readInt();
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != expectedCrc)
+            throw new IOException("Pokemon snapshot block " + (blocks + 1) + " is corrupt (checksum mismatch)");
+        DataInputStream block = new DataInputStream(new ByteArrayInputStream(bytes));
+        List<PokemonSnapshotEntry> read = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            read.add(readEntry(block));
+        }
+        blocks++;
+        count += entries;
+        return read;
+    }
+
+    private static PokemonSnapshotEntry readEntry(DataInputStream in) throws IOException {
+        String identifier = readString(in);
+        Instant updatedAt = readInstant(in);
+        Instant expiresAt = readInstant(in);
+        String etag = readString(in);
+        String lastModified = readString(in);
+        int id = in.readInt();
+        String name = readString(in);
+        List<String> types = readList(in);
+        Map<String, Integer> baseStats = readMap(in, Integer::valueOf);
+        Map<String, String> sprites = readMap(in, Function.identity());
+        List<String> abilities = readList(in);
+        String sourceUrl = readString(in);
+        PokemonDTO dto = new PokemonDTO(id, name, types, baseStats, sprites, abilities, sourceUrl);
+        return new PokemonSnapshotEntry(identifier, dto, updatedAt, expiresAt, etag, lastModified);
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        long value = in.readLong();
+        return value == PokemonSnapshotWriter.NO_TIMESTAMP ? null : Instant.ofEpochSecond(value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            return null;
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readList(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0)
+            return null;
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static <V> Map<String, V> readMap(DataInputStream in, Function<String, V> valueParser) throws IOException {
+        int size = in.readInt();
+        if (size < 0)
+            return null;
+        Map<String, V> values = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            String value = readString(in);
+            values.put(key, value == null ? null : valueParser.apply(value));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,135 @@
+package com.valhala.mypokedex.domain.pokemon.snapshot;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a snapshot as one gzip stream: a header {@code int magic | int format | long createdAtMillis},
+ * then blocks of entries, then a trailer {@code int 0 | long entryCount}. A block is
+ * {@code int entries | int length | int crc32 | bytes}, so a reader can check it before using any
+ * of it and only ever holds one block. Strings are UTF-8 with an int length, -1 for null; lists
+ * and maps carry an int size, -1 for null. Any change to the layout needs a new format number.
+ */
+public final class PokemonSnapshotWriter {
+
+    static final int MAGIC = 0x504B534E; // "PKSN"
+    static final int FORMAT = 1;
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final GZIPOutputStream gzip;
+    private final DataOutputStream out;
+    private final int blockSize;
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private int blockEntries;
+    private long count;
+
+    public PokemonSnapshotWriter(OutputStream target, int blockSize) throws IOException {
+        this.gzip = new GZIPOutputStream(target, 64 * 1024);
+        this.out = new DataOutputStream(new BufferedOutputStream(gzip, 64 * 1024));
+        this.blockSize = Math.max(1, blockSize);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeLong(Instant.now().toEpochMilli());
+    }
+
+    public void write(PokemonSnapshotEntry entry) throws IOException {
+        writeString(blockOut, entry.identifier());
+        writeInstant(blockOut, entry.updatedAt());
+        writeInstant(blockOut, entry.expiresAt());
+        writeString(blockOut, entry.etag());
+        writeString(blockOut, entry.lastModified());
+        PokemonDTO dto = entry.pokemon();
+        blockOut.writeInt(dto.id());
+        writeString(blockOut, dto.identifier());
+        writeList(blockOut, dto.types());
+        writeMap(blockOut, dto.baseStats());
+        writeMap(blockOut, dto.sprites());
+        writeList(blockOut, dto.abilities());
+        writeString(blockOut, dto.sourceUrl());
+        count++;
+        if (++blockEntries >= blockSize) {
+            writeBlock();
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Writes the last block and the trailer and completes the gzip stream. The target stream is
+     * flushed but not closed.
+     */
+    public void finish() throws IOException {
+        writeBlock();
+        out.writeInt(0);
+        out.writeLong(count);
+        out.flush();
+        gzip.finish();
+        gzip.flush();
+    }
+
+    private void writeBlock() throws IOException {
+        if (blockEntries == 0)
+            return;
+        byte[] bytes = block.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        out.writeInt(blockEntries);
+        out.writeInt(bytes.length);
+        out.writeInt((int) crc.getValue());
+        out.write(bytes);
+        block.reset();
+        blockEntries = 0;
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        out.writeLong(value == null ? NO_TIMESTAMP : value.getEpochSecond());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeList(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    // values are written as strings; the reader parses base stats back to integers
+    private static void writeMap(DataOutputStream out, Map<String, ?> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue() == null ? null : String.valueOf(entry.getValue()));
+        }
+    }
+}
@@ -1,32 +1,90 @@
 package com.valhala.mypokedex.domain.pokemon.usecase;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamUnavailableException;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonBatchItem;
 import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
-import com.valhala.mypokedex.domain.pokemon.ports.PokeApiPort;
+import com.valhala.mypokedex.domain.pokemon.parser.PokemonPayloadParser;
 import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
 import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonBatchSettings;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micronaut.data.connection.annotation.Connectable;
-import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
+/**
+ * Lookups are timed as {@code pokemon.lookup} and batch items counted as
+ * {@code pokemon.lookup.batch.items}, both tagged with the {@link Tier} that answered them.
+ */
 @Singleton
 public class GetPokemonUseCase {
     private static final Logger LOG = LoggerFactory.getLogger(GetPokemonUseCase.class);
+
+    /** Where a lookup was answered; coalesced callers report the tier of the load they joined. */
+    enum Tier {
+        CACHE, TOMBSTONE, REPOSITORY, UPSTREAM, EXPIRED, NOT_FOUND, ERROR;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record Lookup(Tier tier, Optional<PokemonDTO> dto) {
+    }
+
     private final PokemonRepository repository;
-    private final PokeApiPort upstream;
     private final PokemonCachePort cache;
+    private final PokemonLoader loader;
+    private final PokemonAliasIndex aliases;
+    private final PokemonPayloadParser parser;
+    private final PokemonBatchSettings batchSettings;
+    private final ExecutorService executor;
+    private final SingleFlight<String, Lookup> loads = new SingleFlight<>();
+    private final Map<Tier, Timer> lookupTimers = new EnumMap<>(Tier.class);
+    private final Map<Tier, Counter> batchItems = new EnumMap<>(Tier.class);
+    private final Timer batchTimer;
 
-    @Inject
-    public GetPokemonUseCase(PokemonRepository repository, PokeApiPort upstream, PokemonCachePort cache) {
+    public GetPokemonUseCase(PokemonRepository repository, PokemonCachePort cache, PokemonLoader loader,
+            PokemonAliasIndex aliases, PokemonPayloadParser parser, PokemonBatchSettings batchSettings,
+            @Named(PokemonExecutors.BLOCKING) ExecutorService executor, MeterRegistry meters) {
         this.repository = repository;
-        this.upstream = upstream;
         this.cache = cache;
+        this.loader = loader;
+        this.aliases = aliases;
+        this.parser = parser;
+        this.batchSettings = batchSettings;
+        this.executor = executor;
+        for (Tier tier : Tier.values()) {
+            lookupTimers.put(tier, Timer.builder("pokemon.lookup")
+                    .description("Single-pokemon lookups by the tier that answered them")
+                    .tag("tier", tier.tag())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meters));
+            batchItems.put(tier, Counter.builder("pokemon.lookup.batch.items")
+                    .description("Batch items by the tier that answered them")
+                    .tag("tier", tier.tag())
+                    .register(meters));
+        }
+        this.batchTimer = Timer.builder("pokemon.lookup.batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meters);
     }
 
     // No no-arg constructor: prefer dependency injection for all collaborators
@@ -34,137 +92,327 @@ public class GetPokemonUseCase {
     @Connectable
     public Optional<PokemonDTO> getPokemon(String identifier) {
         LOG.debug("getPokemon called with identifier='{}'", identifier);
+        Timer.Sample sample = Timer.start();
+        // "25", "pikachu" and "Pikachu" share one cache entry, row and upstream call once known
+        String key = aliases.canonicalKey(identifier);
         // check cache
-        Optional<PokemonDTO> cached = cache.get(identifier.toLowerCase());
+        Optional<PokemonDTO> cached = cache.get(key);
         if (cached.isPresent()) {
             LOG.info("Cache hit for '{}'", identifier);
-            return cached;
+            return served(sample, new Lookup(Tier.CACHE, cached));
         }
         LOG.debug("Cache miss for '{}'", identifier);
+        if (cache.hasTombstone(key)) {
+            LOG.info("Tombstone hit for '{}', upstream recently reported it as not found", identifier);
+            return served(sample, new Lookup(Tier.TOMBSTONE, Optional.empty()));
+        }
+
+        // only one load per key runs at a time; concurrent misses wait for its outcome
+        try {
+            return served(sample, loads.execute(key, () -> load(identifier, key)));
+        } catch (RuntimeException ex) {
+            sample.stop(lookupTimers.get(Tier.ERROR));
+            throw ex;
+        }
+    }
+
+    private Optional<PokemonDTO> served(Timer.Sample sample, Lookup lookup) {
+        sample.stop(lookupTimers.get(lookup.tier()));
+        return lookup.dto();
+    }
 
+    private Lookup load(String identifier, String key) {
         // check repository
-        Optional<PokemonEntity> entity = repository.findByIdentifier(identifier);
+        Optional<PokemonEntity> entity = repository.findByIdentifier(key);
         if (entity.isPresent()) {
             LOG.info("Repository hit for '{}'", identifier);
-            // map to DTO minimally
-            PokemonEntity e = entity.get();
-            PokemonDTO dto = new PokemonDTO(
-                    (int) e.getId(),
-                    e.getIdentifier(),
-                    new ArrayList<>(),
-                    new HashMap<>(),
-                    new HashMap<>(),
-                    new ArrayList<>(),
-                    "local");
-            cache.put(identifier.toLowerCase(), dto);
-            return Optional.of(dto);
+            if (!loader.isExpired(entity.get(), Instant.now())) {
+                return new Lookup(Tier.REPOSITORY, Optional.of(serveStored(entity.get(), key)));
+            }
+            LOG.info("Stored copy of '{}' is past its hard TTL, refetching", identifier);
+            Optional<PokemonDTO> fresh;
+            try {
+                fresh = fetchUpstream(identifier, key);
+            } catch (UpstreamUnavailableException ex) {
+                fresh = Optional.empty();
+            }
+            return fresh.isPresent()
+                    ? new Lookup(Tier.UPSTREAM, fresh)
+                    : new Lookup(Tier.EXPIRED, Optional.of(serveExpired(entity.get(), key)));
         }
         LOG.debug("Repository miss for '{}'", identifier);
+        Optional<PokemonDTO> dto = fetchUpstream(identifier, key);
+        if (dto.isEmpty()) {
+            cache.putTombstone(key);
+            return new Lookup(Tier.NOT_FOUND, dto);
+        }
+        return new Lookup(Tier.UPSTREAM, dto);
+    }
 
-        // call upstream
-        LOG.info("Fetching pokemon '{}' from upstream", identifier);
-        Optional<String> raw = upstream.fetchPokemonRaw(identifier);
-        if (raw.isPresent()) {
-            String body = raw.get();
-            // persist raw payload
-            PokemonEntity e = new PokemonEntity();
-            e.setIdentifier(identifier);
-            e.setId(0);
-            e.setPayload(body);
-            repository.save(e);
-
-            // parse JSON into DTO per contract
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(body);
-
-                int id = root.path("id").asInt(0);
-                String name = root.path("identifier").asText(identifier);
-
-                // types
-                List<String> types = new ArrayList<>();
-                JsonNode typesNode = root.path("types");
-                if (typesNode.isArray()) {
-                    for (JsonNode t : typesNode) {
-                        JsonNode typeObj = t.path("type");
-                        if (typeObj != null) {
-                            String typeName = typeObj.path("identifier").asText(null);
-                            if (typeName != null)
-                                types.add(typeName);
+    private Optional<PokemonDTO> fetchUpstream(String identifier, String key) {
+        Optional<PokemonDTO> dto = loader.fetch(key);
+        // If upstream didn't return a payload, do not fabricate a result: let caller
+        // handle 404/not-found
+        dto.ifPresent(d -> cache.put(PokemonAliasIndex.keyOf(d, key), d));
+        return dto;
+    }
+
+    // rows past the soft TTL are served as-is while a single refresh runs in the background
+    private PokemonDTO serveStored(PokemonEntity e, String key) {
+        PokemonDTO dto = fromEntity(e, key);
+        // rows found by name teach the index their id, so later lookups use the canonical key
+        aliases.register(dto);
+        String canonical = PokemonAliasIndex.keyOf(dto, key);
+        cache.put(canonical, dto);
+        if (loader.isStale(e, Instant.now())) {
+            revalidate(canonical);
+        }
+        return dto;
+    }
+
+    // stale-if-error: upstream had nothing for an expired row or could not be reached, serve it
+    // once without caching
+    private PokemonDTO serveExpired(PokemonEntity e, String key) {
+        LOG.warn("Upstream refetch for expired '{}' failed or returned nothing, serving the stored copy", key);
+        return fromEntity(e, key);
+    }
+
+    private void revalidate(String key) {
+        loader.refresh(key).thenAccept(fresh -> fresh.ifPresent(dto -> cache.put(PokemonAliasIndex.keyOf(dto, key), dto)));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getPokemon(String)}. Alias, cache and repository lookups and
+     * persistence run on the IO executor (the cache may be Redis and the alias index may query the
+     * database), the upstream call uses the async port, so no request thread waits on the
+     * network. Shares in-flight loads with the blocking path.
+     */
+    public CompletableFuture<Optional<PokemonDTO>> getPokemonAsync(String identifier) {
+        LOG.debug("getPokemonAsync called with identifier='{}'", identifier);
+        Timer.Sample sample = Timer.start();
+        return CompletableFuture.supplyAsync(() -> lookupAsync(identifier), executor)
+                .thenCompose(Function.identity())
+                .whenComplete((lookup, ex) -> {
+                    if (ex != null)
+                        sample.stop(lookupTimers.get(Tier.ERROR));
+                })
+                .thenApply(lookup -> served(sample, lookup));
+    }
+
+    private CompletableFuture<Lookup> lookupAsync(String identifier) {
+        String key = aliases.canonicalKey(identifier);
+        Optional<PokemonDTO> cached = cache.get(key);
+        if (cached.isPresent()) {
+            LOG.info("Cache hit for '{}'", identifier);
+            return CompletableFuture.completedFuture(new Lookup(Tier.CACHE, cached));
+        }
+        LOG.debug("Cache miss for '{}'", identifier);
+        if (cache.hasTombstone(key)) {
+            LOG.info("Tombstone hit for '{}', upstream recently reported it as not found", identifier);
+            return CompletableFuture.completedFuture(new Lookup(Tier.TOMBSTONE, Optional.empty()));
+        }
+        return loads.executeAsync(key, () -> loadAsync(identifier, key));
+    }
+
+    private CompletableFuture<Lookup> loadAsync(String identifier, String key) {
+        return CompletableFuture.supplyAsync(() -> repository.findByIdentifier(key), executor)
+                .thenCompose(entity -> {
+                    if (entity.isPresent()) {
+                        LOG.info("Repository hit for '{}'", identifier);
+                        if (!loader.isExpired(entity.get(), Instant.now())) {
+                            return CompletableFuture.completedFuture(
+                                    new Lookup(Tier.REPOSITORY, Optional.of(serveStored(entity.get(), key))));
                         }
+                        LOG.info("Stored copy of '{}' is past its hard TTL, refetching", identifier);
+                    } else {
+                        LOG.debug("Repository miss for '{}'", identifier);
                     }
-                }
-
-                // base_stats from stats array
-                Map<String, Integer> baseStats = new HashMap<>();
-                JsonNode statsNode = root.path("stats");
-                if (statsNode.isArray()) {
-                    for (JsonNode s : statsNode) {
-                        String statName = s.path("stat").path("identifier").asText(null);
-                        int base = s.path("base_stat").asInt(0);
-                        if (statName != null)
-                            baseStats.put(statName, base);
+                    CompletableFuture<Optional<PokemonDTO>> fetched = loader.fetchAsync(key);
+                    if (entity.isPresent()) {
+                        fetched = fetched.exceptionally(ex -> {
+                            if (isUnavailable(ex)) {
+                                return Optional.empty(); // falls back to the expired copy below
+                            }
+                            throw ex instanceof CompletionException ce ? ce : new CompletionException(ex);
+                        });
                     }
-                }
-
-                // sprites: take first-level string fields
-                Map<String, String> sprites = new HashMap<>();
-                JsonNode spritesNode = root.path("sprites");
-                if (spritesNode.isObject()) {
-                    java.util.Iterator<String> it = spritesNode.fieldNames();
-                    while (it.hasNext()) {
-                        String key = it.next();
-                        JsonNode val = spritesNode.path(key);
-                        if (val.isTextual()) {
-                            sprites.put(key, val.asText());
-                        } else if (val.isNull()) {
-                            sprites.put(key, null);
-                        } else {
-                            // non-textual (object) — serialize to string as fallback
-                            try {
-                                sprites.put(key, mapper.writeValueAsString(val));
-                            } catch (Exception ex) {
-                                sprites.put(key, null);
+                    return fetched.thenApply(fresh -> {
+                        fresh.ifPresent(dto -> cache.put(PokemonAliasIndex.keyOf(dto, key), dto));
+                        if (fresh.isEmpty()) {
+                            if (entity.isPresent()) {
+                                return new Lookup(Tier.EXPIRED, Optional.of(serveExpired(entity.get(), key)));
                             }
+                            cache.putTombstone(key);
+                            return new Lookup(Tier.NOT_FOUND, fresh);
                         }
-                    }
+                        return new Lookup(Tier.UPSTREAM, fresh);
+                    });
+                });
+    }
+
+    /**
+     * Resolves several identifiers at once: one multi-get against the cache, one query for the
+     * remaining keys, then the leftovers are fetched upstream with bounded parallelism. Items are
+     * returned in request order; an upstream failure only marks its own item as an error.
+     */
+    @Connectable
+    public List<PokemonBatchItem> getPokemons(List<String> identifiers) {
+        return batchTimer.record(() -> resolveBatch(identifiers));
+    }
+
+    private List<PokemonBatchItem> resolveBatch(List<String> identifiers) {
+        // resolve each identifier to its canonical key once; "25" and "Pikachu" then share a slot
+        Map<String, String> keyByIdentifier = new HashMap<>();
+        Set<String> keys = new LinkedHashSet<>();
+        for (String identifier : identifiers) {
+            keys.add(keyByIdentifier.computeIfAbsent(identifier, aliases::canonicalKey));
+        }
+        LOG.debug("getPokemons called with {} identifiers ({} distinct)", identifiers.size(), keys.size());
+        Map<String, Optional<PokemonDTO>> resolved = new HashMap<>();
+
+        Map<String, Tier> tiers = new HashMap<>();
+
+        cache.getAll(keys).forEach((key, dto) -> {
+            resolved.put(key, Optional.of(dto));
+            tiers.put(key, Tier.CACHE);
+        });
+        List<String> missing = unresolved(keys, resolved);
+        LOG.debug("Batch cache hits={} misses={}", resolved.size(), missing.size());
+        if (!missing.isEmpty()) {
+            for (String key : cache.hasTombstones(missing)) {
+                resolved.put(key, Optional.empty());
+                tiers.put(key, Tier.TOMBSTONE);
+            }
+            missing = unresolved(keys, resolved);
+        }
+
+        Map<String, PokemonEntity> expired = new HashMap<>();
+        if (!missing.isEmpty()) {
+            Instant now = Instant.now();
+            repository.findAllByIdentifiers(missing).forEach((key, entity) -> {
+                if (loader.isExpired(entity, now)) {
+                    expired.put(key, entity);
+                } else {
+                    resolved.put(key, Optional.of(serveStored(entity, key)));
+                    tiers.put(key, Tier.REPOSITORY);
                 }
+            });
+            missing = unresolved(keys, resolved);
+        }
 
-                // abilities
-                List<String> abilities = new ArrayList<>();
-                JsonNode abilitiesNode = root.path("abilities");
-                if (abilitiesNode.isArray()) {
-                    for (JsonNode a : abilitiesNode) {
-                        String abilityName = a.path("ability").path("identifier").asText(null);
-                        if (abilityName != null)
-                            abilities.add(abilityName);
-                    }
+        Set<String> failed = new HashSet<>();
+        if (!missing.isEmpty()) {
+            LOG.info("Fetching {} pokemons from upstream for batch", missing.size());
+            fetchAllUpstream(missing, resolved, failed);
+            for (String key : missing) {
+                // upstream 404s with nothing stored; failed fetches are never remembered
+                if (!failed.contains(key) && !expired.containsKey(key) && resolved.get(key).isEmpty()) {
+                    cache.putTombstone(key);
                 }
+            }
+        }
+        expired.forEach((key, entity) -> {
+            if (resolved.getOrDefault(key, Optional.empty()).isEmpty()) {
+                resolved.put(key, Optional.of(serveExpired(entity, key)));
+                tiers.put(key, Tier.EXPIRED);
+                failed.remove(key);
+            }
+        });
 
-                String sourceUrl = "https://pokeapi.co/api/v2/pokemon/" + identifier;
-                PokemonDTO dto = new PokemonDTO(id, name, types, baseStats, sprites, abilities, sourceUrl);
-                cache.put(identifier.toLowerCase(), dto);
-                LOG.info("Successfully fetched and parsed pokemon '{}' from upstream", identifier);
-                return Optional.of(dto);
+        List<PokemonBatchItem> items = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            String key = keyByIdentifier.get(identifier);
+            Optional<PokemonDTO> dto = resolved.getOrDefault(key, Optional.empty());
+            if (dto.isPresent()) {
+                items.add(PokemonBatchItem.found(identifier, dto.get()));
+                batchItems.get(tiers.getOrDefault(key, Tier.UPSTREAM)).increment();
+            } else if (failed.contains(key)) {
+                items.add(PokemonBatchItem.error(identifier));
+                batchItems.get(Tier.ERROR).increment();
+            } else {
+                items.add(PokemonBatchItem.notFound(identifier));
+                batchItems.get(tiers.getOrDefault(key, Tier.NOT_FOUND)).increment();
+            }
+        }
+        return items;
+    }
+
+    private void fetchAllUpstream(List<String> keys, Map<String, Optional<PokemonDTO>> resolved, Set<String> failed) {
+        Semaphore permits = new Semaphore(Math.max(1, batchSettings.getUpstreamParallelism()));
+        Map<String, CompletableFuture<Optional<PokemonDTO>>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            permits.acquireUninterruptibly();
+            try {
+                futures.put(key, CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return loads.execute(key, () -> {
+                            Optional<PokemonDTO> dto = fetchUpstream(key, key);
+                            return new Lookup(dto.isPresent() ? Tier.UPSTREAM : Tier.NOT_FOUND, dto);
+                        }).dto();
+                    } finally {
+                        permits.release();
+                    }
+                }, executor));
+            } catch (RuntimeException ex) {
+                permits.release();
+                throw ex;
+            }
+        }
+        futures.forEach((key, future) -> {
+            try {
+                resolved.put(key, future.join());
+            } catch (CompletionException ex) {
+                LOG.error("Upstream fetch failed for '{}' in batch", key, ex.getCause());
+                failed.add(key);
+            }
+        });
+    }
+
+    private static boolean isUnavailable(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof UpstreamUnavailableException;
+    }
+
+    private static List<String> unresolved(Collection<String> keys, Map<String, ?> resolved) {
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            if (!resolved.containsKey(key))
+                missing.add(key);
+        }
+        return missing;
+    }
+
+    private PokemonDTO fromEntity(PokemonEntity e, String identifier) {
+        if (e.getProjection() != null) {
+            return e.getProjection();
+        }
+        // rows written before the projection columns existed: parse once and backfill
+        if (e.getPayload() != null) {
+            try {
+                PokemonDTO dto = parser.parse(e.getPayload().getBytes(StandardCharsets.UTF_8), identifier);
+                e.setProjection(dto);
+                repository.save(e);
+                return dto;
             } catch (Exception parseEx) {
-                LOG.error("Failed to parse upstream payload for '{}'", identifier, parseEx);
-                // fallback to minimal DTO on parse errors
-                PokemonDTO dto = new PokemonDTO(
-                        0,
-                        identifier,
-                        new ArrayList<>(),
-                        new HashMap<>(),
-                        new HashMap<>(),
-                        new ArrayList<>(),
-                        "https://pokeapi.co/api/v2/pokemon/" + identifier);
-                cache.put(identifier.toLowerCase(), dto);
-                return Optional.of(dto);
+                LOG.warn("Stored payload for '{}' could not be parsed: {}", identifier, parseEx.getMessage());
             }
         }
+        // map to DTO minimally
+        return new PokemonDTO(
+                (int) e.getId(),
+                e.getIdentifier(),
+                new ArrayList<>(),
+                new HashMap<>(),
+                new HashMap<>(),
+                new ArrayList<>(),
+                "local");
+    }
 
-        LOG.info("Upstream did not return data for '{}'", identifier);
-        // If upstream didn't return a payload, do not fabricate a result: let caller
-        // handle 404/not-found
-        return Optional.empty();
+    public long getLoadCount() {
+        return loads.loadCount();
+    }
+
+    public long getCoalescedCount() {
+        return loads.coalescedCount();
     }
 }
@@ -0,0 +1,28 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces calls evenly at a fixed rate. Meant for a single calling thread; a rate of zero or
+ * less disables pacing.
+ */
+final class Pacer {
+
+    private final long intervalNanos;
+    private long next = System.nanoTime();
+
+    Pacer(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0L;
+    }
+
+    void acquire() throws InterruptedException {
+        if (intervalNanos == 0)
+            return;
+        long now = System.nanoTime();
+        long wait = next - now;
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        next = Math.max(next, now) + intervalNanos;
+    }
+}
@@ -0,0 +1,137 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonAliasRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps every known spelling of a pokemon (name in any case, numeric id with or without leading
+ * zeros) to its canonical key, the PokeAPI id as a string. Aliases are learned only from parsed
+ * upstream payloads, so the index is bounded by the PokeAPI catalogue; it is kept in memory and
+ * persisted in {@code pokemon_aliases}. Unknown names map to their normalized form until the
+ * first successful fetch. A name the repository does not know is remembered as unknown for a few
+ * minutes, so a stream of made-up names costs one lookup each per window instead of one per
+ * request; aliases learned on another node show up here once that window has passed.
+ */
+@Singleton
+public class PokemonAliasIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonAliasIndex.class);
+    static final Duration UNKNOWN_TTL = Duration.ofMinutes(5);
+    static final int MAX_UNKNOWN = 10_000;
+
+    private final PokemonAliasRepository repository;
+    private final ConcurrentMap<String, Integer> aliases = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> unknown = Caffeine.newBuilder()
+            .expireAfterWrite(UNKNOWN_TTL)
+            .maximumSize(MAX_UNKNOWN)
+            .build();
+
+    public PokemonAliasIndex(PokemonAliasRepository repository) {
+        this.repository = repository;
+    }
+
+    public String canonicalKey(String identifier) {
+        String alias = normalize(identifier);
+        if (isNumeric(alias)) {
+            return String.valueOf(Integer.parseInt(alias));
+        }
+        Integer id = aliases.get(alias);
+        if (id == null) {
+            if (unknown.getIfPresent(alias) != null) {
+                return alias;
+            }
+            OptionalInt persisted = repository.findPokeapiId(alias);
+            if (persisted.isEmpty()) {
+                unknown.put(alias, Boolean.TRUE);
+                return alias;
+            }
+            id = persisted.getAsInt();
+            aliases.put(alias, id);
+        }
+        return String.valueOf(id);
+    }
+
+    /**
+     * Canonical key from memory alone: numeric ids and names already in the index. Empty for any
+     * other name, so callers on a request thread never wait for {@code pokemon_aliases}.
+     */
+    public Optional<String> knownKey(String identifier) {
+        String alias = normalize(identifier);
+        if (isNumeric(alias)) {
+            return Optional.of(String.valueOf(Integer.parseInt(alias)));
+        }
+        Integer id = aliases.get(alias);
+        return id == null ? Optional.empty() : Optional.of(String.valueOf(id));
+    }
+
+    /**
+     * Canonical cache/repository key for a resolved pokemon; minimal DTOs without an id keep the
+     * key they were requested under.
+     */
+    public static String keyOf(PokemonDTO dto, String fallbackKey) {
+        return dto.id() > 0 ? String.valueOf(dto.id()) : fallbackKey;
+    }
+
+    public void register(PokemonDTO dto) {
+        register(List.of(dto));
+    }
+
+    public void register(Collection<PokemonDTO> dtos) {
+        Map<String, Integer> learned = new HashMap<>();
+        for (PokemonDTO dto : dtos) {
+            if (dto == null || dto.id() <= 0 || dto.identifier() == null)
+                continue;
+            String name = normalize(dto.identifier());
+            unknown.invalidate(name);
+            Integer previous = aliases.put(name, dto.id());
+            if (previous == null || previous != dto.id()) {
+                learned.put(name, dto.id());
+            }
+        }
+        if (!learned.isEmpty()) {
+            LOG.debug("Learned {} pokemon aliases", learned.size());
+            repository.saveAll(learned);
+        }
+    }
+
+    /**
+     * Drops the in-memory index; persisted aliases are reloaded on demand.
+     */
+    public void clear() {
+        aliases.clear();
+        unknown.invalidateAll();
+    }
+
+    public int size() {
+        return aliases.size();
+    }
+
+    static String normalize(String identifier) {
+        return identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isNumeric(String alias) {
+        if (alias.isEmpty() || alias.length() > 9)
+            return false;
+        for (int i = 0; i < alias.length(); i++) {
+            if (!Character.isDigit(alias.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,197 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.parser.PokemonPayloadParser;
+import com.valhala.mypokedex.domain.pokemon.ports.PokeApiPort;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamResponse;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonExecutors;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonFreshnessSettings;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Fetches a pokemon from upstream and persists it. Has no cache dependency, so the cache
+ * adapters can use it to refresh their own entries without a dependency cycle.
+ */
+@Singleton
+public class PokemonLoader {
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonLoader.class);
+
+    private final PokemonRepository repository;
+    private final PokeApiPort upstream;
+    private final PokemonPayloadParser parser;
+    private final PokemonFreshnessSettings freshness;
+    private final PokemonAliasIndex aliases;
+    private final ExecutorService executor;
+    private final SingleFlight<String, Optional<PokemonDTO>> refreshes = new SingleFlight<>();
+
+    public PokemonLoader(PokemonRepository repository, PokeApiPort upstream, PokemonPayloadParser parser,
+            PokemonFreshnessSettings freshness, PokemonAliasIndex aliases,
+            @Named(PokemonExecutors.BLOCKING) ExecutorService executor) {
+        this.repository = repository;
+        this.upstream = upstream;
+        this.parser = parser;
+        this.freshness = freshness;
+        this.aliases = aliases;
+        this.executor = executor;
+    }
+
+    public Optional<PokemonDTO> fetch(String identifier) {
+        LOG.info("Fetching pokemon '{}' from upstream", identifier);
+        Optional<byte[]> raw = upstream.fetchPokemonRaw(identifier);
+        if (raw.isEmpty()) {
+            LOG.info("Upstream did not return data for '{}'", identifier);
+        }
+        return raw.map(body -> store(identifier, body));
+    }
+
+    public CompletableFuture<Optional<PokemonDTO>> fetchAsync(String identifier) {
+        LOG.info("Fetching pokemon '{}' from upstream", identifier);
+        return upstream.fetchPokemonRawAsync(identifier, executor)
+                .thenApplyAsync(raw -> {
+                    if (raw.isEmpty()) {
+                        LOG.info("Upstream did not return data for '{}'", identifier);
+                    }
+                    return raw.map(body -> store(identifier, body));
+                }, executor);
+    }
+
+    /**
+     * Background refresh: at most one per key runs at a time and it never completes
+     * exceptionally; a failed refresh yields empty and the caller keeps what it has. A stored row
+     * is revalidated with its validators, so an unchanged pokemon costs a 304 and a timestamp
+     * update instead of a download, parse and full upsert.
+     */
+    public CompletableFuture<Optional<PokemonDTO>> refresh(String key) {
+        return refreshes.executeAsync(key, () -> {
+            LOG.debug("Refreshing stale pokemon '{}' in the background", key);
+            return CompletableFuture.supplyAsync(() -> repository.findByIdentifier(key), executor)
+                    .thenCompose(stored -> revalidate(key, stored.orElse(null)));
+        }).exceptionally(ex -> {
+            LOG.warn("Background refresh failed for '{}': {}", key, ex.getMessage());
+            return Optional.empty();
+        });
+    }
+
+    private CompletableFuture<Optional<PokemonDTO>> revalidate(String key, PokemonEntity stored) {
+        String etag = stored != null ? stored.getEtag() : null;
+        String lastModified = stored != null ? stored.getLastModified() : null;
+        return upstream.revalidateAsync(key, etag, lastModified, executor)
+                .thenApplyAsync(resp -> switch (resp.status()) {
+                    case NOT_MODIFIED -> Optional.ofNullable(stored != null ? confirm(stored, resp) : null);
+                    case OK -> Optional.of(store(key, resp));
+                    case NOT_FOUND -> {
+                        LOG.info("Upstream did not return data for '{}'", key);
+                        yield Optional.<PokemonDTO>empty();
+                    }
+                }, executor);
+    }
+
+    private PokemonDTO confirm(PokemonEntity stored, UpstreamResponse notModified) {
+        LOG.debug("Stored pokemon '{}' is still current upstream", stored.getIdentifier());
+        Instant now = Instant.now();
+        repository.touch(List.of(toConfirmed(stored, notModified)), now,
+                now.plusSeconds(freshness.getHardTtlSeconds()));
+        return stored.getProjection();
+    }
+
+    public long hardTtlSeconds() {
+        return freshness.getHardTtlSeconds();
+    }
+
+    public boolean isStale(PokemonEntity e, Instant now) {
+        return e.getUpdatedAt() != null
+                && now.isAfter(e.getUpdatedAt().plusSeconds(freshness.getSoftTtlSeconds()));
+    }
+
+    public boolean isExpired(PokemonEntity e, Instant now) {
+        return e.getExpiresAt() != null && now.isAfter(e.getExpiresAt());
+    }
+
+    private PokemonDTO store(String identifier, byte[] body) {
+        return store(identifier, toEntity(identifier, body));
+    }
+
+    private PokemonDTO store(String identifier, UpstreamResponse resp) {
+        return store(identifier, toEntity(identifier, resp));
+    }
+
+    private PokemonDTO store(String identifier, PokemonEntity e) {
+        repository.save(e);
+        if (e.getProjection() != null) {
+            aliases.register(e.getProjection());
+            return e.getProjection();
+        }
+        // fallback to minimal DTO on parse errors
+        return new PokemonDTO(
+                0,
+                identifier,
+                new ArrayList<>(),
+                new HashMap<>(),
+                new HashMap<>(),
+                new ArrayList<>(),
+                PokemonPayloadParser.sourceUrl(identifier));
+    }
+
+    /**
+     * Builds the row for an upstream payload: raw payload, projected fields (null when the
+     * payload cannot be parsed) and fresh timestamps. Parsed rows are keyed by their canonical
+     * PokeAPI id, whatever alias they were fetched with. Not saved.
+     */
+    public PokemonEntity toEntity(String identifier, byte[] body) {
+        PokemonDTO projection = null;
+        try {
+            projection = parser.parse(body, identifier);
+            LOG.info("Successfully fetched and parsed pokemon '{}' from upstream", identifier);
+        } catch (Exception parseEx) {
+            LOG.error("Failed to parse upstream payload for '{}'", identifier, parseEx);
+        }
+
+        // persist raw payload together with the projected fields
+        Instant now = Instant.now();
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier(projection != null && projection.id() > 0 ? String.valueOf(projection.id()) : identifier);
+        e.setId(0);
+        e.setPayload(new String(body, StandardCharsets.UTF_8));
+        e.setProjection(projection);
+        e.setUpdatedAt(now);
+        e.setExpiresAt(now.plusSeconds(freshness.getHardTtlSeconds()));
+        return e;
+    }
+
+    /**
+     * What a 304 confirms about a stored row, for {@link PokemonRepository#touch}: its identifier
+     * and projection with the validators the 304 carried, falling back to the stored ones a 304
+     * left out. The stored row itself is not changed; readers may hold it.
+     */
+    public PokemonEntity toConfirmed(PokemonEntity stored, UpstreamResponse notModified) {
+        PokemonEntity e = new PokemonEntity();
+        e.setId(stored.getId());
+        e.setIdentifier(stored.getIdentifier());
+        e.setProjection(stored.getProjection());
+        e.setEtag(notModified.etag() != null ? notModified.etag() : stored.getEtag());
+        e.setLastModified(notModified.lastModified() != null ? notModified.lastModified() : stored.getLastModified());
+        return e;
+    }
+
+    /** {@link #toEntity(String, byte[])} for a 200 response, keeping its validators. */
+    public PokemonEntity toEntity(String identifier, UpstreamResponse resp) {
+        PokemonEntity e = toEntity(identifier, resp.body());
+        e.setEtag(resp.etag());
+        e.setLastModified(resp.lastModified());
+        return e;
+    }
+}
@@ -0,0 +1,135 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.dto.SnapshotImportResult;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonSnapshotSettings;
+import com.valhala.mypokedex.domain.pokemon.snapshot.PokemonSnapshotEntry;
+import com.valhala.mypokedex.domain.pokemon.snapshot.PokemonSnapshotReader;
+import com.valhala.mypokedex.domain.pokemon.snapshot.PokemonSnapshotWriter;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exports every stored pokemon, in its projected form, to a snapshot and loads snapshots back into
+ * the repository and the cache one block at a time, so neither side holds the whole data set.
+ * Legacy rows without a projection are left out of exports. Raw upstream payloads are not part of
+ * a snapshot: imported rows carry the projection, timestamps and validators only. An entry never
+ * replaces a stored row that was updated at the same time or later.
+ */
+@Singleton
+public class PokemonSnapshotUseCase {
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonSnapshotUseCase.class);
+
+    private final PokemonRepository repository;
+    private final PokemonCachePort cache;
+    private final PokemonAliasIndex aliases;
+    private final int blockSize;
+
+    public PokemonSnapshotUseCase(PokemonRepository repository, PokemonCachePort cache, PokemonAliasIndex aliases,
+            PokemonSnapshotSettings config) {
+        this.repository = repository;
+        this.cache = cache;
+        this.aliases = aliases;
+        this.blockSize = Math.max(1, config.getBlockSize());
+    }
+
+    /**
+     * Writes a snapshot of the repository to {@code out}, which is left open. Returns the number
+     * of entries written.
+     */
+    public long export(OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        PokemonSnapshotWriter writer = new PokemonSnapshotWriter(out, blockSize);
+        long[] skipped = {0};
+        try {
+            repository.forEach(e -> {
+                if (e.getProjection() == null) {
+                    skipped[0]++;
+                    return;
+                }
+                try {
+                    writer.write(new PokemonSnapshotEntry(e.getIdentifier(), e.getProjection(), e.getUpdatedAt(),
+                            e.getExpiresAt(), e.getEtag(), e.getLastModified()));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.finish();
+        LOG.info("Exported {} pokemons to a snapshot in {}ms ({} legacy rows without projection skipped)",
+                writer.count(), (System.nanoTime() - started) / 1_000_000, skipped[0]);
+        return writer.count();
+    }
+
+    /**
+     * Loads a snapshot. Each block is verified before any of it is stored; on a corrupt or
+     * truncated snapshot the blocks before it stay imported and the error is thrown.
+     */
+    public SnapshotImportResult importFrom(InputStream in) throws IOException {
+        long started = System.nanoTime();
+        PokemonSnapshotReader reader = new PokemonSnapshotReader(in);
+        long entries = 0;
+        long stored = 0;
+        long keptNewer = 0;
+        List<PokemonSnapshotEntry> block;
+        while ((block = reader.nextBlock()) != null) {
+            Map<String, PokemonEntity> existing = repository.findAllByIdentifiers(
+                    block.stream().map(PokemonSnapshotEntry::identifier).toList());
+            List<PokemonEntity> rows = new ArrayList<>(block.size());
+            List<PokemonDTO> dtos = new ArrayList<>(block.size());
+            for (PokemonSnapshotEntry entry : block) {
+                PokemonEntity current = existing.get(entry.identifier());
+                if (current != null && current.getProjection() != null && !olderThan(current, entry)) {
+                    keptNewer++;
+                    dtos.add(current.getProjection());
+                } else {
+                    rows.add(toEntity(entry));
+                    dtos.add(entry.pokemon());
+                }
+            }
+            repository.saveAll(rows);
+            for (int i = 0; i < block.size(); i++) {
+                PokemonDTO dto = dtos.get(i);
+                cache.put(PokemonAliasIndex.keyOf(dto, block.get(i).identifier()), dto);
+            }
+            aliases.register(dtos);
+            entries += block.size();
+            stored += rows.size();
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        LOG.info("Imported snapshot taken at {}: {} entries, {} stored, {} newer rows kept, in {}ms",
+                reader.createdAt(), entries, stored, keptNewer, elapsedMs);
+        return new SnapshotImportResult(reader.createdAt(), entries, stored, keptNewer, elapsedMs);
+    }
+
+    private static boolean olderThan(PokemonEntity current, PokemonSnapshotEntry entry) {
+        if (current.getUpdatedAt() == null)
+            return true;
+        return entry.updatedAt() != null && current.getUpdatedAt().isBefore(entry.updatedAt());
+    }
+
+    private static PokemonEntity toEntity(PokemonSnapshotEntry entry) {
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier(entry.identifier());
+        e.setProjection(entry.pokemon());
+        e.setUpdatedAt(entry.updatedAt());
+        e.setExpiresAt(entry.expiresAt());
+        e.setEtag(entry.etag());
+        e.setLastModified(entry.lastModified());
+        return e;
+    }
+}
@@ -0,0 +1,280 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.dto.PrewarmStatus;
+import com.valhala.mypokedex.domain.pokemon.ports.PokeApiPort;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamResponse;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import com.valhala.mypokedex.domain.pokemon.repository.PrewarmCheckpointRepository;
+import com.valhala.mypokedex.domain.pokemon.settings.PokemonExecutors;
+import com.valhala.mypokedex.domain.pokemon.settings.PrewarmSettings;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Walks the configured PokeAPI id range and loads every pokemon into the database and the cache.
+ * Ids are fetched in chunks with bounded concurrency and a fixed request rate; each chunk is
+ * upserted in one batch and then checkpointed, so an interrupted run resumes after the last
+ * completed chunk. The checkpoint never moves past an id that failed to load, and a chunk whose
+ * batch could not be stored stops the run without moving it at all; only a run that reaches the
+ * end without failures clears its checkpoint. Ids already stored are revalidated with their
+ * ETag/Last-Modified, so a re-run over unchanged data only moves timestamps.
+ */
+@Singleton
+public class PrewarmPokemonUseCase {
+    private static final Logger LOG = LoggerFactory.getLogger(PrewarmPokemonUseCase.class);
+    static final String JOB = "pokeapi-range";
+
+    private final PokeApiPort upstream;
+    private final PokemonLoader loader;
+    private final PokemonAliasIndex aliases;
+    private final PokemonRepository repository;
+    private final PokemonCachePort cache;
+    private final PrewarmCheckpointRepository checkpoints;
+    private final PrewarmSettings config;
+    private final ExecutorService executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile int checkpoint;
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger stored = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger notFound = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public PrewarmPokemonUseCase(PokeApiPort upstream, PokemonLoader loader, PokemonAliasIndex aliases,
+            PokemonRepository repository,
+            PokemonCachePort cache, PrewarmCheckpointRepository checkpoints, PrewarmSettings config,
+            @Named(PokemonExecutors.BLOCKING) ExecutorService executor) {
+        this.upstream = upstream;
+        this.loader = loader;
+        this.aliases = aliases;
+        this.repository = repository;
+        this.cache = cache;
+        this.checkpoints = checkpoints;
+        this.config = config;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a run in the background. Returns false if one is already in progress.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            LOG.info("Pre-warm already running, ignoring start request");
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                crawl();
+            } catch (Exception ex) {
+                LOG.error("Pre-warm run failed", ex);
+            } finally {
+                finishedAt = Instant.now();
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Runs synchronously on the calling thread. Returns false if a run is already in progress.
+     */
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            crawl();
+            return true;
+        } finally {
+            finishedAt = Instant.now();
+            running.set(false);
+        }
+    }
+
+    private void crawl() {
+        stopRequested = false;
+        startedAt = Instant.now();
+        finishedAt = null;
+        processed.set(0);
+        stored.set(0);
+        unchanged.set(0);
+        notFound.set(0);
+        failed.set(0);
+
+        int first = config.getFirstId();
+        int last = config.getLastId();
+        int from = checkpoints.findLastId(JOB).orElse(first - 1) + 1;
+        checkpoint = from - 1;
+        LOG.info("Pre-warm starting at id {} (range {}..{}, concurrency={}, rate={}/s)", from, first, last,
+                config.getConcurrency(), config.getRatePerSecond());
+
+        Pacer pacer = new Pacer(config.getRatePerSecond());
+        int batchSize = Math.max(1, config.getBatchSize());
+        int firstFailed = Integer.MAX_VALUE; // the checkpoint stays below it so the next run retries it
+        for (int chunkStart = Math.max(from, first); chunkStart <= last; chunkStart += batchSize) {
+            if (stopRequested) {
+                LOG.info("Pre-warm stopped at checkpoint {}", checkpoint);
+                return;
+            }
+            int chunkEnd = Math.min(last, chunkStart + batchSize - 1);
+            Chunk chunk;
+            try {
+                chunk = fetchChunk(chunkStart, chunkEnd, pacer);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                LOG.info("Pre-warm interrupted at checkpoint {}", checkpoint);
+                return;
+            }
+            try {
+                repository.saveAll(chunk.changed());
+            } catch (RuntimeException ex) {
+                failed.addAndGet(chunk.changed().size());
+                LOG.error("Pre-warm stopped at checkpoint {}: batch {}..{} could not be stored", checkpoint,
+                        chunkStart, chunkEnd, ex);
+                return;
+            }
+            if (!chunk.unchanged().isEmpty()) {
+                Instant now = Instant.now();
+                repository.touch(chunk.unchanged(), now, now.plusSeconds(loader.hardTtlSeconds()));
+            }
+            List<PokemonDTO> dtos = new ArrayList<>(chunk.changed().size() + chunk.unchanged().size());
+            chunk.changed().forEach(e -> dtos.add(e.getProjection()));
+            chunk.unchanged().forEach(e -> dtos.add(e.getProjection()));
+            for (PokemonDTO dto : dtos) {
+                cache.put(String.valueOf(dto.id()), dto);
+            }
+            aliases.register(dtos);
+            stored.addAndGet(chunk.changed().size());
+            unchanged.addAndGet(chunk.unchanged().size());
+            firstFailed = Math.min(firstFailed, chunk.firstFailed());
+            int reached = Math.min(chunkEnd, firstFailed - 1);
+            if (reached > checkpoint) {
+                checkpoints.saveLastId(JOB, reached);
+                checkpoint = reached;
+            }
+            LOG.info("Pre-warm progress: checkpoint {}/{} processed={} stored={} unchanged={} notFound={} failed={} "
+                    + "({} ids/s)", checkpoint, last, processed.get(), stored.get(), unchanged.get(), notFound.get(),
+                    failed.get(), String.format(Locale.ROOT, "%.1f", idsPerSecond()));
+        }
+        if (firstFailed == Integer.MAX_VALUE) {
+            checkpoints.clear(JOB);
+        } else {
+            LOG.warn("Pre-warm kept checkpoint {}: the next run resumes at failed id {}", checkpoint, firstFailed);
+        }
+        LOG.info("Pre-warm finished: processed={} stored={} unchanged={} notFound={} failed={} in {}s",
+                processed.get(), stored.get(), unchanged.get(), notFound.get(), failed.get(),
+                Duration.between(startedAt, Instant.now()).toSeconds());
+    }
+
+    // firstFailed is the lowest id that could not be loaded, Integer.MAX_VALUE when all were
+    private record Chunk(List<PokemonEntity> changed, List<PokemonEntity> unchanged, int firstFailed) {
+    }
+
+    private Chunk fetchChunk(int chunkStart, int chunkEnd, Pacer pacer) throws InterruptedException {
+        List<String> identifiers = new ArrayList<>();
+        for (int id = chunkStart; id <= chunkEnd; id++) {
+            identifiers.add(String.valueOf(id));
+        }
+        // only rows with a projection can be served as-is after a 304
+        Map<String, PokemonEntity> existing = repository.findAllByIdentifiers(identifiers);
+        existing.values().removeIf(e -> e.getProjection() == null);
+
+        Semaphore permits = new Semaphore(Math.max(1, config.getConcurrency()));
+        List<CompletableFuture<UpstreamResponse>> futures = new ArrayList<>();
+        for (String identifier : identifiers) {
+            pacer.acquire();
+            permits.acquire();
+            PokemonEntity stored = existing.get(identifier);
+            CompletableFuture<UpstreamResponse> future;
+            try {
+                future = upstream.revalidateAsync(identifier, stored != null ? stored.getEtag() : null,
+                        stored != null ? stored.getLastModified() : null, executor);
+            } catch (RuntimeException ex) {
+                future = CompletableFuture.failedFuture(ex);
+            }
+            futures.add(future.whenComplete((r, ex) -> permits.release()));
+        }
+
+        List<PokemonEntity> changed = new ArrayList<>();
+        List<PokemonEntity> unchangedRows = new ArrayList<>();
+        int firstFailed = Integer.MAX_VALUE;
+        for (int i = 0; i < futures.size(); i++) {
+            processed.incrementAndGet();
+            String identifier = identifiers.get(i);
+            boolean loaded = true;
+            try {
+                UpstreamResponse resp = futures.get(i).join();
+                switch (resp.status()) {
+                    case NOT_FOUND -> notFound.incrementAndGet();
+                    case NOT_MODIFIED -> {
+                        if (existing.containsKey(identifier)) {
+                            unchangedRows.add(loader.toConfirmed(existing.get(identifier), resp));
+                        } else {
+                            loaded = false; // 304 for a request without validators
+                        }
+                    }
+                    case OK -> {
+                        PokemonEntity entity = loader.toEntity(identifier, resp);
+                        if (entity.getProjection() == null) {
+                            loaded = false; // unparseable payload, left for the on-demand path
+                        } else {
+                            changed.add(entity);
+                        }
+                    }
+                }
+            } catch (CompletionException ex) {
+                loaded = false;
+                LOG.warn("Pre-warm fetch failed for id {}: {}", chunkStart + i, ex.getCause() != null
+                        ? ex.getCause().getMessage() : ex.getMessage());
+            }
+            if (!loaded) {
+                failed.incrementAndGet();
+                firstFailed = Math.min(firstFailed, chunkStart + i);
+            }
+        }
+        return new Chunk(changed, unchangedRows, firstFailed);
+    }
+
+    public PrewarmStatus status() {
+        return new PrewarmStatus(running.get(), startedAt, finishedAt, config.getFirstId(), config.getLastId(),
+                checkpoint, processed.get(), stored.get(), unchanged.get(), notFound.get(), failed.get(), idsPerSecond());
+    }
+
+    private double idsPerSecond() {
+        Instant start = startedAt;
+        if (start == null)
+            return 0.0;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return processed.get() * 1000.0 / millis;
+    }
+
+    @PreDestroy
+    public void stop() {
+        // the current chunk completes and is checkpointed; the next run resumes after it
+        stopRequested = true;
+    }
+}
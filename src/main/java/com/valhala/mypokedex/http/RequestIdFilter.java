@@ -1,10 +1,12 @@
 package com.valhala.mypokedex.http;
 
-import io.micronaut.core.order.Ordered;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.filter.HttpServerFilter;
 import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -14,6 +16,11 @@ import org.slf4j.MDC;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Exposes the trace id of the request's server span as its request id: in the MDC for log lines
+ * and in the {@code X-Request-Id} response header, so a log line, a trace and a client report
+ * all carry the same id. Without an active trace the incoming header, or a random id, is used.
+ */
 @Singleton
 public class RequestIdFilter implements HttpServerFilter {
 
@@ -22,12 +29,23 @@ public class RequestIdFilter implements HttpServerFilter {
 
     @Override
     public int getOrder() {
-        return Ordered.HIGHEST_PRECEDENCE;
+        // after the tracing filter has opened the server span
+        return ServerFilterPhase.TRACING.after();
+    }
+
+    /**
+     * Request id of the calling thread: the current trace id, or the MDC value outside a trace.
+     */
+    public static String currentId() {
+        SpanContext span = Span.current().getSpanContext();
+        return span.isValid() ? span.getTraceId() : MDC.get(MDC_KEY);
     }
 
     @Override
     public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
-        String reqId = Optional.ofNullable(request.getHeaders().get(HEADER)).orElse(UUID.randomUUID().toString());
+        SpanContext span = Span.current().getSpanContext();
+        String reqId = span.isValid() ? span.getTraceId()
+                : Optional.ofNullable(request.getHeaders().get(HEADER)).orElse(UUID.randomUUID().toString());
         MDC.put(MDC_KEY, reqId);
         Publisher<MutableHttpResponse<?>> upstream = chain.proceed(request);
 
@@ -42,7 +60,7 @@ public class RequestIdFilter implements HttpServerFilter {
 
                     @Override
                     public void onNext(MutableHttpResponse<?> mutableHttpResponse) {
-                        s.onNext(mutableHttpResponse);
+                        s.onNext(mutableHttpResponse.header(HEADER, reqId));
                     }
 
                     @Override
@@ -0,0 +1,8 @@
+ALTER TABLE pokemons ADD COLUMN pokeapi_id INT NULL;
+ALTER TABLE pokemons ADD COLUMN name VARCHAR(255) NULL;
+ALTER TABLE pokemons ADD COLUMN types VARCHAR(255) NULL;
+ALTER TABLE pokemons ADD COLUMN base_stats VARCHAR(512) NULL;
+ALTER TABLE pokemons ADD COLUMN abilities VARCHAR(512) NULL;
+ALTER TABLE pokemons ADD COLUMN sprites TEXT NULL;
+ALTER TABLE pokemons ADD COLUMN source_url VARCHAR(512) NULL;
+CREATE INDEX idx_pokemons_pokeapi_id ON pokemons (pokeapi_id);
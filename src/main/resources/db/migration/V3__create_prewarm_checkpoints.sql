@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS prewarm_checkpoints (
+    job VARCHAR(64) NOT NULL PRIMARY KEY,
+    last_id INT NOT NULL,
+    updated_at BIGINT NOT NULL
+);
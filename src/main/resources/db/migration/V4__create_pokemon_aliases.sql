@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS pokemon_aliases (
+    alias VARCHAR(255) NOT NULL PRIMARY KEY,
+    pokeapi_id INT NOT NULL
+);
+INSERT IGNORE INTO pokemon_aliases (alias, pokeapi_id)
+    SELECT DISTINCT LOWER(name), pokeapi_id FROM pokemons WHERE pokeapi_id IS NOT NULL AND name IS NOT NULL;
@@ -0,0 +1,2 @@
+ALTER TABLE pokemons ADD COLUMN etag VARCHAR(255) NULL;
+ALTER TABLE pokemons ADD COLUMN last_modified VARCHAR(64) NULL;
@@ -0,0 +1,3 @@
+ALTER TABLE pokemons ADD COLUMN payload_gz MEDIUMBLOB NULL;
+-- 0: plain JSON in payload (rows written before V6), 1: gzip in payload_gz
+ALTER TABLE pokemons ADD COLUMN payload_format TINYINT NOT NULL DEFAULT 0;
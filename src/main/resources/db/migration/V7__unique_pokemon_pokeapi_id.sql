@@ -0,0 +1,11 @@
+-- keep one row per PokeAPI id: the most recently updated one, and drop legacy rows saved under
+-- the numeric identifier of a pokemon that already has a projected row
+DELETE FROM pokemons WHERE id IN (
+    SELECT id FROM (
+        SELECT p.id FROM pokemons p JOIN pokemons q ON q.id <> p.id
+            AND ((q.pokeapi_id = p.pokeapi_id
+                    AND (q.updated_at > p.updated_at OR (q.updated_at = p.updated_at AND q.id > p.id)))
+                OR (p.pokeapi_id IS NULL AND p.identifier = CONCAT('', q.pokeapi_id)))
+    ) superseded
+);
+ALTER TABLE pokemons ADD CONSTRAINT uq_pokemon_pokeapi_id UNIQUE (pokeapi_id);
@@ -0,0 +1,174 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.valhala.mypokedex.config.PokemonFreshnessConfiguration;
+import com.valhala.mypokedex.config.RedisCacheConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the adapter against an embedded redis-server on a free local port and checks what it
+ * wrote with a plain Lettuce client.
+ */
+class PokemonRedisCacheAdapterTest {
+
+    private RedisServer server;
+    private RedisCacheConfiguration config;
+    private PokemonRedisCacheAdapter adapter;
+    private RedisClient rawClient;
+    private StatefulRedisConnection<String, String> raw;
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // soft TTL = TTL, so entries never go stale and the (absent) loader is never called
+    static PokemonFreshnessConfiguration freshness(RedisCacheConfiguration config) {
+        PokemonFreshnessConfiguration freshness = new PokemonFreshnessConfiguration();
+        freshness.setSoftTtlSeconds(config.getTtlSeconds());
+        return freshness;
+    }
+
+    @BeforeEach
+    void start() throws IOException {
+        config = new RedisCacheConfiguration();
+        config.setPort(freePort());
+        config.setTimeoutMs(500);
+        server = new RedisServer(config.getPort());
+        server.start();
+        rawClient = RedisClient.create(config.getUri());
+        raw = rawClient.connect();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        if (adapter != null)
+            adapter.shutdown();
+        raw.close();
+        rawClient.shutdown();
+        if (server != null)
+            server.stop();
+    }
+
+    private PokemonRedisCacheAdapter open() {
+        adapter = new PokemonRedisCacheAdapter(PokemonRedisCacheAdapter.createClient(config), config, null,
+                freshness(config), new SimpleMeterRegistry(), OpenTelemetry.noop().getTracer("test"), null, List.of());
+        return adapter;
+    }
+
+    @Test
+    void putAsyncCompletesOnceRedisHoldsTheValueAndTheTombstoneIsGone() {
+        PokemonRedisCacheAdapter cache = open();
+        RedisCommands<String, String> redis = raw.sync();
+        redis.set("tombstone:pikachu", "1");
+
+        cache.putAsync("pikachu", VersionedPokemonCodecTest.pikachu()).join();
+
+        assertEquals(Long.valueOf(1), redis.exists("pikachu"));
+        assertEquals(Long.valueOf(0), redis.exists("tombstone:pikachu"));
+        long ttl = redis.ttl("pikachu");
+        assertTrue(ttl > 0 && ttl <= config.getTtlSeconds(), "expected the configured TTL, was " + ttl);
+        assertEquals(VersionedPokemonCodecTest.pikachu(), cache.get("pikachu").orElseThrow());
+    }
+
+    @Test
+    void tombstonesOfSeveralKeysComeBackFromOneLookup() {
+        PokemonRedisCacheAdapter cache = open();
+        raw.sync().set("tombstone:typomon", "1");
+        raw.sync().set("tombstone:ghostmon", "1");
+        raw.sync().set("pikachu", "not a tombstone");
+
+        assertEquals(Set.of("typomon", "ghostmon"), cache.hasTombstones(List.of("typomon", "pikachu", "ghostmon", "mew")));
+        assertEquals(Set.of(), cache.hasTombstones(List.of()));
+    }
+
+    @Test
+    void putDoesNotWaitForTheReply() {
+        PokemonRedisCacheAdapter cache = open();
+
+        cache.put("pikachu", VersionedPokemonCodecTest.pikachu());
+
+        // the write is only queued; it shows up once Redis processed it
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (raw.sync().exists("pikachu") == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(VersionedPokemonCodecTest.pikachu(), cache.get("pikachu").orElseThrow());
+    }
+
+    @Test
+    void commandsTimeOutWhenRedisGoesAway() throws IOException {
+        RedisClient client = PokemonRedisCacheAdapter.createClient(config);
+        assertTrue(client.getOptions().getTimeoutOptions().isTimeoutCommands());
+        PokemonRedisCacheAdapter cache = open();
+        cache.putAsync("pikachu", VersionedPokemonCodecTest.pikachu()).join();
+        client.shutdown();
+
+        server.stop();
+        server = null;
+
+        // commands buffered for the lost connection expire after redis.timeout-ms instead of
+        // waiting for a reconnect; writes complete (the failure is logged), reads miss
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            cache.putAsync("ditto", VersionedPokemonCodecTest.pikachu()).join();
+            assertTrue(cache.get("pikachu").isEmpty());
+            assertTrue(cache.getAll(List.of("pikachu", "ditto")).isEmpty());
+            assertFalse(cache.hasTombstone("pikachu"));
+        });
+    }
+
+    @Test
+    void pooledReadsServeConcurrentCallers() throws Exception {
+        config.setPoolEnabled(true);
+        config.setPoolMaxTotal(2);
+        config.setTimeoutMs(2000); // also the longest a caller waits for a pooled connection
+        PokemonRedisCacheAdapter cache = open();
+        PokemonDTO pikachu = VersionedPokemonCodecTest.pikachu();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add("pokemon-" + i);
+            cache.putAsync(keys.get(i), pikachu).join();
+        }
+
+        // more callers than pooled connections: the rest wait for a free one
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Map<String, PokemonDTO>>> reads = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                reads.add(() -> cache.getAll(keys));
+            }
+            for (Future<Map<String, PokemonDTO>> read : callers.invokeAll(reads)) {
+                Map<String, PokemonDTO> found = read.get();
+                assertEquals(keys.size(), found.size());
+                assertEquals(pikachu, found.get("pokemon-7"));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(pikachu, cache.get("pokemon-3").orElseThrow());
+        assertTrue(cache.get("missing").isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.valhala.mypokedex.config.RedisCacheConfiguration;
+import com.valhala.mypokedex.config.TieredCacheConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCacheListener;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two tiered adapters stand in for two nodes sharing one embedded redis-server: the L2 and the
+ * invalidation channel are shared, each has its own L1.
+ */
+class PokemonTieredCacheAdapterTest {
+
+    private RedisServer server;
+    private RedisCacheConfiguration config;
+    private final List<PokemonTieredCacheAdapter> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        config = new RedisCacheConfiguration();
+        config.setPort(PokemonRedisCacheAdapterTest.freePort());
+        config.setTimeoutMs(500);
+        server = new RedisServer(config.getPort());
+        server.start();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        nodes.forEach(PokemonTieredCacheAdapter::shutdown);
+        if (server != null)
+            server.stop();
+    }
+
+    private void stopServer() throws IOException {
+        server.stop();
+        server = null;
+    }
+
+    private PokemonTieredCacheAdapter node() {
+        return node(key -> {
+        });
+    }
+
+    private PokemonTieredCacheAdapter node(PokemonCacheListener listener) {
+        PokemonTieredCacheAdapter node = new PokemonTieredCacheAdapter(config, new TieredCacheConfiguration(), null,
+                PokemonRedisCacheAdapterTest.freshness(config), new SimpleMeterRegistry(),
+                OpenTelemetry.noop().getTracer("test"), List.of(listener));
+        nodes.add(node);
+        return node;
+    }
+
+    private static PokemonDTO pikachu(String sourceUrl) {
+        PokemonDTO base = VersionedPokemonCodecTest.pikachu();
+        return new PokemonDTO(base.id(), base.identifier(), base.types(), base.baseStats(), base.sprites(),
+                base.abilities(), sourceUrl);
+    }
+
+    private static <T> void eventually(T expected, Supplier<T> actual) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!expected.equals(actual.get()) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, actual.get());
+    }
+
+    @Test
+    void otherNodesReadTheNewValueOnceTheyAreTold() {
+        PokemonTieredCacheAdapter writer = node();
+        PokemonTieredCacheAdapter reader = node();
+        writer.put("25", pikachu("v1"));
+        eventually(Optional.of(pikachu("v1")), () -> reader.get("25")); // now in the reader's L1
+
+        writer.put("25", pikachu("v2"));
+
+        // the invalidation is published only after L2 acknowledged v2, so the reader's refill
+        // after dropping its L1 copy can not pick up v1 again
+        eventually(Optional.of(pikachu("v2")), () -> reader.get("25"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(pikachu("v2"), reader.get("25").orElseThrow());
+        }
+        assertEquals(Map.of("25", pikachu("v2")), reader.getAll(List.of("25")));
+    }
+
+    @Test
+    void anL2HitFillsL1() throws IOException {
+        PokemonTieredCacheAdapter writer = node();
+        PokemonTieredCacheAdapter reader = node();
+        writer.put("25", pikachu("v1"));
+        eventually(Optional.of(pikachu("v1")), () -> reader.get("25"));
+
+        stopServer(); // L2 is gone: only the reader's own L1 can answer now
+
+        assertEquals(pikachu("v1"), reader.get("25").orElseThrow());
+        assertTrue(reader.get("26").isEmpty());
+    }
+
+    @Test
+    void getAllMergesL1HitsWithL2Hits() throws IOException {
+        PokemonTieredCacheAdapter writer = node();
+        PokemonTieredCacheAdapter reader = node();
+        writer.put("1", pikachu("one"));
+        eventually(Optional.of(pikachu("one")), () -> reader.get("1")); // "1" is in the reader's L1
+        writer.put("2", pikachu("two")); // "2" only in L2
+
+        eventually(Map.of("1", pikachu("one"), "2", pikachu("two")), () -> reader.getAll(List.of("1", "2", "3")));
+
+        stopServer(); // both now come from the reader's L1
+        assertEquals(Map.of("1", pikachu("one"), "2", pikachu("two")), reader.getAll(List.of("1", "2")));
+    }
+
+    @Test
+    void aNodeSkipsItsOwnInvalidations() throws Exception {
+        List<String> published = new CopyOnWriteArrayList<>();
+        RedisClient client = RedisClient.create(config.getUri());
+        StatefulRedisPubSubConnection<String, String> subscriber = client.connectPubSub();
+        subscriber.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String channel, String message) {
+                published.add(message);
+            }
+        });
+        subscriber.sync().subscribe(new TieredCacheConfiguration().getInvalidationChannel());
+        List<String> invalidated = new CopyOnWriteArrayList<>();
+        PokemonTieredCacheAdapter node = node(invalidated::add);
+        try {
+            node.put("25", pikachu("v1"));
+            eventually(1, published::size);
+            invalidated.clear(); // the put's own notification
+
+            node.onInvalidation(published.get(0));
+            assertEquals(List.of(), invalidated);
+
+            node.onInvalidation("another-node|25");
+            assertEquals(List.of("25"), invalidated);
+        } finally {
+            subscriber.close();
+            client.shutdown();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Value size and encode/decode cost of the Redis codecs on a fully populated pokemon (all
+ * sprite variants, six stats). Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class PokemonValueCodecBenchmarkTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void binaryIsSmallerAndFasterThanJson() throws IOException {
+        PokemonDTO dto = charizard();
+        Result json = measure("json", VersionedPokemonCodec.named("json"), dto);
+        Result binary = measure("binary", VersionedPokemonCodec.named("binary"), dto);
+
+        System.out.printf("size binary/json: %.2f  encode: %.1fx  decode: %.1fx faster%n",
+                (double) binary.bytes / json.bytes, json.encodeNs / binary.encodeNs, json.decodeNs / binary.decodeNs);
+        assertTrue(binary.bytes < json.bytes, "binary values should be smaller");
+        assertTrue(binary.decodeNs < json.decodeNs, "binary values should decode faster");
+    }
+
+    private record Result(int bytes, double encodeNs, double decodeNs) {
+    }
+
+    private static Result measure(String name, VersionedPokemonCodec codec, PokemonDTO dto) throws IOException {
+        byte[] encoded = codec.encode(dto);
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += codec.encode(dto).length + codec.decode(encoded).id();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.encode(dto).length;
+        }
+        double encodeNs = (System.nanoTime() - start) / (double) ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.decode(encoded).id();
+        }
+        double decodeNs = (System.nanoTime() - start) / (double) ITERATIONS;
+        System.out.printf("%-6s %4d bytes  encode %6.0f ns  decode %6.0f ns  (sink %d)%n", name, encoded.length,
+                encodeNs, decodeNs, sink);
+        return new Result(encoded.length, encodeNs, decodeNs);
+    }
+
+    private static PokemonDTO charizard() {
+        String base = "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
+        Map<String, String> sprites = new LinkedHashMap<>();
+        for (String side : List.of("front", "back")) {
+            for (String variant : List.of("default", "shiny", "female", "shiny_female")) {
+                String path = (side.equals("back") ? "back/" : "") + (variant.contains("shiny") ? "shiny/" : "")
+                        + (variant.contains("female") ? "female/" : "") + "6.png";
+                sprites.put(side + "_" + variant, variant.contains("female") ? null : base + path);
+            }
+        }
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        stats.put("hp", 78);
+        stats.put("attack", 84);
+        stats.put("defense", 78);
+        stats.put("special-attack", 109);
+        stats.put("special-defense", 85);
+        stats.put("speed", 100);
+        return new PokemonDTO(6, "charizard", List.of("fire", "flying"), stats, sprites,
+                List.of("blaze", "solar-power"), "https://pokeapi.co/api/v2/pokemon/charizard");
+    }
+}
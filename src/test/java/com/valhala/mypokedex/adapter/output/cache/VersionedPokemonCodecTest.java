@@ -0,0 +1,68 @@
+package com.valhala.mypokedex.adapter.output.cache;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedPokemonCodecTest {
+
+    static PokemonDTO pikachu() {
+        Map<String, String> sprites = new HashMap<>();
+        sprites.put("front_default", "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/25.png");
+        sprites.put("back_female", null);
+        sprites.put("official_artwork", "https://img.example.org/pikachu.png");
+        return new PokemonDTO(25, "pikachu", List.of("electric"), Map.of("hp", 35, "speed", 90), sprites,
+                List.of("static", "lightning-rod"), "https://pokeapi.co/api/v2/pokemon/pikachu");
+    }
+
+    @Test
+    void bothFormatsRoundTrip() throws IOException {
+        for (String name : List.of("json", "binary")) {
+            VersionedPokemonCodec codec = VersionedPokemonCodec.named(name);
+            assertEquals(pikachu(), codec.decode(codec.encode(pikachu())), name);
+        }
+    }
+
+    @Test
+    void binaryHandlesNullsAndNegativeNumbers() throws IOException {
+        Map<String, Integer> stats = new HashMap<>();
+        stats.put("weird", -7);
+        stats.put("unknown", null);
+        PokemonDTO dto = new PokemonDTO(-1, null, null, stats, null, List.of(), "ünïcödé");
+        VersionedPokemonCodec codec = VersionedPokemonCodec.named("binary");
+
+        assertEquals(dto, codec.decode(codec.encode(dto)));
+    }
+
+    @Test
+    void readsEveryFormatWhateverItWrites() throws IOException {
+        byte[] fromJson = VersionedPokemonCodec.named("json").encode(pikachu());
+        byte[] fromBinary = VersionedPokemonCodec.named("binary").encode(pikachu());
+        // values cached before the format byte existed
+        byte[] legacy = ("{\"id\":25,\"identifier\":\"pikachu\",\"types\":[\"electric\"],\"base_stats\":{},"
+                + "\"sprites\":{},\"abilities\":[],\"source_url\":\"src\"}").getBytes(StandardCharsets.UTF_8);
+
+        VersionedPokemonCodec reader = VersionedPokemonCodec.named("binary");
+        assertEquals(pikachu(), reader.decode(fromJson));
+        assertEquals(pikachu(), reader.decode(fromBinary));
+        assertEquals("pikachu", reader.decode(legacy).identifier());
+        assertTrue(fromBinary.length < fromJson.length, "binary should be smaller than JSON");
+    }
+
+    @Test
+    void rejectsUnknownFormatsAndTruncatedValues() throws IOException {
+        VersionedPokemonCodec codec = VersionedPokemonCodec.named("binary");
+        byte[] encoded = codec.encode(pikachu());
+
+        assertThrows(IOException.class, () -> codec.decode(new byte[] { 9, 1, 2 }));
+        assertThrows(IOException.class, () -> codec.decode(java.util.Arrays.copyOf(encoded, encoded.length / 2)));
+        assertThrows(IllegalArgumentException.class, () -> VersionedPokemonCodec.named("xml"));
+    }
+}
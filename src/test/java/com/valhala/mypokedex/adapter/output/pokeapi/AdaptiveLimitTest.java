@@ -0,0 +1,45 @@
+package com.valhala.mypokedex.adapter.output.pokeapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void slowOrFailedCallsShrinkTheLimitDownToMin() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 16, THRESHOLD, 0.5);
+
+        limit.onSample(THRESHOLD + 1, 16, false);
+        assertEquals(8, limit.current());
+        limit.onSample(FAST, 8, true);
+        assertEquals(4, limit.current());
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(FAST, 4, true);
+        }
+        assertEquals(2, limit.current());
+    }
+
+    @Test
+    void fastCallsGrowTheLimitOnlyWhileItIsUsed() {
+        AdaptiveLimit limit = new AdaptiveLimit(1, 16, THRESHOLD, 0.5);
+        limit.onSample(FAST, 16, true);
+        assertEquals(8, limit.current());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST, 1, false); // mostly idle
+        }
+        assertEquals(8, limit.current());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST, limit.current(), false);
+        }
+        assertTrue(limit.current() > 8);
+        assertTrue(limit.current() <= 16);
+    }
+}
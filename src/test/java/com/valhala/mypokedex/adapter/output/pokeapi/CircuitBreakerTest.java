@@ -0,0 +1,80 @@
+package com.valhala.mypokedex.adapter.output.pokeapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<CircuitBreaker.State> transitions = new ArrayList<>();
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, 1_000, 2, clock::get, transitions::add);
+
+    @Test
+    void opensOnceFailureRateReachesThresholdAfterMinimumCalls() {
+        record(false, true, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "below minimum calls");
+
+        record(false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(List.of(CircuitBreaker.State.OPEN), transitions);
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker small = new CircuitBreaker(4, 4, 50, 1_000, 2, clock::get, transitions::add);
+        for (boolean failed : new boolean[] { false, false, false, false, true }) {
+            assertTrue(small.tryAcquire());
+            record(small, failed);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, small.state());
+
+        // 2 of the last 4 failed, although only 2 of all 6 calls did
+        assertTrue(small.tryAcquire());
+        record(small, true);
+        assertEquals(CircuitBreaker.State.OPEN, small.state());
+    }
+
+    @Test
+    void halfOpenProbesCloseOrReopen() {
+        record(true, true, true, true);
+        clock.addAndGet(1_000);
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "only the configured number of probes");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        clock.addAndGet(1_000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(List.of(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.OPEN,
+                CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED), transitions);
+    }
+
+    private void record(boolean... failures) {
+        for (boolean failed : failures) {
+            assertTrue(breaker.tryAcquire());
+            record(breaker, failed);
+        }
+    }
+
+    private static void record(CircuitBreaker breaker, boolean failed) {
+        if (failed) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+}
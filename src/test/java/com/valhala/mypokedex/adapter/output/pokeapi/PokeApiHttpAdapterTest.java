@@ -0,0 +1,264 @@
+package com.valhala.mypokedex.adapter.output.pokeapi;
+
+import com.valhala.mypokedex.config.PokeApiConfiguration;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamResponse;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokeApiHttpAdapterTest {
+
+    private static final String BLOCKING_THREAD = "pokemon-blocking-test";
+
+    private MockWebServer server;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        executor = Executors.newCachedThreadPool(task -> new Thread(task, BLOCKING_THREAD));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    private PokeApiHttpAdapter adapter(PokeApiConfiguration config) {
+        return adapter(config, OpenTelemetry.noop());
+    }
+
+    private PokeApiHttpAdapter adapter(PokeApiConfiguration config, OpenTelemetry otel) {
+        return new PokeApiHttpAdapter(config, new SimpleMeterRegistry(), otel.getTracer("test"),
+                otel.getPropagators().getTextMapPropagator(), executor);
+    }
+
+    private PokeApiHttpAdapter adapter(int maxConcurrency) {
+        PokeApiConfiguration config = new PokeApiConfiguration();
+        config.setBaseUrl(server.url("/api/v2/pokemon").toString());
+        config.setInitialBackoffMs(10);
+        config.setMaxConcurrency(maxConcurrency);
+        return adapter(config);
+    }
+
+    @Test
+    void returnsBodyOnSuccess() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{\"id\":25}"));
+
+        Optional<byte[]> body = adapter(4).fetchPokemonRawAsync("pikachu", Runnable::run).get(5, TimeUnit.SECONDS);
+
+        assertEquals("{\"id\":25}", new String(body.orElseThrow(), StandardCharsets.UTF_8));
+        RecordedRequest recorded = server.takeRequest();
+        assertEquals("/api/v2/pokemon/pikachu", recorded.getPath());
+    }
+
+    @Test
+    void revalidationSendsValidatorsAndMapsNotModified() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        UpstreamResponse resp = adapter(4)
+                .revalidateAsync("pikachu", "\"v1\"", "Wed, 01 Jan 2025 00:00:00 GMT", Runnable::run)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(UpstreamResponse.Status.NOT_MODIFIED, resp.status());
+        assertNull(resp.body());
+        RecordedRequest recorded = server.takeRequest();
+        assertEquals("\"v1\"", recorded.getHeader("If-None-Match"));
+        assertEquals("Wed, 01 Jan 2025 00:00:00 GMT", recorded.getHeader("If-Modified-Since"));
+    }
+
+    @Test
+    void okResponseCarriesValidators() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{\"id\":25}")
+                .setHeader("ETag", "W/\"abc\"").setHeader("Last-Modified", "Wed, 01 Jan 2025 00:00:00 GMT"));
+
+        UpstreamResponse resp = adapter(4).revalidateAsync("pikachu", null, null, Runnable::run).get(5, TimeUnit.SECONDS);
+
+        assertEquals(UpstreamResponse.Status.OK, resp.status());
+        assertEquals("W/\"abc\"", resp.etag());
+        assertEquals("Wed, 01 Jan 2025 00:00:00 GMT", resp.lastModified());
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    void treatsNotFoundAsEmptyWithoutRetrying() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        assertTrue(adapter(4).fetchPokemonRaw("missingmon").isEmpty());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void retriesServerErrorsWithBackoff() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("ok"));
+
+        Optional<byte[]> body = adapter(4).fetchPokemonRawAsync("ditto", Runnable::run).get(5, TimeUnit.SECONDS);
+
+        assertEquals("ok", new String(body.orElseThrow(), StandardCharsets.UTF_8));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        // a transient failure is not a 404: it must not look like an empty result
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> adapter(4).fetchPokemonRawAsync("ditto", Runnable::run).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UpstreamUnavailableException.class, ex.getCause());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void blockingCallThrowsWhenUpstreamIsUnavailable() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        assertThrows(UpstreamUnavailableException.class, () -> adapter(4).fetchPokemonRaw("ditto"));
+    }
+
+    @Test
+    void opensCircuitAndFailsFastWithoutCallingUpstream() throws Exception {
+        PokeApiConfiguration config = new PokeApiConfiguration();
+        config.setBaseUrl(server.url("/api/v2/pokemon").toString());
+        config.setMaxAttempts(1);
+        config.setBreakerWindowSize(4);
+        config.setBreakerMinimumCalls(4);
+        config.setBreakerFailureRatePercent(50);
+        PokeApiHttpAdapter adapter = adapter(config);
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertThrows(UpstreamUnavailableException.class, () -> adapter.fetchPokemonRaw("ditto"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, adapter.circuitState());
+
+        assertThrows(UpstreamUnavailableException.class, () -> adapter.fetchPokemonRaw("ditto"));
+        assertEquals(4, server.getRequestCount(), "an open circuit must not reach upstream");
+    }
+
+    @Test
+    void capsInFlightRequests() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(200).setBody("ok").setBodyDelay(100, TimeUnit.MILLISECONDS));
+        }
+        PokeApiHttpAdapter adapter = adapter(1);
+
+        List<CompletableFuture<Optional<byte[]>>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(adapter.fetchPokemonRawAsync("p" + i, Runnable::run));
+        }
+        assertTrue(adapter.inFlightRequests() <= 1);
+        for (CompletableFuture<Optional<byte[]>> f : futures) {
+            assertTrue(f.get(5, TimeUnit.SECONDS).isPresent());
+        }
+        assertEquals(0, adapter.inFlightRequests());
+    }
+
+    @Test
+    void retriesStartOnTheBlockingExecutor() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{\"id\":25}"));
+        // inject() runs in send(), on the thread that starts the attempt
+        List<String> sendingThreads = new CopyOnWriteArrayList<>();
+        TextMapPropagator recording = new TextMapPropagator() {
+            @Override
+            public Collection<String> fields() {
+                return List.of();
+            }
+
+            @Override
+            public <C> void inject(Context context, C carrier, TextMapSetter<C> setter) {
+                sendingThreads.add(Thread.currentThread().getName());
+            }
+
+            @Override
+            public <C> Context extract(Context context, C carrier, TextMapGetter<C> getter) {
+                return context;
+            }
+        };
+        PokeApiConfiguration config = new PokeApiConfiguration();
+        config.setBaseUrl(server.url("/api/v2/pokemon").toString());
+        config.setInitialBackoffMs(10);
+
+        new PokeApiHttpAdapter(config, new SimpleMeterRegistry(), OpenTelemetry.noop().getTracer("test"), recording,
+                executor).fetchPokemonRawAsync("pikachu", Runnable::run).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, sendingThreads.size());
+        assertEquals(BLOCKING_THREAD, sendingThreads.get(1), "the retry must not run on the common pool");
+    }
+
+    @Test
+    void tracesEachAttemptAndPropagatesTraceContext() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{\"id\":25}"));
+        InMemorySpanExporter spans = InMemorySpanExporter.create();
+        OpenTelemetrySdk otel = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(spans)).build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        PokeApiConfiguration config = new PokeApiConfiguration();
+        config.setBaseUrl(server.url("/api/v2/pokemon").toString());
+        config.setInitialBackoffMs(10);
+
+        adapter(config, otel).fetchPokemonRawAsync("pikachu", Runnable::run).get(5, TimeUnit.SECONDS);
+
+        SpanData fetch = spans.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("pokeapi.fetch")).findFirst().orElseThrow();
+        List<SpanData> attempts = spans.getFinishedSpanItems().stream()
+                .filter(span -> span.getKind() == SpanKind.CLIENT).toList();
+        assertEquals(2, attempts.size());
+        assertEquals("retry", fetch.getEvents().get(0).getName());
+        for (int i = 0; i < attempts.size(); i++) {
+            SpanData attempt = attempts.get(i);
+            assertEquals(fetch.getSpanId(), attempt.getParentSpanId());
+            assertEquals((long) i, attempt.getAttributes().get(AttributeKey.longKey("http.request.resend_count")));
+            assertEquals("00-" + attempt.getTraceId() + "-" + attempt.getSpanId() + "-01",
+                    server.takeRequest().getHeader("traceparent"));
+        }
+        assertEquals(503L, attempts.get(0).getAttributes().get(AttributeKey.longKey("http.response.status_code")));
+        assertEquals(200L, attempts.get(1).getAttributes().get(AttributeKey.longKey("http.response.status_code")));
+        otel.close();
+    }
+}
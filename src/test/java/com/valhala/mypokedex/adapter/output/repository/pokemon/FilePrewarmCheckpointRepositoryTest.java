@@ -0,0 +1,54 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.config.MappedRepositoryConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilePrewarmCheckpointRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private FilePrewarmCheckpointRepository open() {
+        MappedRepositoryConfiguration config = new MappedRepositoryConfiguration();
+        config.setPath(dir.resolve("pokemons.log").toString());
+        return new FilePrewarmCheckpointRepository(config);
+    }
+
+    @Test
+    void savesOverwritesAndClearsCheckpoint() {
+        FilePrewarmCheckpointRepository checkpoints = open();
+        assertTrue(checkpoints.findLastId("test-job").isEmpty());
+
+        checkpoints.saveLastId("test-job", 50);
+        checkpoints.saveLastId("test-job", 100);
+        checkpoints.saveLastId("other-job", 7);
+        assertEquals(OptionalInt.of(100), checkpoints.findLastId("test-job"));
+
+        checkpoints.clear("test-job");
+        assertTrue(checkpoints.findLastId("test-job").isEmpty());
+        assertEquals(OptionalInt.of(7), checkpoints.findLastId("other-job"));
+    }
+
+    @Test
+    void checkpointsSurviveARestartAndNoTemporaryFileIsLeft() {
+        open().saveLastId("test-job", 300);
+
+        assertEquals(OptionalInt.of(300), open().findLastId("test-job"));
+        assertTrue(Files.exists(dir.resolve("prewarm-checkpoints.properties")));
+        assertFalse(Files.exists(dir.resolve("prewarm-checkpoints.properties.tmp")));
+    }
+
+    @Test
+    void anInvalidCheckpointIsIgnored() throws Exception {
+        Files.writeString(dir.resolve("prewarm-checkpoints.properties"), "test-job=not-a-number\n");
+
+        assertTrue(open().findLastId("test-job").isEmpty());
+    }
+}
@@ -0,0 +1,28 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class JdbcPokemonAliasRepositoryTest {
+
+    @Inject
+    JdbcPokemonAliasRepository aliases;
+
+    @Test
+    void savesAndResolvesAliases() {
+        assertTrue(aliases.findPokeapiId("test-alias-mon").isEmpty());
+
+        aliases.saveAll(Map.of("test-alias-mon", 900, "test-alias-other", 901));
+        aliases.saveAll(Map.of("test-alias-mon", 902));
+
+        assertEquals(OptionalInt.of(902), aliases.findPokeapiId("test-alias-mon"));
+        assertEquals(OptionalInt.of(901), aliases.findPokeapiId("test-alias-other"));
+    }
+}
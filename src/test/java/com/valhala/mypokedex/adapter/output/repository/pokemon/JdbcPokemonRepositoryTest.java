@@ -1,5 +1,6 @@
 package com.valhala.mypokedex.adapter.output.repository.pokemon;
 
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
 import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
@@ -9,7 +10,15 @@ import org.junit.jupiter.api.Test;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -71,5 +80,205 @@ class JdbcPokemonRepositoryTest {
         PokemonEntity found = opt.get();
         assertEquals("second", found.getPayload(), "Payload should be updated to latest value");
     }
-}
 
+    @Test
+    void saveWithProjectionReturnsFullDtoWithoutPayloadParsing() {
+        Map<String, String> sprites = new HashMap<>();
+        sprites.put("front_default", "https://img.pk/25.png");
+        sprites.put("back_female", null);
+        PokemonDTO projection = new PokemonDTO(
+                25,
+                "pikachu",
+                List.of("electric"),
+                Map.of("speed", 90, "hp", 35),
+                sprites,
+                List.of("static", "lightning-rod"),
+                "https://pokeapi.co/api/v2/pokemon/pikachu");
+
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier("pikachu");
+        e.setPayload("not-parsed-on-read");
+        e.setProjection(projection);
+        repository.save(e);
+
+        Optional<PokemonEntity> byName = repository.findByIdentifier("pikachu");
+        assertTrue(byName.isPresent());
+        assertEquals(projection, byName.get().getProjection());
+
+        // numeric lookups resolve through the pokeapi_id index
+        Optional<PokemonEntity> byId = repository.findByIdentifier("25");
+        assertTrue(byId.isPresent());
+        assertEquals("pikachu", byId.get().getIdentifier());
+        assertEquals(projection, byId.get().getProjection());
+    }
+
+    @Test
+    void legacyRowWithoutProjectionHasNullProjection() {
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier("squirtle");
+        e.setPayload("{}");
+        repository.save(e);
+
+        Optional<PokemonEntity> opt = repository.findByIdentifier("squirtle");
+        assertTrue(opt.isPresent());
+        assertNull(opt.get().getProjection());
+    }
+
+    @Test
+    void findAllByIdentifiersReturnsHitsKeyedByRequestedIdentifier() {
+        PokemonEntity bulbasaur = new PokemonEntity();
+        bulbasaur.setIdentifier("bulbasaur");
+        bulbasaur.setPayload("{}");
+        repository.save(bulbasaur);
+
+        PokemonEntity pikachu = new PokemonEntity();
+        pikachu.setIdentifier("pikachu");
+        pikachu.setPayload("{}");
+        pikachu.setProjection(new PokemonDTO(25, "pikachu", List.of("electric"), Map.of(), Map.of(), List.of(), "src"));
+        repository.save(pikachu);
+
+        Map<String, PokemonEntity> found = repository.findAllByIdentifiers(List.of("bulbasaur", "25", "missing"));
+
+        assertEquals(2, found.size());
+        assertEquals("bulbasaur", found.get("bulbasaur").getIdentifier());
+        assertEquals("pikachu", found.get("25").getIdentifier());
+        assertFalse(found.containsKey("missing"));
+    }
+
+    @Test
+    void saveAllUpsertsEveryEntityInOneBatch() {
+        PokemonEntity existing = new PokemonEntity();
+        existing.setIdentifier("eevee");
+        existing.setPayload("old");
+        repository.save(existing);
+
+        PokemonEntity updated = new PokemonEntity();
+        updated.setIdentifier("eevee");
+        updated.setPayload("new");
+        updated.setProjection(new PokemonDTO(133, "eevee", List.of("normal"), Map.of(), Map.of(), List.of(), "src"));
+        PokemonEntity inserted = new PokemonEntity();
+        inserted.setIdentifier("vaporeon");
+        inserted.setPayload("{}");
+
+        repository.saveAll(List.of(updated, inserted));
+
+        assertEquals("new", repository.findByIdentifier("eevee").orElseThrow().getPayload());
+        assertEquals(133, repository.findByIdentifier("133").orElseThrow().getProjection().id());
+        assertTrue(repository.findByIdentifier("vaporeon").isPresent());
+    }
+
+    @Test
+    void validatorsRoundTripAndTouchStoresTheConfirmedOnes() {
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier("jigglypuff");
+        e.setPayload("original");
+        e.setEtag("W/\"39\"");
+        e.setLastModified("Wed, 01 Jan 2025 00:00:00 GMT");
+        e.setUpdatedAt(Instant.ofEpochSecond(1_000));
+        e.setExpiresAt(Instant.ofEpochSecond(2_000));
+        repository.save(e);
+
+        PokemonEntity confirmed = new PokemonEntity();
+        confirmed.setIdentifier("jigglypuff");
+        confirmed.setEtag("W/\"40\"");
+        confirmed.setLastModified("Wed, 01 Jan 2025 00:00:00 GMT");
+
+        repository.touch(List.of(confirmed), Instant.ofEpochSecond(5_000), Instant.ofEpochSecond(9_000));
+
+        PokemonEntity found = repository.findByIdentifier("jigglypuff").orElseThrow();
+        assertEquals("W/\"40\"", found.getEtag());
+        assertEquals("Wed, 01 Jan 2025 00:00:00 GMT", found.getLastModified());
+        assertEquals("original", found.getPayload());
+        assertEquals(Instant.ofEpochSecond(5_000), found.getUpdatedAt());
+        assertEquals(Instant.ofEpochSecond(9_000), found.getExpiresAt());
+    }
+
+    @Test
+    void aPokeapiIdHasOneRowWhicheverIdentifierSavedIt() throws Exception {
+        PokemonDTO projection = new PokemonDTO(25, "pikachu", List.of("electric"), Map.of(), Map.of(), List.of(), "src");
+        PokemonEntity byName = new PokemonEntity();
+        byName.setIdentifier("pikachu");
+        byName.setPayload("by name");
+        byName.setProjection(projection);
+        repository.save(byName);
+
+        PokemonEntity byId = new PokemonEntity();
+        byId.setIdentifier("25");
+        byId.setPayload("by id");
+        byId.setProjection(projection);
+        repository.save(byId);
+
+        try (Connection c = dataSource.getConnection();
+                PreparedStatement ps = c.prepareStatement("SELECT identifier FROM pokemons WHERE pokeapi_id = 25");
+                ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+            assertEquals("25", rs.getString("identifier"));
+            assertFalse(rs.next(), "expected a single row for pokeapi_id 25");
+        }
+        assertEquals("by id", repository.findByIdentifier("25").orElseThrow().getPayload());
+    }
+
+    @Test
+    void payloadIsStoredGzippedAndLegacyPlainRowsStayReadable() throws Exception {
+        String json = "{\"name\":\"snorlax\",\"moves\":[" + "\"tackle\",".repeat(200) + "\"rest\"]}";
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier("snorlax");
+        e.setPayload(json);
+        repository.save(e);
+
+        try (Connection c = dataSource.getConnection();
+                PreparedStatement ps = c.prepareStatement(
+                        "SELECT payload, payload_gz, payload_format FROM pokemons WHERE identifier = 'snorlax'");
+                ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+            assertNull(rs.getString("payload"));
+            assertEquals(1, rs.getInt("payload_format"));
+            assertTrue(rs.getBytes("payload_gz").length < json.length(), "payload should be compressed");
+        }
+        assertEquals(json, repository.findByIdentifier("snorlax").orElseThrow().getPayload());
+
+        try (Connection c = dataSource.getConnection(); PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO pokemons (identifier, payload, updated_at, expires_at) VALUES ('mew', '{\"legacy\":true}', 1, 2)")) {
+            ps.executeUpdate();
+        }
+        assertEquals("{\"legacy\":true}", repository.findByIdentifier("mew").orElseThrow().getPayload());
+    }
+
+    @Test
+    void lookupsLeaveThePayloadInTheDatabaseUntilItIsRead() throws Exception {
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier("ditto");
+        e.setPayload("{\"name\":\"ditto\"}");
+        repository.save(e);
+
+        PokemonEntity found = repository.findByIdentifier("ditto").orElseThrow();
+        PokemonEntity batched = repository.findAllByIdentifiers(List.of("ditto")).get("ditto");
+        try (Connection c = dataSource.getConnection(); PreparedStatement ps = c.prepareStatement(
+                "UPDATE pokemons SET payload = '{\"transformed\":true}', payload_gz = NULL, payload_format = 0 "
+                        + "WHERE identifier = 'ditto'")) {
+            ps.executeUpdate();
+        }
+
+        // fetched by row id on first access, so the later write shows
+        assertEquals("{\"transformed\":true}", found.getPayload());
+        assertEquals("{\"transformed\":true}", batched.getPayload());
+    }
+
+    @Test
+    void forEachPagesThroughEveryRow() {
+        List<PokemonEntity> rows = new ArrayList<>();
+        for (int i = 0; i < 501; i++) { // one full page of 500 and one more
+            PokemonEntity e = new PokemonEntity();
+            e.setIdentifier("scan-" + i);
+            e.setPayload("payload " + i);
+            rows.add(e);
+        }
+        repository.saveAll(rows);
+
+        Set<String> seen = new HashSet<>();
+        repository.forEach(e -> seen.add(e.getIdentifier()));
+
+        assertEquals(501, seen.size());
+        assertTrue(seen.contains("scan-0") && seen.contains("scan-500"));
+    }
+}
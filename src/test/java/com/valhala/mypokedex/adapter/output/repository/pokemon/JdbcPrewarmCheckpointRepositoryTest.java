@@ -0,0 +1,28 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class JdbcPrewarmCheckpointRepositoryTest {
+
+    @Inject
+    JdbcPrewarmCheckpointRepository checkpoints;
+
+    @Test
+    void savesOverwritesAndClearsCheckpoint() {
+        assertTrue(checkpoints.findLastId("test-job").isEmpty());
+
+        checkpoints.saveLastId("test-job", 50);
+        checkpoints.saveLastId("test-job", 100);
+        assertEquals(OptionalInt.of(100), checkpoints.findLastId("test-job"));
+
+        checkpoints.clear("test-job");
+        assertTrue(checkpoints.findLastId("test-job").isEmpty());
+    }
+}
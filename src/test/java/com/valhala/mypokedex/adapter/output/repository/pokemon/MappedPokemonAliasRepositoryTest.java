@@ -0,0 +1,89 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.config.MappedRepositoryConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedPokemonAliasRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<MappedPokemonRepository> opened = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        opened.forEach(MappedPokemonRepository::close);
+    }
+
+    private MappedPokemonAliasRepository open() {
+        MappedRepositoryConfiguration config = new MappedRepositoryConfiguration();
+        config.setPath(dir.resolve("pokemons.log").toString());
+        config.setInitialSizeBytes(4096);
+        MappedPokemonRepository rows = new MappedPokemonRepository(config, new SimpleMeterRegistry());
+        opened.add(rows);
+        return new MappedPokemonAliasRepository(rows, config);
+    }
+
+    @Test
+    void savesAndResolvesAliases() {
+        MappedPokemonAliasRepository aliases = open();
+        assertTrue(aliases.findPokeapiId("test-alias-mon").isEmpty());
+
+        aliases.saveAll(Map.of("test-alias-mon", 900, "test-alias-other", 901));
+        aliases.saveAll(Map.of("test-alias-mon", 902));
+
+        assertEquals(OptionalInt.of(902), aliases.findPokeapiId("test-alias-mon"));
+        assertEquals(OptionalInt.of(901), aliases.findPokeapiId("test-alias-other"));
+        assertTrue(aliases.findPokeapiId(null).isEmpty());
+    }
+
+    @Test
+    void namesOfStoredPokemonsResolveThroughTheLog() {
+        MappedPokemonAliasRepository aliases = open();
+        PokemonEntity pikachu = new PokemonEntity();
+        pikachu.setIdentifier("25");
+        pikachu.setPayload("{\"name\":\"pikachu\"}");
+        pikachu.setProjection(new PokemonDTO(25, "pikachu", List.of("electric"), Map.of(), Map.of(), List.of(),
+                "https://pokeapi.co/api/v2/pokemon/25/"));
+        opened.get(0).save(pikachu);
+
+        assertEquals(OptionalInt.of(25), aliases.findPokeapiId("pikachu"));
+    }
+
+    @Test
+    void learnedAliasesSurviveARestart() {
+        open().saveAll(Map.of("mr-mime", 122, "mr.mime", 122));
+        close();
+        opened.clear();
+
+        MappedPokemonAliasRepository reopened = open();
+
+        assertEquals(OptionalInt.of(122), reopened.findPokeapiId("mr-mime"));
+        assertEquals(OptionalInt.of(122), reopened.findPokeapiId("mr.mime"));
+        assertFalse(Files.exists(dir.resolve("pokemon-aliases.properties.tmp")));
+    }
+
+    @Test
+    void anInvalidPersistedAliasIsSkipped() throws Exception {
+        Files.writeString(dir.resolve("pokemon-aliases.properties"), "broken=not-a-number\nditto=132\n");
+
+        MappedPokemonAliasRepository aliases = open();
+
+        assertTrue(aliases.findPokeapiId("broken").isEmpty());
+        assertEquals(OptionalInt.of(132), aliases.findPokeapiId("ditto"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.config.MappedRepositoryConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedPokemonRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private MappedRepositoryConfiguration config() {
+        MappedRepositoryConfiguration config = new MappedRepositoryConfiguration();
+        config.setPath(dir.resolve("pokemons.log").toString());
+        config.setInitialSizeBytes(4096); // small enough that the tests grow the mapping
+        return config;
+    }
+
+    private MappedPokemonRepository open() {
+        return new MappedPokemonRepository(config(), new SimpleMeterRegistry());
+    }
+
+    private static PokemonEntity entity(String identifier, String payload) {
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier(identifier);
+        e.setPayload(payload);
+        return e;
+    }
+
+    private static PokemonEntity pikachu(String payload) {
+        PokemonEntity e = entity("25", payload);
+        e.setEtag("\"v1\"");
+        e.setProjection(new PokemonDTO(25, "pikachu", List.of("electric"), Map.of("speed", 90),
+                Map.of("front_default", "https://img/25.png"), List.of("static", "lightning-rod"),
+                "https://pokeapi.co/api/v2/pokemon/25/"));
+        return e;
+    }
+
+    @Test
+    void savedRowsAreFoundByIdentifierAndPokeapiId() {
+        MappedPokemonRepository repository = open();
+        repository.save(pikachu("{\"name\":\"pikachu\"}"));
+        repository.save(entity("ditto", "{\"name\":\"ditto\"}"));
+
+        PokemonEntity found = repository.findByIdentifier("25").orElseThrow();
+        assertEquals("{\"name\":\"pikachu\"}", found.getPayload());
+        assertEquals("\"v1\"", found.getEtag());
+        assertEquals(pikachu(null).getProjection(), found.getProjection());
+        assertNotNull(found.getUpdatedAt());
+        assertTrue(found.getExpiresAt().isAfter(found.getUpdatedAt()));
+        assertEquals(Set.of("25", "ditto"), repository.findAllByIdentifiers(List.of("25", "ditto", "mew")).keySet());
+        assertTrue(repository.findByIdentifier("mew").isEmpty());
+        assertEquals(OptionalInt.of(25), repository.findPokeapiId("pikachu"));
+        repository.close();
+    }
+
+    @Test
+    void reopeningRebuildsTheIndexFromTheFile() {
+        MappedPokemonRepository repository = open();
+        for (int i = 0; i < 200; i++) {
+            repository.save(entity("pokemon-" + i, "payload " + i));
+        }
+        repository.save(entity("pokemon-7", "updated"));
+        repository.close();
+
+        MappedPokemonRepository reopened = open();
+
+        assertEquals("updated", reopened.findByIdentifier("pokemon-7").orElseThrow().getPayload());
+        assertEquals("payload 199", reopened.findByIdentifier("pokemon-199").orElseThrow().getPayload());
+        reopened.close();
+    }
+
+    @Test
+    void aTornRecordIsDroppedOnRecovery() throws Exception {
+        MappedPokemonRepository repository = open();
+        repository.save(entity("bulbasaur", "kept"));
+        repository.save(entity("ivysaur", "torn"));
+        repository.close();
+
+        // flip the last byte of the second record, as if the crash hit mid-write
+        Path file = dir.resolve("pokemons.log");
+        byte[] bytes = Files.readAllBytes(file);
+        int end = bytes.length - 1;
+        while (bytes[end] == 0) {
+            end--;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(end);
+            raf.write(bytes[end] ^ 0xFF);
+        }
+
+        MappedPokemonRepository reopened = open();
+
+        assertEquals("kept", reopened.findByIdentifier("bulbasaur").orElseThrow().getPayload());
+        assertTrue(reopened.findByIdentifier("ivysaur").isEmpty());
+        reopened.save(entity("venusaur", "after recovery"));
+        reopened.close();
+        assertEquals("after recovery", open().findByIdentifier("venusaur").orElseThrow().getPayload());
+    }
+
+    @Test
+    void touchKeepsThePayloadAndMovesTheTimestampsAndValidators() {
+        MappedPokemonRepository repository = open();
+        repository.save(pikachu("{\"name\":\"pikachu\"}"));
+        Instant updated = Instant.parse("2030-01-01T00:00:00Z");
+        PokemonEntity confirmed = entity("25", null);
+        confirmed.setEtag("\"v2\"");
+
+        repository.touch(List.of(confirmed, entity("mew", null)), updated, updated.plusSeconds(60));
+
+        PokemonEntity touched = repository.findByIdentifier("25").orElseThrow();
+        assertEquals(updated, touched.getUpdatedAt());
+        assertEquals(updated.plusSeconds(60), touched.getExpiresAt());
+        assertEquals("\"v2\"", touched.getEtag());
+        assertTrue(repository.findByIdentifier("mew").isEmpty());
+        assertEquals("{\"name\":\"pikachu\"}", touched.getPayload());
+        assertEquals("pikachu", touched.getProjection().identifier());
+        repository.close();
+    }
+
+    @Test
+    void compactionKeepsOnlyTheLatestRecords() throws Exception {
+        MappedPokemonRepository repository = open();
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 10; i++) {
+                repository.save(entity("pokemon-" + i, "round " + round));
+            }
+        }
+        PokemonEntity beforeCompaction = repository.findByIdentifier("pokemon-3").orElseThrow();
+        long before = Files.size(dir.resolve("pokemons.log"));
+
+        repository.compact();
+
+        assertTrue(Files.size(dir.resolve("pokemons.log")) < before);
+        assertEquals("round 19", beforeCompaction.getPayload(), "rows read before compaction stay readable");
+        repository.save(entity("pokemon-10", "after compaction"));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("round 19", repository.findByIdentifier("pokemon-" + i).orElseThrow().getPayload());
+        }
+        repository.close();
+
+        MappedPokemonRepository reopened = open();
+        assertEquals("after compaction", reopened.findByIdentifier("pokemon-10").orElseThrow().getPayload());
+        assertEquals("round 19", reopened.findByIdentifier("pokemon-0").orElseThrow().getPayload());
+        reopened.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonAliasRepository;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import com.valhala.mypokedex.domain.pokemon.repository.PrewarmCheckpointRepository;
+import com.valhala.mypokedex.domain.pokemon.usecase.GetPokemonUseCase;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application context the way MICRONAUT_ENVIRONMENTS=embedded does, so a bean that
+ * only the jdbc strategy provides shows up as a failed injection here.
+ */
+@MicronautTest(environments = "embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MappedRepositoryContextTest implements TestPropertyProvider {
+
+    @Inject
+    PokemonRepository repository;
+
+    @Inject
+    PokemonAliasRepository aliases;
+
+    @Inject
+    PrewarmCheckpointRepository checkpoints;
+
+    @Inject
+    GetPokemonUseCase getPokemon;
+
+    @Override
+    public Map<String, String> getProperties() {
+        try {
+            return Map.of("repository.mmap.path",
+                    Files.createTempDirectory("mmap-context").resolve("pokemons.log").toString());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Test
+    void theEmbeddedStrategyWiresTheMappedBeans() {
+        assertInstanceOf(MappedPokemonRepository.class, repository);
+        assertInstanceOf(MappedPokemonAliasRepository.class, aliases);
+        assertInstanceOf(FilePrewarmCheckpointRepository.class, checkpoints);
+        assertNotNull(getPokemon);
+
+        PokemonEntity ditto = new PokemonEntity();
+        ditto.setIdentifier("132");
+        ditto.setPayload("{\"name\":\"ditto\"}");
+        repository.save(ditto);
+        aliases.saveAll(Map.of("ditto", 132));
+        checkpoints.saveLastId("context-test", 132);
+
+        assertEquals("{\"name\":\"ditto\"}", repository.findByIdentifier("132").orElseThrow().getPayload());
+        assertEquals(OptionalInt.of(132), aliases.findPokeapiId("ditto"));
+        assertEquals(OptionalInt.of(132), checkpoints.findLastId("context-test"));
+    }
+}
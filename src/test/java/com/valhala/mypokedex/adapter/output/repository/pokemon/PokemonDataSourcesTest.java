@@ -0,0 +1,161 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.application.db.FlywayMigrationRunner;
+import com.valhala.mypokedex.config.PokemonReplicaConfiguration;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two independent H2 databases stand in for a primary and a replica that has not caught up.
+ */
+class PokemonDataSourcesTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final PokemonReplicaConfiguration config = new PokemonReplicaConfiguration();
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    private static HikariDataSource h2(String role) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl("jdbc:h2:mem:" + role + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        ds.setMaximumPoolSize(2);
+        new FlywayMigrationRunner(ds).onApplicationEvent(null);
+        return ds;
+    }
+
+    private JdbcPokemonRepository routed(PokemonDataSources sources) {
+        return new JdbcPokemonRepository(sources, meters, OpenTelemetry.noop().getTracer("noop"));
+    }
+
+    // talks to one database only, with its own registry so it leaves the routing counters alone
+    private static JdbcPokemonRepository direct(DataSource ds) {
+        SimpleMeterRegistry ownMeters = new SimpleMeterRegistry();
+        return new JdbcPokemonRepository(
+                new PokemonDataSources(() -> ds, null, new PokemonReplicaConfiguration(), ownMeters), ownMeters,
+                OpenTelemetry.noop().getTracer("noop"));
+    }
+
+    private static PokemonEntity entity(String identifier, String payload) {
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier(identifier);
+        e.setPayload(payload);
+        return e;
+    }
+
+    private double reads(String route) {
+        return meters.counter("pokemon.repository.reads", "route", route).count();
+    }
+
+    @Test
+    void readsGoToTheReplicaAndWritesToThePrimary() {
+        config.setReadYourWritesMs(0);
+        JdbcPokemonRepository repository = routed(new PokemonDataSources(() -> primary, replica, config, meters));
+        direct(replica).save(entity("eevee", "replicated"));
+
+        repository.save(entity("ditto", "primary only"));
+
+        assertEquals("replicated", repository.findByIdentifier("eevee").orElseThrow().getPayload());
+        assertTrue(direct(replica).findByIdentifier("ditto").isEmpty());
+        assertEquals(3.0, reads("replica"));
+        assertEquals(0.0, reads("miss_retry"));
+    }
+
+    @Test
+    void replicaMissesAreRetriedOnThePrimary() {
+        // read-your-writes only knows this node's writes: the row below came from another node
+        config.setReadYourWritesMs(60_000);
+        JdbcPokemonRepository repository = routed(new PokemonDataSources(() -> primary, replica, config, meters));
+        direct(replica).save(entity("eevee", "replicated"));
+        direct(primary).save(entity("eevee", "replicated"));
+        direct(primary).save(entity("ditto", "not replicated yet"));
+
+        assertEquals("not replicated yet", repository.findByIdentifier("ditto").orElseThrow().getPayload());
+        assertEquals(Set.of("eevee", "ditto"), repository.findAllByIdentifiers(List.of("eevee", "ditto")).keySet());
+        assertTrue(repository.findByIdentifier("mew").isEmpty());
+        assertEquals(3.0, reads("replica"));
+        assertEquals(3.0, reads("miss_retry"));
+        assertEquals("replicated", repository.findByIdentifier("eevee").orElseThrow().getPayload());
+        assertEquals(3.0, reads("miss_retry"), "a replica hit is not retried");
+    }
+
+    @Test
+    void justWrittenIdentifiersAreReadFromThePrimary() {
+        config.setReadYourWritesMs(60_000);
+        JdbcPokemonRepository repository = routed(new PokemonDataSources(() -> primary, replica, config, meters));
+
+        repository.save(entity("ditto", "primary only"));
+
+        assertEquals("primary only", repository.findByIdentifier("ditto").orElseThrow().getPayload());
+        assertEquals(Set.of("ditto"), repository.findAllByIdentifiers(List.of("ditto", "eevee")).keySet());
+        assertEquals(2.0, reads("read_your_writes"));
+        assertTrue(repository.findByIdentifier("eevee").isEmpty());
+        assertEquals(1.0, reads("replica"));
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhileTheReplicaIsDown() {
+        PokemonDataSources sources = new PokemonDataSources(() -> primary, replica, config, meters);
+        JdbcPokemonRepository repository = routed(sources);
+        direct(primary).save(entity("snorlax", "stored"));
+        replica.close();
+
+        assertEquals("stored", repository.findByIdentifier("snorlax").orElseThrow().getPayload());
+        assertFalse(sources.isReplicaHealthy());
+        assertEquals(1.0, reads("fallback"));
+
+        assertTrue(repository.findByIdentifier("snorlax").isPresent());
+        assertEquals(1.0, reads("primary"), "an unhealthy replica is skipped without trying it");
+        sources.checkReplica();
+        assertFalse(sources.isReplicaHealthy());
+    }
+
+    @Test
+    void healthCheckRestoresTheReplica() {
+        PokemonDataSources sources = new PokemonDataSources(() -> primary, replica, config, meters);
+        sources.replicaFailed(new SQLException("connection reset"));
+        assertFalse(sources.isReplicaHealthy());
+
+        sources.checkReplica();
+
+        assertTrue(sources.isReplicaHealthy());
+    }
+
+    @Test
+    void withoutAReplicaEverythingUsesThePrimary() {
+        PokemonDataSources sources = new PokemonDataSources(() -> primary, null, config, meters);
+        JdbcPokemonRepository repository = routed(sources);
+
+        repository.save(entity("mew", "stored"));
+
+        assertTrue(repository.findByIdentifier("mew").isPresent());
+        assertFalse(sources.isReplicaHealthy());
+        assertEquals(1.0, reads("primary"));
+    }
+}
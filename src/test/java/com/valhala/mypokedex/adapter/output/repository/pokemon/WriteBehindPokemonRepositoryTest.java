@@ -0,0 +1,220 @@
+package com.valhala.mypokedex.adapter.output.repository.pokemon;
+
+import com.valhala.mypokedex.config.PokemonTracingFactory;
+import com.valhala.mypokedex.config.PokemonWriteBehindConfiguration;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class WriteBehindPokemonRepositoryTest {
+
+    @Inject
+    JdbcPokemonRepository jdbc;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    PokemonDataSources dataSources;
+
+    @Inject
+    @Named(PokemonTracingFactory.TRACER)
+    Tracer tracer;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void cleanup() throws Exception {
+        try (Connection c = dataSource.getConnection(); PreparedStatement ps = c.prepareStatement("DELETE FROM pokemons")) {
+            ps.executeUpdate();
+        }
+    }
+
+    // long linger: nothing is flushed until close() unless a batch fills up
+    private static PokemonWriteBehindConfiguration config() {
+        PokemonWriteBehindConfiguration config = new PokemonWriteBehindConfiguration();
+        config.setLingerMs(60_000);
+        config.setRetryBackoffMs(1);
+        return config;
+    }
+
+    private static PokemonEntity entity(String identifier, String payload) {
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier(identifier);
+        e.setPayload(payload);
+        return e;
+    }
+
+    private double writes(String result) {
+        return meters.counter("pokemon.repository.write_behind", "result", result).count();
+    }
+
+    @Test
+    void queuedRowsAreReadableAndDrainedOnClose() {
+        WriteBehindPokemonRepository repository = new WriteBehindPokemonRepository(jdbc, config(), meters);
+
+        repository.save(entity("bulbasaur", "{\"name\":\"bulbasaur\"}"));
+
+        assertEquals("{\"name\":\"bulbasaur\"}", repository.findByIdentifier("bulbasaur").orElseThrow().getPayload());
+        assertTrue(jdbc.findByIdentifier("bulbasaur").isEmpty(), "row should still be queued");
+
+        repository.close();
+
+        assertEquals("{\"name\":\"bulbasaur\"}", jdbc.findByIdentifier("bulbasaur").orElseThrow().getPayload());
+        assertEquals(0, repository.queuedCount());
+        assertEquals(1.0, writes("written"));
+    }
+
+    @Test
+    void repeatedSavesOfAKeyAreCoalesced() {
+        WriteBehindPokemonRepository repository = new WriteBehindPokemonRepository(jdbc, config(), meters);
+
+        repository.save(entity("charmander", "first"));
+        repository.save(entity("charmander", "second"));
+        repository.close();
+
+        assertEquals("second", jdbc.findByIdentifier("charmander").orElseThrow().getPayload());
+        assertEquals(1.0, writes("coalesced"));
+        assertEquals(1.0, writes("written"));
+    }
+
+    @Test
+    void fullQueueWritesInline() {
+        PokemonWriteBehindConfiguration config = config();
+        config.setCapacity(1);
+        config.setOfferTimeoutMs(0);
+        WriteBehindPokemonRepository repository = new WriteBehindPokemonRepository(jdbc, config, meters);
+
+        repository.save(entity("squirtle", "queued"));
+        repository.save(entity("pidgey", "inline"));
+
+        assertTrue(jdbc.findByIdentifier("pidgey").isPresent(), "overflowing save should be written by the caller");
+        assertTrue(jdbc.findByIdentifier("squirtle").isEmpty());
+        assertEquals(1.0, writes("overflow"));
+        repository.close();
+        assertTrue(jdbc.findByIdentifier("squirtle").isPresent());
+    }
+
+    @Test
+    void failedBatchesAreRetriedThenCounted() {
+        JdbcPokemonRepository failing = new JdbcPokemonRepository(dataSources, meters, tracer) {
+            @Override
+            void upsert(Collection<PokemonEntity> entities) throws SQLException {
+                throw new SQLException("database unavailable");
+            }
+        };
+        PokemonWriteBehindConfiguration config = config();
+        config.setMaxAttempts(3);
+        WriteBehindPokemonRepository repository = new WriteBehindPokemonRepository(failing, config, meters);
+
+        repository.save(entity("mew", "payload"));
+        repository.close();
+
+        assertEquals(2.0, writes("retried"));
+        assertEquals(1.0, writes("failed"));
+        assertEquals(0.0, writes("written"));
+        assertEquals(0, repository.queuedCount());
+    }
+
+    @Test
+    void batchesThatKeepFailingAreRequeuedWhileRunning() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        JdbcPokemonRepository flaky = new JdbcPokemonRepository(dataSources, meters, tracer) {
+            @Override
+            void upsert(Collection<PokemonEntity> entities) throws SQLException {
+                if (calls.incrementAndGet() <= 2)
+                    throw new SQLException("database unavailable");
+                super.upsert(entities);
+            }
+        };
+        PokemonWriteBehindConfiguration config = config();
+        config.setLingerMs(0);
+        config.setMaxAttempts(2);
+        WriteBehindPokemonRepository repository = new WriteBehindPokemonRepository(flaky, config, meters);
+
+        repository.save(entity("snorlax", "payload"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (jdbc.findByIdentifier("snorlax").isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("payload", jdbc.findByIdentifier("snorlax").orElseThrow().getPayload());
+        assertEquals(1.0, writes("requeued"));
+        assertEquals(1.0, writes("written"));
+        assertEquals(0.0, writes("failed"));
+        repository.close();
+    }
+
+    @Test
+    void saveAllWaitsForAnInFlightCopyOfTheSameRow() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JdbcPokemonRepository slow = new JdbcPokemonRepository(dataSources, meters, tracer) {
+            @Override
+            void upsert(Collection<PokemonEntity> entities) throws SQLException {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                super.upsert(entities);
+            }
+        };
+        PokemonWriteBehindConfiguration config = config();
+        config.setLingerMs(0);
+        WriteBehindPokemonRepository repository = new WriteBehindPokemonRepository(slow, config, meters);
+
+        repository.save(entity("eevee", "queued"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS), "the writer should pick the row up");
+        CompletableFuture<Void> saveAll = CompletableFuture.runAsync(
+                () -> repository.saveAll(List.of(entity("eevee", "newer"))));
+        Thread.sleep(100);
+
+        assertFalse(saveAll.isDone(), "saveAll should wait for the older copy in flight");
+        release.countDown();
+        saveAll.get(5, TimeUnit.SECONDS);
+        repository.close();
+        assertEquals("newer", jdbc.findByIdentifier("eevee").orElseThrow().getPayload());
+    }
+
+    @Test
+    void touchReplacesQueuedCopiesInsteadOfChangingThem() {
+        WriteBehindPokemonRepository repository = new WriteBehindPokemonRepository(jdbc, config(), meters);
+        repository.save(entity("vulpix", "payload"));
+        PokemonEntity read = repository.findByIdentifier("vulpix").orElseThrow();
+        Instant updated = Instant.parse("2030-01-01T00:00:00Z");
+
+        PokemonEntity confirmed = entity("vulpix", null);
+        confirmed.setEtag("\"v2\"");
+
+        repository.touch(List.of(confirmed), updated, updated.plusSeconds(60));
+
+        assertNull(read.getUpdatedAt(), "a row already handed to a reader must not change under it");
+        assertEquals(updated, repository.findByIdentifier("vulpix").orElseThrow().getUpdatedAt());
+        repository.close();
+        assertEquals(updated, jdbc.findByIdentifier("vulpix").orElseThrow().getUpdatedAt());
+        assertEquals("\"v2\"", jdbc.findByIdentifier("vulpix").orElseThrow().getEtag());
+        assertEquals("payload", jdbc.findByIdentifier("vulpix").orElseThrow().getPayload());
+    }
+}
@@ -1,9 +1,13 @@
 package com.valhala.mypokedex.application.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
 import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
 import com.valhala.mypokedex.domain.pokemon.ports.PokeApiPort;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamUnavailableException;
 import com.valhala.mypokedex.domain.pokemon.usecase.GetPokemonUseCase;
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonAliasIndex;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.client.HttpClient;
@@ -20,9 +24,11 @@ import javax.sql.DataSource;
 import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,6 +51,12 @@ class PokemonControllerTest {
     @Inject
     PokemonCachePort cacheAdapter;
 
+    @Inject
+    PokemonAliasIndex aliasIndex;
+
+    @Inject
+    PokemonResponseCache responseCache;
+
     @MockBean(PokeApiPort.class)
     PokeApiPort pokeApiPortMock() {
         return Mockito.mock(PokeApiPort.class);
@@ -55,23 +67,29 @@ class PokemonControllerTest {
         // reset mock interactions
         Mockito.reset(pokeApiPort);
 
-        // clear pokemons table to avoid cross-test contamination
+        // clear pokemons and learned aliases to avoid cross-test contamination
         try (Connection c = dataSource.getConnection();
-                PreparedStatement ps = c.prepareStatement("DELETE FROM pokemons")) {
+                PreparedStatement ps = c.prepareStatement("DELETE FROM pokemons");
+                PreparedStatement aliases = c.prepareStatement("DELETE FROM pokemon_aliases")) {
             ps.executeUpdate();
+            aliases.executeUpdate();
         }
+        aliasIndex.clear();
+        responseCache.clear();
 
-        // best-effort: if underlying adapter has a field named 'cache' and it's a
-        // Caffeine cache, invalidate it
-        try {
-            Field f = cacheAdapter.getClass().getDeclaredField("cache");
-            f.setAccessible(true);
-            Object cache = f.get(cacheAdapter);
-            if (cache instanceof com.github.benmanes.caffeine.cache.Cache) {
-                ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache).invalidateAll();
+        // best-effort: if underlying adapter has fields named 'cache' or 'tombstones' and
+        // they're Caffeine caches, invalidate them
+        for (String name : List.of("cache", "tombstones")) {
+            try {
+                Field f = cacheAdapter.getClass().getDeclaredField(name);
+                f.setAccessible(true);
+                Object cache = f.get(cacheAdapter);
+                if (cache instanceof com.github.benmanes.caffeine.cache.Cache) {
+                    ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache).invalidateAll();
+                }
+            } catch (NoSuchFieldException ignored) {
+                // if field not present, ignore (best-effort cleanup)
             }
-        } catch (NoSuchFieldException ignored) {
-            // if field not present, ignore (best-effort cleanup)
         }
     }
 
@@ -95,7 +113,7 @@ class PokemonControllerTest {
                 List.of("static"),
                 "https://pokeapi.co/api/v2/pokemon/pikachu");
 
-        Mockito.when(pokeApiPort.fetchPokemonRaw("pikachu")).thenReturn(Optional.of(rawJson));
+        Mockito.when(pokeApiPort.fetchPokemonRaw("pikachu")).thenReturn(Optional.of(rawJson.getBytes(StandardCharsets.UTF_8)));
 
         var request = HttpRequest.GET("/pikachu");
         var response = client.toBlocking().exchange(request, PokemonDTO.class);
@@ -118,6 +136,38 @@ class PokemonControllerTest {
         }
     }
 
+    @Test
+    void testRepeatedNotFoundIsAnsweredFromTombstone() {
+        Mockito.when(pokeApiPort.fetchPokemonRaw("missingmon")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                client.toBlocking().exchange(HttpRequest.GET("/missingmon"), PokemonDTO.class);
+                fail("Expected 404");
+            } catch (HttpClientResponseException ex) {
+                assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+            }
+        }
+        Mockito.verify(pokeApiPort, Mockito.times(1)).fetchPokemonRaw("missingmon");
+    }
+
+    @Test
+    void testUpstreamUnavailableReturns503AndIsNotCached() {
+        Mockito.when(pokeApiPort.fetchPokemonRaw("flaky"))
+                .thenThrow(new UpstreamUnavailableException("PokeAPI returned 503"));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                client.toBlocking().exchange(HttpRequest.GET("/flaky"), PokemonDTO.class);
+                fail("Expected 503");
+            } catch (HttpClientResponseException ex) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+            }
+        }
+        // no tombstone for a transient failure: every request asks upstream again
+        Mockito.verify(pokeApiPort, Mockito.times(2)).fetchPokemonRaw("flaky");
+    }
+
     @Test
     void testGetPokemonBadRequest() {
         var request = HttpRequest.GET("/%20");
@@ -141,4 +191,98 @@ class PokemonControllerTest {
             assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ex.getStatus());
         }
     }
+
+    @Test
+    void testBatchReturnsPerItemStatusInRequestOrder() {
+        String rawJson = "{ \"id\": 25, \"identifier\": \"pikachu\", \"types\": [ { \"type\": { \"identifier\": \"electric\" } } ] }";
+        Mockito.when(pokeApiPort.fetchPokemonRaw("pikachu")).thenReturn(Optional.of(rawJson.getBytes(StandardCharsets.UTF_8)));
+        Mockito.when(pokeApiPort.fetchPokemonRaw("missingmon")).thenReturn(Optional.empty());
+
+        var request = HttpRequest.POST("/batch", Map.of("identifiers", List.of("Pikachu", "missingmon", "pikachu")));
+        String json = client.toBlocking().retrieve(request, String.class);
+
+        assertEquals(List.of("Pikachu", "missingmon", "pikachu"), JsonPath.read(json, "$[*].identifier"));
+        assertEquals(List.of("found", "not_found", "found"), JsonPath.read(json, "$[*].status"));
+        assertEquals(25, (Integer) JsonPath.read(json, "$[0].pokemon.id"));
+        assertEquals(List.of("electric"), JsonPath.read(json, "$[2].pokemon.types"));
+        // duplicate identifiers are resolved once
+        Mockito.verify(pokeApiPort, Mockito.times(1)).fetchPokemonRaw("pikachu");
+    }
+
+    @Test
+    void testIdAndNameShareOneEntryOnceLearned() {
+        String rawJson = "{ \"id\": 25, \"name\": \"pikachu\", \"types\": [ { \"type\": { \"name\": \"electric\" } } ] }";
+        Mockito.when(pokeApiPort.fetchPokemonRaw("pikachu")).thenReturn(Optional.of(rawJson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(25, client.toBlocking().retrieve(HttpRequest.GET("/pikachu"), PokemonDTO.class).id());
+        assertEquals(25, client.toBlocking().retrieve(HttpRequest.GET("/25"), PokemonDTO.class).id());
+        assertEquals(25, client.toBlocking().retrieve(HttpRequest.GET("/Pikachu"), PokemonDTO.class).id());
+
+        Mockito.verify(pokeApiPort, Mockito.times(1)).fetchPokemonRaw(Mockito.anyString());
+    }
+
+    @Test
+    void testGetCarriesETagAndAnswersIfNoneMatchWith304() {
+        String rawJson = "{ \"id\": 1, \"name\": \"bulbasaur\", \"types\": [ { \"type\": { \"name\": \"grass\" } } ] }";
+        Mockito.when(pokeApiPort.fetchPokemonRaw("bulbasaur")).thenReturn(Optional.of(rawJson.getBytes(StandardCharsets.UTF_8)));
+
+        var first = client.toBlocking().exchange(HttpRequest.GET("/bulbasaur"), PokemonDTO.class);
+        String etag = first.getHeaders().get(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(first.getHeaders().get(HttpHeaders.CACHE_CONTROL).contains("max-age="));
+
+        var revalidated = client.toBlocking().exchange(
+                HttpRequest.GET("/bulbasaur").header(HttpHeaders.IF_NONE_MATCH, etag), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatus());
+        assertEquals(etag, revalidated.getHeaders().get(HttpHeaders.ETAG));
+        assertTrue(revalidated.getBody().isEmpty());
+
+        // the gzip representation has its own tag and answers If-None-Match too
+        var gzipRevalidated = client.toBlocking().exchange(HttpRequest.GET("/bulbasaur")
+                .header(HttpHeaders.IF_NONE_MATCH, PokemonETag.gzipVariant(etag)), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, gzipRevalidated.getStatus());
+
+        var stale = client.toBlocking().exchange(
+                HttpRequest.GET("/bulbasaur").header(HttpHeaders.IF_NONE_MATCH, "\"other\""), PokemonDTO.class);
+        assertEquals(HttpStatus.OK, stale.getStatus());
+        assertEquals(1, stale.getBody().orElseThrow().id());
+    }
+
+    @Test
+    void testBatchRejectsEmptyRequest() {
+        var request = HttpRequest.POST("/batch", Map.of("identifiers", List.of()));
+        try {
+            client.toBlocking().exchange(request, String.class);
+            fail("Expected 400");
+        } catch (HttpClientResponseException ex) {
+            assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+        }
+    }
+
+    @Test
+    void testAsyncGetUsesNonBlockingUpstream() {
+        String rawJson = "{ \"id\": 133, \"identifier\": \"eevee\", \"types\": [ { \"type\": { \"identifier\": \"normal\" } } ] }";
+        Mockito.when(pokeApiPort.fetchPokemonRawAsync(Mockito.eq("eevee"), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(rawJson.getBytes(StandardCharsets.UTF_8))));
+
+        var response = client.toBlocking().exchange(HttpRequest.GET("/async/eevee"), PokemonDTO.class);
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals(133, response.getBody().orElseThrow().id());
+        assertEquals(List.of("normal"), response.getBody().orElseThrow().types());
+        Mockito.verify(pokeApiPort, Mockito.never()).fetchPokemonRaw(Mockito.anyString());
+    }
+
+    @Test
+    void testAsyncGetNotFound() {
+        Mockito.when(pokeApiPort.fetchPokemonRawAsync(Mockito.eq("missingmon"), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        try {
+            client.toBlocking().exchange(HttpRequest.GET("/async/missingmon"), PokemonDTO.class);
+            fail("Expected 404");
+        } catch (HttpClientResponseException ex) {
+            assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+        }
+    }
 }
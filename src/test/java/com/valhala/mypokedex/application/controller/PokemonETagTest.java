@@ -0,0 +1,58 @@
+package com.valhala.mypokedex.application.controller;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.parser.PokemonPayloadParser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonETagTest {
+
+    @Test
+    void sameContentGivesSameTagWhateverTheMapOrder() {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        stats.put("hp", 35);
+        stats.put("speed", 90);
+        Map<String, Integer> reversed = new LinkedHashMap<>();
+        reversed.put("speed", 90);
+        reversed.put("hp", 35);
+        Map<String, String> sprites = new HashMap<>();
+        sprites.put("back_female", null);
+
+        String a = PokemonETag.of(new PokemonDTO(25, "pikachu", List.of("electric"), stats, sprites, List.of(), "src"));
+        String b = PokemonETag.of(new PokemonDTO(25, "pikachu", List.of("electric"), reversed, sprites, List.of(), "src"));
+        String changed = PokemonETag.of(new PokemonDTO(25, "pikachu", List.of("electric"), Map.of("hp", 36),
+                sprites, List.of(), "src"));
+
+        assertEquals(a, b);
+        assertNotEquals(a, changed);
+        assertTrue(a.startsWith("\"") && a.endsWith("\""), "strong ETags are quoted");
+    }
+
+    @Test
+    void aPokemonFetchedUnderAnAliasGetsTheTagOfItsCanonicalId() throws Exception {
+        byte[] payload = "{\"id\": 25, \"name\": \"pikachu\", \"types\": [{\"type\": {\"name\": \"electric\"}}]}"
+                .getBytes(StandardCharsets.UTF_8);
+        PokemonPayloadParser parser = new PokemonPayloadParser();
+
+        assertEquals(PokemonETag.of(parser.parse(payload, "25")), PokemonETag.of(parser.parse(payload, "pikachu")));
+    }
+
+    @Test
+    void ifNoneMatchComparesWeaklyAndAcceptsListsAndWildcard() {
+        String etag = "\"abc\"";
+
+        assertTrue(PokemonETag.matches("\"abc\"", etag));
+        assertTrue(PokemonETag.matches("W/\"abc\"", etag));
+        assertTrue(PokemonETag.matches("\"x\", \"abc\"", etag));
+        assertTrue(PokemonETag.matches("*", etag));
+        assertFalse(PokemonETag.matches("\"abd\"", etag));
+        assertFalse(PokemonETag.matches(null, etag));
+    }
+}
@@ -0,0 +1,106 @@
+package com.valhala.mypokedex.application.controller;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.usecase.PokemonAliasIndex;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class PokemonResponseCacheTest {
+
+    @Inject
+    PokemonResponseCache responseCache;
+
+    @Inject
+    PokemonAliasIndex aliases;
+
+    @Inject
+    PokemonCachePort pokemonCache;
+
+    @BeforeEach
+    void setup() {
+        responseCache.clear();
+    }
+
+    @Test
+    void storesJsonGzipAndETagOncePerIdentifier() throws Exception {
+        Map<String, String> sprites = new HashMap<>();
+        for (String side : List.of("front", "back")) {
+            for (String variant : List.of("default", "shiny", "female", "shiny_female")) {
+                sprites.put(side + "_" + variant, "https://raw.githubusercontent.com/PokeAPI/sprites/master/pokemon/"
+                        + side + "/" + variant + "/25.png");
+            }
+        }
+        PokemonDTO dto = new PokemonDTO(25, "pikachu", List.of("electric"), Map.of("speed", 90), sprites,
+                List.of("static"), "https://pokeapi.co/api/v2/pokemon/pikachu");
+
+        aliases.register(dto);
+
+        PokemonResponseCache.Encoded encoded = responseCache.put("Pikachu", dto);
+
+        assertSame(encoded, responseCache.get("pikachu").orElseThrow(), "lookups are case-insensitive");
+        assertSame(encoded, responseCache.get("025").orElseThrow(), "names and ids share the canonical entry");
+        assertEquals(PokemonETag.of(dto), encoded.etag());
+        String json = new String(encoded.json(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"base_stats\""));
+        assertNotNull(encoded.gzip(), "bodies above the threshold are pre-compressed");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertArrayEquals(encoded.json(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void followsThePokemonCache() {
+        PokemonDTO dto = new PokemonDTO(7, "squirtle", List.of("water"), Map.of(), Map.of(), List.of(), "src");
+        responseCache.put("7", dto);
+        assertTrue(responseCache.get("7").isPresent());
+
+        pokemonCache.put("7", dto); // e.g. a refresh or a snapshot import
+
+        assertTrue(responseCache.get("7").isEmpty(), "a new pokemon cache value drops the encoded response");
+        responseCache.put("7", dto);
+        pokemonCache.invalidate("7");
+        assertTrue(responseCache.get("7").isEmpty());
+    }
+
+    @Test
+    void namesTheIndexDoesNotHoldInMemoryMiss() {
+        PokemonDTO dto = new PokemonDTO(1, "bulbasaur", List.of("grass"), Map.of(), Map.of(), List.of(), "src");
+        aliases.register(dto);
+        responseCache.put("bulbasaur", dto);
+
+        aliases.clear(); // the alias is still persisted, but the probe must not go looking for it
+
+        assertTrue(responseCache.get("bulbasaur").isEmpty());
+        assertTrue(responseCache.get("1").isPresent());
+    }
+
+    @Test
+    void smallBodiesAreNotCompressed() {
+        PokemonDTO dto = new PokemonDTO(132, "ditto", List.of(), Map.of(), Map.of(), List.of(), "src");
+
+        assertNull(responseCache.put("ditto", dto).gzip());
+    }
+
+    @Test
+    void acceptEncodingParsing() {
+        assertTrue(PokemonResponseCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(PokemonResponseCache.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(PokemonResponseCache.acceptsGzip("*"));
+        assertFalse(PokemonResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(PokemonResponseCache.acceptsGzip("identity"));
+        assertFalse(PokemonResponseCache.acceptsGzip(null));
+    }
+}
@@ -0,0 +1,56 @@
+package com.valhala.mypokedex.application.controller;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.env.Environment;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each case starts its own server: whether the export endpoint exists is decided when the
+ * context starts.
+ */
+class SnapshotControllerTest {
+
+    private static EmbeddedServer start(Map<String, Object> properties) {
+        return ApplicationContext.run(EmbeddedServer.class, properties, Environment.TEST);
+    }
+
+    @Test
+    void exportsASnapshotWhenTheEndpointIsEnabled() {
+        try (EmbeddedServer server = start(Map.of("pokemon.snapshot.export-endpoint-enabled", "true"));
+                HttpClient client = HttpClient.create(server.getURL())) {
+            HttpResponse<byte[]> response = client.toBlocking()
+                    .exchange(HttpRequest.GET("/api/admin/snapshot"), byte[].class);
+
+            assertEquals(HttpStatus.OK, response.getStatus());
+            assertTrue(response.header(HttpHeaders.CONTENT_DISPOSITION).contains(".pksnap"));
+            byte[] body = response.body();
+            assertEquals("PKSN", new String(Arrays.copyOf(body, 4), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void theExportEndpointIsAbsentByDefault() {
+        try (EmbeddedServer server = start(Map.of());
+                HttpClient client = HttpClient.create(server.getURL())) {
+            assertFalse(server.getApplicationContext().containsBean(SnapshotController.class));
+
+            HttpClientResponseException ex = assertThrows(HttpClientResponseException.class,
+                    () -> client.toBlocking().exchange(HttpRequest.GET("/api/admin/snapshot"), byte[].class));
+
+            assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+        }
+    }
+}
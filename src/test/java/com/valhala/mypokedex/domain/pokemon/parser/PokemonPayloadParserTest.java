@@ -0,0 +1,95 @@
+package com.valhala.mypokedex.domain.pokemon.parser;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonPayloadParserTest {
+
+    private final PokemonPayloadParser parser = new PokemonPayloadParser();
+
+    @Test
+    void projectsPokeApiPayloadAndSkipsEverythingElse() throws IOException {
+        String payload = "{\n" +
+                "  \"abilities\": [\n" +
+                "    { \"ability\": { \"name\": \"overgrow\", \"url\": \"https://pokeapi.co/api/v2/ability/65/\" }, \"is_hidden\": false, \"slot\": 1 },\n" +
+                "    { \"ability\": { \"name\": \"chlorophyll\", \"url\": \"https://pokeapi.co/api/v2/ability/34/\" }, \"is_hidden\": true, \"slot\": 3 }\n" +
+                "  ],\n" +
+                "  \"base_experience\": 64,\n" +
+                "  \"game_indices\": [ { \"game_index\": 153, \"version\": { \"name\": \"red\" } } ],\n" +
+                "  \"id\": 1,\n" +
+                "  \"moves\": [ { \"move\": { \"name\": \"razor-wind\" }, \"version_group_details\": [ { \"level_learned_at\": 0 } ] } ],\n" +
+                "  \"name\": \"bulbasaur\",\n" +
+                "  \"sprites\": {\n" +
+                "    \"back_default\": \"https://img.pk/back/1.png\",\n" +
+                "    \"back_female\": null,\n" +
+                "    \"front_default\": \"https://img.pk/1.png\",\n" +
+                "    \"other\": { \"home\": { \"front_default\": \"https://img.pk/home/1.png\" } },\n" +
+                "    \"versions\": { \"generation-i\": { \"red-blue\": { \"front_default\": \"https://img.pk/rb/1.png\" } } }\n" +
+                "  },\n" +
+                "  \"stats\": [\n" +
+                "    { \"base_stat\": 45, \"effort\": 0, \"stat\": { \"name\": \"hp\", \"url\": \"https://pokeapi.co/api/v2/stat/1/\" } },\n" +
+                "    { \"stat\": { \"name\": \"attack\" }, \"base_stat\": 49 }\n" +
+                "  ],\n" +
+                "  \"types\": [\n" +
+                "    { \"slot\": 1, \"type\": { \"name\": \"grass\" } },\n" +
+                "    { \"slot\": 2, \"type\": { \"name\": \"poison\" } }\n" +
+                "  ],\n" +
+                "  \"weight\": 69\n" +
+                "}";
+
+        PokemonDTO dto = parser.parse(payload.getBytes(StandardCharsets.UTF_8), "1");
+
+        assertEquals(1, dto.id());
+        assertEquals("bulbasaur", dto.identifier());
+        assertEquals(List.of("grass", "poison"), dto.types());
+        assertEquals(Map.of("hp", 45, "attack", 49), dto.baseStats());
+        assertEquals(List.of("overgrow", "chlorophyll"), dto.abilities());
+        assertEquals(3, dto.sprites().size(), "nested sprite variants should be skipped");
+        assertEquals("https://img.pk/1.png", dto.sprites().get("front_default"));
+        assertTrue(dto.sprites().containsKey("back_female"));
+        assertNull(dto.sprites().get("back_female"));
+        assertEquals("https://pokeapi.co/api/v2/pokemon/1", dto.sourceUrl());
+    }
+
+    @Test
+    void acceptsIdentifierKeysAndFallsBackToRequestedIdentifier() throws IOException {
+        String payload = "{ \"id\": 4, \"types\": [{\"type\": {\"identifier\": \"fire\"}}] }";
+
+        PokemonDTO dto = parser.parse(payload.getBytes(StandardCharsets.UTF_8), "charmander");
+
+        assertEquals(4, dto.id());
+        assertEquals("charmander", dto.identifier());
+        assertEquals(List.of("fire"), dto.types());
+        assertTrue(dto.baseStats().isEmpty());
+        assertTrue(dto.abilities().isEmpty());
+        assertEquals("https://pokeapi.co/api/v2/pokemon/4", dto.sourceUrl(), "built from the id, not the alias");
+    }
+
+    @Test
+    void nonScalarIdAndNameAreSkippedWhole() throws IOException {
+        String payload = "{ \"id\": {\"name\": \"wrong\", \"types\": []}, \"name\": [\"x\", {\"id\": 9}], "
+                + "\"types\": [{\"type\": {\"name\": \"normal\"}}] }";
+
+        PokemonDTO dto = parser.parse(payload.getBytes(StandardCharsets.UTF_8), "ditto");
+
+        assertEquals(0, dto.id());
+        assertEquals("ditto", dto.identifier());
+        assertEquals("https://pokeapi.co/api/v2/pokemon/ditto", dto.sourceUrl());
+        assertEquals(List.of("normal"), dto.types());
+    }
+
+    @Test
+    void rejectsMalformedPayload() {
+        assertThrows(IOException.class,
+                () -> parser.parse("not-a-json".getBytes(StandardCharsets.UTF_8), "x"));
+        assertThrows(IOException.class,
+                () -> parser.parse("[1, 2]".getBytes(StandardCharsets.UTF_8), "x"));
+    }
+}
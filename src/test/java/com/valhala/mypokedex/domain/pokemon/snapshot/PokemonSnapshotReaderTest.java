@@ -0,0 +1,99 @@
+package com.valhala.mypokedex.domain.pokemon.snapshot;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonSnapshotReaderTest {
+
+    private static PokemonSnapshotEntry entry(int id) {
+        PokemonDTO dto = new PokemonDTO(id, "pokemon-" + id, List.of("grass", "poison"), Map.of("hp", 45),
+                Map.of("front_default", "https://img/" + id + ".png"), List.of("overgrow"),
+                "https://pokeapi.co/api/v2/pokemon/" + id);
+        return new PokemonSnapshotEntry(String.valueOf(id), dto, Instant.ofEpochSecond(1_700_000_000L + id),
+                Instant.ofEpochSecond(1_800_000_000L), "\"etag-" + id + "\"", null);
+    }
+
+    private static byte[] snapshot(int entries, int blockSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PokemonSnapshotWriter writer = new PokemonSnapshotWriter(out, blockSize);
+        for (int id = 1; id <= entries; id++) {
+            writer.write(entry(id));
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static List<List<PokemonSnapshotEntry>> readAll(byte[] snapshot) throws IOException {
+        PokemonSnapshotReader reader = new PokemonSnapshotReader(new ByteArrayInputStream(snapshot));
+        List<List<PokemonSnapshotEntry>> blocks = new ArrayList<>();
+        List<PokemonSnapshotEntry> block;
+        while ((block = reader.nextBlock()) != null) {
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        return new GZIPInputStream(new ByteArrayInputStream(data)).readAllBytes();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void entriesRoundTripInBlocks() throws IOException {
+        List<List<PokemonSnapshotEntry>> blocks = readAll(snapshot(25, 10));
+
+        assertEquals(List.of(10, 10, 5), blocks.stream().map(List::size).toList());
+        assertEquals(entry(1), blocks.get(0).get(0));
+        assertEquals(entry(25), blocks.get(2).get(4));
+    }
+
+    @Test
+    void emptySnapshotHasNoBlocks() throws IOException {
+        assertTrue(readAll(snapshot(0, 10)).isEmpty());
+    }
+
+    @Test
+    void corruptBlockIsRejectedAfterTheIntactOnes() throws IOException {
+        byte[] raw = gunzip(snapshot(20, 10));
+        raw[raw.length - 40] ^= 0x01; // inside the second block's entries
+        PokemonSnapshotReader reader = new PokemonSnapshotReader(new ByteArrayInputStream(gzip(raw)));
+
+        assertEquals(10, reader.nextBlock().size());
+        IOException ex = assertThrows(IOException.class, reader::nextBlock);
+        assertTrue(ex.getMessage().contains("block 2"), ex.getMessage());
+    }
+
+    @Test
+    void truncatedSnapshotFails() throws IOException {
+        byte[] raw = gunzip(snapshot(20, 10));
+        byte[] truncated = gzip(Arrays.copyOf(raw, raw.length - 12)); // drops the trailer
+
+        assertThrows(IOException.class, () -> readAll(truncated));
+    }
+
+    @Test
+    void otherFilesAreNotSnapshots() throws IOException {
+        assertThrows(IOException.class, () -> new PokemonSnapshotReader(new ByteArrayInputStream(gzip("{}".getBytes()))));
+        assertThrows(IOException.class, () -> new PokemonSnapshotReader(new ByteArrayInputStream("plain".getBytes())));
+    }
+}
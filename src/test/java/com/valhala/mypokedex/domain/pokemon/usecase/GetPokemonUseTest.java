@@ -1,19 +1,28 @@
 package com.valhala.mypokedex.domain.pokemon.usecase;
 
 import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonBatchItem;
 import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
 import com.valhala.mypokedex.domain.pokemon.ports.PokeApiPort;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamResponse;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamUnavailableException;
 import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
 import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +44,9 @@ class GetPokemonUseTest {
     @Inject
     PokemonCachePort cache;
 
+    @Inject
+    MeterRegistry meters;
+
     @MockBean(PokeApiPort.class)
     PokeApiPort pokeApiAdapter() {
         return Mockito.mock(PokeApiPort.class);
@@ -68,7 +80,7 @@ class GetPokemonUseTest {
                 "  \"abilities\": [{\"ability\": {\"identifier\": \"blaze\"}}]\n" +
                 "}";
 
-        when(upstream.fetchPokemonRaw(id)).thenReturn(Optional.of(payload));
+        when(upstream.fetchPokemonRaw(id)).thenReturn(Optional.of(payload.getBytes(StandardCharsets.UTF_8)));
 
         Optional<PokemonDTO> result = service.getPokemon(id);
 
@@ -80,12 +92,29 @@ class GetPokemonUseTest {
         assertEquals(Map.of("speed", 65), dto.baseStats());
         assertEquals(Map.of("front_default", "https://img.pk/sprite.png"), dto.sprites());
         assertEquals(List.of("blaze"), dto.abilities());
-        assertTrue(dto.sourceUrl().contains("pokeapi"));
+        assertEquals("https://pokeapi.co/api/v2/pokemon/4", dto.sourceUrl());
 
         // verify repository.save called
         verify(repository, times(1)).save(any(PokemonEntity.class));
-        // verify cache.put called with lowercased key
-        verify(cache, times(1)).put(eq(id), any(PokemonDTO.class));
+        // cached under the canonical PokeAPI id, not the requested alias
+        verify(cache, times(1)).put(eq("4"), any(PokemonDTO.class));
+    }
+
+    @Test
+    void learnedAlias_routesNameAndIdToTheSameKey() {
+        String payload = "{\"id\": 16, \"name\": \"pidgey\", \"types\": [{\"type\": {\"name\": \"flying\"}}]}";
+        when(cache.get(anyString())).thenReturn(Optional.empty());
+        when(repository.findByIdentifier(anyString())).thenReturn(Optional.empty());
+        when(upstream.fetchPokemonRaw("pidgey")).thenReturn(Optional.of(payload.getBytes(StandardCharsets.UTF_8)));
+
+        service.getPokemon("Pidgey");
+        PokemonDTO cached = new PokemonDTO(16, "pidgey", List.of("flying"), Map.of(), Map.of(), List.of(), "local");
+        when(cache.get("16")).thenReturn(Optional.of(cached));
+
+        assertEquals(cached, service.getPokemon("pidgey").orElseThrow());
+        assertEquals(cached, service.getPokemon(" PIDGEY ").orElseThrow());
+        assertEquals(cached, service.getPokemon("016").orElseThrow());
+        verify(upstream, times(1)).fetchPokemonRaw(anyString());
     }
 
     @Test
@@ -100,6 +129,66 @@ class GetPokemonUseTest {
 
         verify(repository, never()).save(any());
         verify(cache, never()).put(anyString(), any());
+        verify(cache).putTombstone(id);
+    }
+
+    @Test
+    void lookups_areTimedByTheTierThatAnsweredThem() {
+        PokemonDTO cached = new PokemonDTO(7, "squirtle", List.of(), Map.of(), Map.of(), List.of(), "local");
+        when(cache.get("squirtle")).thenReturn(Optional.of(cached));
+        when(cache.get("nobody")).thenReturn(Optional.empty());
+        when(repository.findByIdentifier("nobody")).thenReturn(Optional.empty());
+        when(upstream.fetchPokemonRaw("nobody")).thenReturn(Optional.empty());
+        long cacheBefore = lookups("cache");
+        long notFoundBefore = lookups("not_found");
+
+        service.getPokemon("squirtle");
+        service.getPokemon("nobody");
+
+        assertEquals(cacheBefore + 1, lookups("cache"));
+        assertEquals(notFoundBefore + 1, lookups("not_found"));
+    }
+
+    private long lookups(String tier) {
+        return meters.get("pokemon.lookup").tag("tier", tier).timer().count();
+    }
+
+    @Test
+    void tombstone_answersNotFoundWithoutRepositoryOrUpstream() {
+        String id = "typomon";
+        when(cache.get(id)).thenReturn(Optional.empty());
+        when(cache.hasTombstone(id)).thenReturn(true);
+
+        assertTrue(service.getPokemon(id).isEmpty());
+
+        verify(repository, never()).findByIdentifier(anyString());
+        verify(upstream, never()).fetchPokemonRaw(anyString());
+    }
+
+    @Test
+    void batch_looksUpTombstonesOfAllCacheMissesAtOnce() {
+        when(cache.hasTombstones(anyCollection())).thenReturn(Set.of("typomon"));
+
+        List<PokemonBatchItem> items = service.getPokemons(List.of("typomon", "ghostmon"));
+
+        assertEquals(List.of(PokemonBatchItem.notFound("typomon"), PokemonBatchItem.notFound("ghostmon")), items);
+        verify(cache).hasTombstones(argThat(keys -> keys.containsAll(List.of("typomon", "ghostmon"))));
+        verify(cache, never()).hasTombstone(anyString());
+        verify(upstream, never()).fetchPokemonRaw("typomon");
+        verify(upstream).fetchPokemonRaw("ghostmon");
+    }
+
+    @Test
+    void upstreamUnavailable_propagatesAndIsNotCached() {
+        String id = "flakymon";
+        when(cache.get(id)).thenReturn(Optional.empty());
+        when(repository.findByIdentifier(id)).thenReturn(Optional.empty());
+        when(upstream.fetchPokemonRaw(id)).thenThrow(new UpstreamUnavailableException("timed out"));
+
+        assertThrows(UpstreamUnavailableException.class, () -> service.getPokemon(id));
+
+        verify(cache, never()).put(anyString(), any());
+        verify(cache, never()).putTombstone(anyString());
     }
 
     @Test
@@ -107,7 +196,7 @@ class GetPokemonUseTest {
         String id = "weirdmon";
         when(cache.get(id)).thenReturn(Optional.empty());
         when(repository.findByIdentifier(id)).thenReturn(Optional.empty());
-        when(upstream.fetchPokemonRaw(id)).thenReturn(Optional.of("not-a-json"));
+        when(upstream.fetchPokemonRaw(id)).thenReturn(Optional.of("not-a-json".getBytes(StandardCharsets.UTF_8)));
 
         Optional<PokemonDTO> result = service.getPokemon(id);
         assertTrue(result.isPresent());
@@ -136,4 +225,116 @@ class GetPokemonUseTest {
         verify(repository, never()).findByIdentifier(anyString());
         verify(upstream, never()).fetchPokemonRaw(anyString());
     }
+
+    @Test
+    void staleRepositoryRow_isServedAndRefreshedInBackground() {
+        String id = "squirtle";
+        PokemonDTO stored = new PokemonDTO(7, "squirtle", List.of("water"), Map.of(), Map.of(), List.of(), "local");
+        when(cache.get(id)).thenReturn(Optional.empty());
+        when(repository.findByIdentifier(id)).thenReturn(Optional.of(row(id, stored, Duration.ofDays(2))));
+        String payload = "{\"id\": 7, \"name\": \"squirtle\", \"types\": [{\"type\": {\"name\": \"water\"}}]}";
+        // the refresh goes upstream by canonical id
+        when(upstream.revalidateAsync(eq("7"), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(
+                UpstreamResponse.ok(payload.getBytes(StandardCharsets.UTF_8), "\"v2\"", null)));
+
+        Optional<PokemonDTO> result = service.getPokemon(id);
+
+        // the stored copy is returned without waiting for upstream
+        assertEquals(stored, result.orElseThrow());
+        verify(upstream, never()).fetchPokemonRaw(anyString());
+        // the background refresh persists the new payload and writes it back to the cache
+        verify(repository, timeout(2000)).save(any(PokemonEntity.class));
+        verify(cache, timeout(2000).times(2)).put(eq("7"), any(PokemonDTO.class));
+    }
+
+    @Test
+    void staleRepositoryRow_notModifiedUpstream_onlyMovesTimestampsAndValidators() {
+        String id = "caterpie";
+        PokemonDTO stored = new PokemonDTO(10, "caterpie", List.of("bug"), Map.of(), Map.of(), List.of(), "local");
+        PokemonEntity row = row(id, stored, Duration.ofDays(2));
+        row.setEtag("\"v1\"");
+        when(cache.get(id)).thenReturn(Optional.empty());
+        when(repository.findByIdentifier(id)).thenReturn(Optional.of(row));
+        when(repository.findByIdentifier("10")).thenReturn(Optional.of(row));
+        when(upstream.revalidateAsync(eq("10"), eq("\"v1\""), isNull(), any()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        UpstreamResponse.notModified("\"v2\"", "Wed, 01 Jan 2025 00:00:00 GMT")));
+
+        assertEquals(stored, service.getPokemon(id).orElseThrow());
+
+        // the 304's validators replace the stored ones, so the next revalidation sends them
+        verify(repository, timeout(2000)).touch(argThat(rows -> rows.size() == 1
+                && rows.iterator().next().getIdentifier().equals(id)
+                && rows.iterator().next().getEtag().equals("\"v2\"")
+                && "Wed, 01 Jan 2025 00:00:00 GMT".equals(rows.iterator().next().getLastModified())),
+                any(Instant.class), any(Instant.class));
+        assertEquals("\"v1\"", row.getEtag(), "the row handed to readers is not changed");
+        verify(cache, timeout(2000).times(2)).put(eq("10"), eq(stored));
+        verify(repository, never()).save(any(PokemonEntity.class));
+    }
+
+    @Test
+    void freshRepositoryRow_doesNotTriggerRefresh() {
+        String id = "wartortle";
+        PokemonDTO stored = new PokemonDTO(8, "wartortle", List.of("water"), Map.of(), Map.of(), List.of(), "local");
+        when(cache.get(id)).thenReturn(Optional.empty());
+        when(repository.findByIdentifier(id)).thenReturn(Optional.of(row(id, stored, Duration.ofMinutes(5))));
+
+        assertEquals(stored, service.getPokemon(id).orElseThrow());
+
+        verify(upstream, never()).fetchPokemonRaw(anyString());
+        verify(upstream, never()).fetchPokemonRawAsync(anyString(), any());
+    }
+
+    @Test
+    void expiredRepositoryRow_isRefetchedBeforeServing() {
+        String id = "blastoise";
+        PokemonDTO stored = new PokemonDTO(9, "blastoise", List.of(), Map.of(), Map.of(), List.of(), "local");
+        when(cache.get(id)).thenReturn(Optional.empty());
+        when(repository.findByIdentifier(id)).thenReturn(Optional.of(row(id, stored, Duration.ofDays(31))));
+        String payload = "{\"id\": 9, \"name\": \"blastoise\", \"types\": [{\"type\": {\"name\": \"water\"}}]}";
+        when(upstream.fetchPokemonRaw(id)).thenReturn(Optional.of(payload.getBytes(StandardCharsets.UTF_8)));
+
+        PokemonDTO result = service.getPokemon(id).orElseThrow();
+
+        assertEquals(List.of("water"), result.types());
+        verify(repository, times(1)).save(any(PokemonEntity.class));
+    }
+
+    @Test
+    void expiredRepositoryRow_isServedWhenUpstreamHasNothing() {
+        String id = "caterpie";
+        PokemonDTO stored = new PokemonDTO(10, "caterpie", List.of("bug"), Map.of(), Map.of(), List.of(), "local");
+        when(cache.get(id)).thenReturn(Optional.empty());
+        when(repository.findByIdentifier(id)).thenReturn(Optional.of(row(id, stored, Duration.ofDays(31))));
+        when(upstream.fetchPokemonRaw(id)).thenReturn(Optional.empty());
+
+        assertEquals(stored, service.getPokemon(id).orElseThrow());
+        // not cached, so the next request tries upstream again
+        verify(cache, never()).put(anyString(), any());
+        verify(cache, never()).putTombstone(anyString());
+    }
+
+    @Test
+    void expiredRepositoryRow_isServedWhenUpstreamIsUnavailable() {
+        String id = "metapod";
+        PokemonDTO stored = new PokemonDTO(11, "metapod", List.of("bug"), Map.of(), Map.of(), List.of(), "local");
+        when(cache.get(id)).thenReturn(Optional.empty());
+        when(repository.findByIdentifier(id)).thenReturn(Optional.of(row(id, stored, Duration.ofDays(31))));
+        when(upstream.fetchPokemonRaw(id)).thenThrow(new UpstreamUnavailableException("503 after retries"));
+
+        assertEquals(stored, service.getPokemon(id).orElseThrow());
+        verify(cache, never()).put(anyString(), any());
+    }
+
+    private static PokemonEntity row(String id, PokemonDTO projection, Duration age) {
+        Instant updated = Instant.now().minus(age);
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier(id);
+        e.setPayload("{}");
+        e.setProjection(projection);
+        e.setUpdatedAt(updated);
+        e.setExpiresAt(updated.plus(Duration.ofDays(30)));
+        return e;
+    }
 }
@@ -0,0 +1,83 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonAliasRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonAliasIndexTest {
+
+    private final Map<String, Integer> persisted = new ConcurrentHashMap<>();
+    private final List<String> lookups = new CopyOnWriteArrayList<>();
+    private final PokemonAliasIndex index = new PokemonAliasIndex(new PokemonAliasRepository() {
+        @Override
+        public OptionalInt findPokeapiId(String alias) {
+            lookups.add(alias);
+            Integer id = persisted.get(alias);
+            return id == null ? OptionalInt.empty() : OptionalInt.of(id);
+        }
+
+        @Override
+        public void saveAll(Map<String, Integer> aliases) {
+            persisted.putAll(aliases);
+        }
+    });
+
+    private static PokemonDTO dto(int id, String name) {
+        return new PokemonDTO(id, name, List.of(), Map.of(), Map.of(), List.of(), "src");
+    }
+
+    @Test
+    void numericIdentifiersNeverHitTheRepository() {
+        assertEquals("25", index.canonicalKey(" 025 "));
+        assertTrue(lookups.isEmpty());
+    }
+
+    @Test
+    void persistedAliasesAreLoadedOnceAndKept() {
+        persisted.put("pikachu", 25);
+
+        assertEquals("25", index.canonicalKey("Pikachu"));
+        assertEquals("25", index.canonicalKey("pikachu"));
+
+        assertEquals(List.of("pikachu"), lookups);
+    }
+
+    @Test
+    void unknownNamesAreLookedUpOncePerWindow() {
+        assertEquals("missingno", index.canonicalKey("MissingNo"));
+        assertEquals("missingno", index.canonicalKey("missingno"));
+
+        assertEquals(List.of("missingno"), lookups);
+    }
+
+    @Test
+    void learningANameReplacesItsUnknownEntry() {
+        assertEquals("mew", index.canonicalKey("mew"));
+
+        index.register(dto(151, "mew"));
+
+        assertEquals("151", index.canonicalKey("mew"));
+        assertEquals(List.of("mew"), lookups);
+    }
+
+    @Test
+    void knownKeysComeFromMemoryOnly() {
+        persisted.put("pikachu", 25);
+        index.register(dto(151, "mew"));
+
+        assertEquals(Optional.of("25"), index.knownKey(" 025 "));
+        assertEquals(Optional.of("151"), index.knownKey("Mew"));
+        assertEquals(Optional.empty(), index.knownKey("pikachu"));
+        assertEquals(Optional.empty(), index.knownKey("  "));
+        assertTrue(lookups.isEmpty());
+    }
+}
@@ -0,0 +1,190 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import com.valhala.mypokedex.config.PokemonSnapshotConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.dto.SnapshotImportResult;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonAliasRepository;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonSnapshotUseCaseTest {
+
+    private static final Instant TAKEN = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static final class InMemoryRepository implements PokemonRepository {
+        private final Map<String, PokemonEntity> rows = new LinkedHashMap<>();
+        private final List<Integer> batches = new ArrayList<>();
+
+        @Override
+        public Optional<PokemonEntity> findByIdentifier(String identifier) {
+            return Optional.ofNullable(rows.get(identifier));
+        }
+
+        @Override
+        public Map<String, PokemonEntity> findAllByIdentifiers(Collection<String> identifiers) {
+            Map<String, PokemonEntity> found = new HashMap<>();
+            identifiers.forEach(id -> Optional.ofNullable(rows.get(id)).ifPresent(e -> found.put(id, e)));
+            return found;
+        }
+
+        @Override
+        public void save(PokemonEntity entity) {
+            rows.put(entity.getIdentifier(), entity);
+        }
+
+        @Override
+        public void saveAll(Collection<PokemonEntity> entities) {
+            batches.add(entities.size());
+            entities.forEach(this::save);
+        }
+
+        @Override
+        public void touch(Collection<PokemonEntity> confirmed, Instant updatedAt, Instant expiresAt) {
+        }
+
+        @Override
+        public void forEach(Consumer<PokemonEntity> action) {
+            rows.values().forEach(action);
+        }
+    }
+
+    private static final class MapCache implements PokemonCachePort {
+        private final Map<String, PokemonDTO> entries = new HashMap<>();
+
+        @Override
+        public Optional<PokemonDTO> get(String key) {
+            return Optional.ofNullable(entries.get(key));
+        }
+
+        @Override
+        public Map<String, PokemonDTO> getAll(Collection<String> keys) {
+            return new HashMap<>();
+        }
+
+        @Override
+        public void put(String key, PokemonDTO dto) {
+            entries.put(key, dto);
+        }
+
+        @Override
+        public void invalidate(String key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public boolean hasTombstone(String key) {
+            return false;
+        }
+
+        @Override
+        public Set<String> hasTombstones(Collection<String> keys) {
+            return Set.of();
+        }
+
+        @Override
+        public void putTombstone(String key) {
+        }
+    }
+
+    private final Map<String, Integer> learnedAliases = new HashMap<>();
+
+    private PokemonSnapshotUseCase useCase(PokemonRepository repository, PokemonCachePort cache) {
+        PokemonSnapshotConfiguration config = new PokemonSnapshotConfiguration();
+        config.setBlockSize(2);
+        PokemonAliasIndex aliases = new PokemonAliasIndex(new PokemonAliasRepository() {
+            @Override
+            public OptionalInt findPokeapiId(String alias) {
+                return OptionalInt.empty();
+            }
+
+            @Override
+            public void saveAll(Map<String, Integer> aliases) {
+                learnedAliases.putAll(aliases);
+            }
+        });
+        return new PokemonSnapshotUseCase(repository, cache, aliases, config);
+    }
+
+    private static PokemonEntity row(int id, String name, Instant updatedAt) {
+        PokemonEntity e = new PokemonEntity();
+        e.setIdentifier(String.valueOf(id));
+        e.setPayload("{\"id\":" + id + "}");
+        e.setProjection(new PokemonDTO(id, name, List.of("normal"), Map.of("hp", 50), Map.of(), List.of(), null));
+        e.setUpdatedAt(updatedAt);
+        e.setExpiresAt(updatedAt.plusSeconds(3600));
+        e.setEtag("\"" + name + "\"");
+        return e;
+    }
+
+    private byte[] export(InMemoryRepository source) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        useCase(source, new MapCache()).export(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void exportedRowsAreImportedIntoRepositoryAndCache() throws IOException {
+        InMemoryRepository source = new InMemoryRepository();
+        source.save(row(1, "bulbasaur", TAKEN));
+        source.save(row(4, "charmander", TAKEN));
+        source.save(row(7, "squirtle", TAKEN));
+        PokemonEntity legacy = new PokemonEntity();
+        legacy.setIdentifier("missingno");
+        legacy.setPayload("{}");
+        source.save(legacy);
+        InMemoryRepository target = new InMemoryRepository();
+        MapCache cache = new MapCache();
+
+        SnapshotImportResult result = useCase(target, cache).importFrom(new ByteArrayInputStream(export(source)));
+
+        assertEquals(3, result.entries());
+        assertEquals(3, result.stored());
+        assertEquals(List.of(2, 1), target.batches);
+        PokemonEntity imported = target.rows.get("4");
+        assertEquals(source.rows.get("4").getProjection(), imported.getProjection());
+        assertEquals(TAKEN, imported.getUpdatedAt());
+        assertEquals("\"charmander\"", imported.getEtag());
+        assertNull(imported.getPayload(), "raw payloads are not part of a snapshot");
+        assertFalse(target.rows.containsKey("missingno"));
+        assertEquals("squirtle", cache.entries.get("7").identifier());
+        assertEquals(Integer.valueOf(7), learnedAliases.get("squirtle"));
+    }
+
+    @Test
+    void newerStoredRowsAreKept() throws IOException {
+        InMemoryRepository source = new InMemoryRepository();
+        source.save(row(25, "pikachu-old", TAKEN));
+        source.save(row(26, "raichu", TAKEN));
+        InMemoryRepository target = new InMemoryRepository();
+        PokemonEntity newer = row(25, "pikachu", TAKEN.plusSeconds(60));
+        target.save(newer);
+        MapCache cache = new MapCache();
+
+        SnapshotImportResult result = useCase(target, cache).importFrom(new ByteArrayInputStream(export(source)));
+
+        assertEquals(1, result.keptNewer());
+        assertEquals(1, result.stored());
+        assertSame(newer, target.rows.get("25"));
+        assertEquals("pikachu", cache.entries.get("25").identifier());
+        assertEquals("raichu", target.rows.get("26").getProjection().identifier());
+    }
+}
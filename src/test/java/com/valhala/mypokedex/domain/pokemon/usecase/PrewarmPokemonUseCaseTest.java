@@ -0,0 +1,282 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import com.valhala.mypokedex.config.PokemonFreshnessConfiguration;
+import com.valhala.mypokedex.config.PrewarmConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.dto.PrewarmStatus;
+import com.valhala.mypokedex.domain.pokemon.parser.PokemonPayloadParser;
+import com.valhala.mypokedex.domain.pokemon.ports.PokeApiPort;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamResponse;
+import com.valhala.mypokedex.domain.pokemon.ports.UpstreamUnavailableException;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonAliasRepository;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import com.valhala.mypokedex.domain.pokemon.repository.PrewarmCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrewarmPokemonUseCaseTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<String> fetched = new CopyOnWriteArrayList<>();
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final Map<String, PokemonEntity> storedRows = new ConcurrentHashMap<>();
+    private final List<PokemonEntity> touched = new CopyOnWriteArrayList<>();
+    private final Map<String, PokemonDTO> cached = new ConcurrentHashMap<>();
+    private final Map<String, Integer> learnedAliases = new ConcurrentHashMap<>();
+    private final List<Integer> savedCheckpoints = new CopyOnWriteArrayList<>();
+    private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+    private Integer checkpoint;
+    private boolean cleared;
+    private boolean failWrites;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void resumesFromCheckpointAndBatchesEachChunk() {
+        checkpoint = 2;
+        PrewarmPokemonUseCase prewarm = prewarm(1, 5, 2);
+
+        assertTrue(prewarm.run());
+
+        assertEquals(List.of("3", "4", "5"), fetched.stream().sorted().toList());
+        // id 3 is unknown upstream; chunks are 3-4 and 5-5, rows keyed by their canonical id
+        assertEquals(List.of(List.of("4"), List.of("5")), batches);
+        assertEquals(List.of(4, 5), savedCheckpoints);
+        assertTrue(cleared, "a completed run clears its checkpoint");
+        assertEquals(4, cached.get("4").id());
+        assertEquals(Set.of("4", "5"), cached.keySet());
+        assertEquals(Map.of("pokemon-4", 4, "pokemon-5", 5), learnedAliases);
+
+        PrewarmStatus status = prewarm.status();
+        assertFalse(status.running());
+        assertEquals(3, status.processed());
+        assertEquals(2, status.stored());
+        assertEquals(0, status.unchanged());
+        assertEquals(1, status.notFound());
+        assertEquals(0, status.failed());
+        assertEquals(5, status.checkpoint());
+    }
+
+    @Test
+    void startsAtFirstIdWithoutCheckpoint() {
+        PrewarmPokemonUseCase prewarm = prewarm(4, 6, 10);
+
+        prewarm.run();
+
+        assertEquals(List.of("4", "5", "6"), fetched.stream().sorted().toList());
+        assertEquals(1, batches.size());
+        assertEquals(List.of(6), savedCheckpoints);
+    }
+
+    @Test
+    void unchangedRowsAreTouchedInsteadOfRewritten() {
+        PokemonEntity four = new PokemonEntity();
+        four.setIdentifier("4");
+        four.setPayload("{}");
+        four.setProjection(new PokemonDTO(4, "pokemon-4", List.of(), Map.of(), Map.of(), List.of(), "src"));
+        four.setEtag("\"v1\"");
+        storedRows.put("4", four);
+        PrewarmPokemonUseCase prewarm = prewarm(4, 5, 10);
+
+        prewarm.run();
+
+        assertEquals(List.of("4"), touched.stream().map(PokemonEntity::getIdentifier).toList());
+        assertEquals("\"v1\"", touched.get(0).getEtag());
+        assertEquals(List.of(List.of("5")), batches);
+        assertEquals(four.getProjection(), cached.get("4"));
+        assertEquals(1, prewarm.status().unchanged());
+        assertEquals(1, prewarm.status().stored());
+    }
+
+    @Test
+    void theCheckpointStopsBeforeAnIdThatFailed() {
+        unavailable.add("4");
+        PrewarmPokemonUseCase prewarm = prewarm(1, 6, 2);
+
+        prewarm.run();
+
+        // chunks 1-2, 3-4 and 5-6: 5 and 6 are stored, but the checkpoint waits for 4
+        assertEquals(List.of(List.of("1", "2"), List.of(), List.of("5", "6")), batches);
+        assertEquals(List.of(2, 3), savedCheckpoints);
+        assertFalse(cleared, "a run with failures keeps its checkpoint");
+        assertEquals(3, prewarm.status().checkpoint());
+        assertEquals(1, prewarm.status().failed());
+        assertEquals(4, prewarm.status().stored());
+    }
+
+    @Test
+    void aChunkThatCannotBeStoredStopsTheRunWithoutCheckpointing() {
+        failWrites = true;
+        PrewarmPokemonUseCase prewarm = prewarm(1, 4, 2);
+
+        prewarm.run();
+
+        assertEquals(List.of("1", "2"), fetched.stream().sorted().toList());
+        assertTrue(savedCheckpoints.isEmpty());
+        assertFalse(cleared);
+        assertTrue(cached.isEmpty(), "rows that were not stored are not cached");
+        assertEquals(0, prewarm.status().stored());
+        assertEquals(2, prewarm.status().failed());
+        assertEquals(0, prewarm.status().checkpoint());
+    }
+
+    private PrewarmPokemonUseCase prewarm(int first, int last, int batchSize) {
+        PrewarmConfiguration config = new PrewarmConfiguration();
+        config.setFirstId(first);
+        config.setLastId(last);
+        config.setBatchSize(batchSize);
+        config.setConcurrency(2);
+        config.setRatePerSecond(0);
+
+        PokeApiPort upstream = new PokeApiPort() {
+            @Override
+            public Optional<byte[]> fetchPokemonRaw(String identifier) {
+                fetched.add(identifier);
+                if (unavailable.contains(identifier))
+                    throw new UpstreamUnavailableException("PokeAPI unavailable for " + identifier);
+                if (identifier.equals("3"))
+                    return Optional.empty();
+                String body = "{\"id\":" + identifier + ",\"name\":\"pokemon-" + identifier + "\"}";
+                return Optional.of(body.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public CompletableFuture<UpstreamResponse> revalidateAsync(String identifier, String etag,
+                    String lastModified, Executor executor) {
+                if ("\"v1\"".equals(etag)) {
+                    fetched.add(identifier);
+                    return CompletableFuture.completedFuture(UpstreamResponse.notModified(etag, null));
+                }
+                return PokeApiPort.super.revalidateAsync(identifier, etag, lastModified, executor);
+            }
+        };
+        PokemonRepository repository = new PokemonRepository() {
+            @Override
+            public Optional<PokemonEntity> findByIdentifier(String identifier) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Map<String, PokemonEntity> findAllByIdentifiers(Collection<String> identifiers) {
+                Map<String, PokemonEntity> found = new HashMap<>();
+                identifiers.forEach(id -> Optional.ofNullable(storedRows.get(id)).ifPresent(e -> found.put(id, e)));
+                return found;
+            }
+
+            @Override
+            public void save(PokemonEntity entity) {
+                fail("pre-warm should only use batch upserts");
+            }
+
+            @Override
+            public void saveAll(Collection<PokemonEntity> entities) {
+                if (failWrites)
+                    throw new IllegalStateException("database down");
+                List<String> names = new ArrayList<>();
+                entities.forEach(e -> names.add(e.getIdentifier()));
+                batches.add(names);
+            }
+
+            @Override
+            public void touch(Collection<PokemonEntity> confirmed, Instant updatedAt, Instant expiresAt) {
+                touched.addAll(confirmed);
+            }
+
+            @Override
+            public void forEach(Consumer<PokemonEntity> action) {
+                storedRows.values().forEach(action);
+            }
+        };
+        PokemonCachePort cache = new PokemonCachePort() {
+            @Override
+            public Optional<PokemonDTO> get(String key) {
+                return Optional.ofNullable(cached.get(key));
+            }
+
+            @Override
+            public Map<String, PokemonDTO> getAll(Collection<String> keys) {
+                return new HashMap<>();
+            }
+
+            @Override
+            public void put(String key, PokemonDTO dto) {
+                cached.put(key, dto);
+            }
+
+            @Override
+            public void invalidate(String key) {
+                cached.remove(key);
+            }
+
+            @Override
+            public boolean hasTombstone(String key) {
+                return false;
+            }
+
+            @Override
+            public Set<String> hasTombstones(Collection<String> keys) {
+                return Set.of();
+            }
+
+            @Override
+            public void putTombstone(String key) {
+            }
+        };
+        PrewarmCheckpointRepository checkpoints = new PrewarmCheckpointRepository() {
+            @Override
+            public OptionalInt findLastId(String job) {
+                return checkpoint == null ? OptionalInt.empty() : OptionalInt.of(checkpoint);
+            }
+
+            @Override
+            public void saveLastId(String job, int lastId) {
+                savedCheckpoints.add(lastId);
+            }
+
+            @Override
+            public void clear(String job) {
+                cleared = true;
+            }
+        };
+        PokemonAliasIndex aliases = new PokemonAliasIndex(new PokemonAliasRepository() {
+            @Override
+            public OptionalInt findPokeapiId(String alias) {
+                Integer id = learnedAliases.get(alias);
+                return id == null ? OptionalInt.empty() : OptionalInt.of(id);
+            }
+
+            @Override
+            public void saveAll(Map<String, Integer> aliases) {
+                learnedAliases.putAll(aliases);
+            }
+        });
+        PokemonLoader loader = new PokemonLoader(repository, upstream, new PokemonPayloadParser(),
+                new PokemonFreshnessConfiguration(), aliases, executor);
+        return new PrewarmPokemonUseCase(upstream, loader, aliases, repository, cache, checkpoints, config, executor);
+    }
+}
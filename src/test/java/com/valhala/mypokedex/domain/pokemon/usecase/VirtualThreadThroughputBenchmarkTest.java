@@ -0,0 +1,185 @@
+package com.valhala.mypokedex.domain.pokemon.usecase;
+
+import com.valhala.mypokedex.config.PokemonBatchConfiguration;
+import com.valhala.mypokedex.config.PokemonFreshnessConfiguration;
+import com.valhala.mypokedex.domain.pokemon.dto.PokemonDTO;
+import com.valhala.mypokedex.domain.pokemon.parser.PokemonPayloadParser;
+import com.valhala.mypokedex.domain.pokemon.ports.PokeApiPort;
+import com.valhala.mypokedex.domain.pokemon.ports.PokemonCachePort;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonAliasRepository;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonEntity;
+import com.valhala.mypokedex.domain.pokemon.repository.PokemonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of the blocking read path with a 500 ms upstream, served by a Jetty-sized
+ * platform pool versus one virtual thread per request. Every request is a distinct miss, so
+ * each one pays the upstream latency. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadThroughputBenchmarkTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int PLATFORM_WORKERS = 200; // Jetty's default max threads
+    private static final long UPSTREAM_LATENCY_MS = 500;
+
+    @Test
+    void virtualThreadsOutperformPlatformPoolUnderUpstreamLatency() throws Exception {
+        double platform;
+        try (ExecutorService workers = Executors.newFixedThreadPool(PLATFORM_WORKERS)) {
+            platform = run("platform", workers);
+        }
+        double virtual;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            virtual = run("virtual", workers);
+        }
+        System.out.printf("speedup virtual/platform: %.1fx%n", virtual / platform);
+        assertTrue(virtual > platform, "virtual threads should sustain more requests/s under upstream latency");
+    }
+
+    private double run(String mode, ExecutorService workers) throws Exception {
+        InMemoryRepository repository = new InMemoryRepository();
+        PokemonPayloadParser parser = new PokemonPayloadParser();
+        PokemonAliasIndex aliases = new PokemonAliasIndex(new NoopAliases());
+        PokemonLoader loader = new PokemonLoader(repository, new SlowUpstream(), parser,
+                new PokemonFreshnessConfiguration(), aliases, workers);
+        GetPokemonUseCase useCase = new GetPokemonUseCase(repository, new NoopCache(), loader, aliases, parser,
+                new PokemonBatchConfiguration(), workers, new SimpleMeterRegistry());
+
+        long start = System.nanoTime();
+        List<Future<Optional<PokemonDTO>>> results = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String identifier = "pokemon-" + mode + "-" + i;
+            results.add(workers.submit(() -> useCase.getPokemon(identifier)));
+        }
+        for (Future<Optional<PokemonDTO>> result : results) {
+            assertTrue(result.get().isPresent());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double throughput = REQUESTS / seconds;
+        System.out.printf("%-8s %d requests in %.2fs -> %.0f req/s%n", mode, REQUESTS, seconds, throughput);
+        return throughput;
+    }
+
+    private static final class SlowUpstream implements PokeApiPort {
+        @Override
+        public Optional<byte[]> fetchPokemonRaw(String identifier) {
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+            String body = "{\"id\":1,\"name\":\"" + identifier + "\",\"types\":[{\"type\":{\"name\":\"normal\"}}]}";
+            return Optional.of(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class InMemoryRepository implements PokemonRepository {
+        private final Map<String, PokemonEntity> rows = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<PokemonEntity> findByIdentifier(String identifier) {
+            return Optional.ofNullable(rows.get(identifier));
+        }
+
+        @Override
+        public Map<String, PokemonEntity> findAllByIdentifiers(Collection<String> identifiers) {
+            Map<String, PokemonEntity> found = new HashMap<>();
+            for (String identifier : identifiers) {
+                PokemonEntity e = rows.get(identifier);
+                if (e != null)
+                    found.put(identifier, e);
+            }
+            return found;
+        }
+
+        @Override
+        public void save(PokemonEntity entity) {
+            rows.put(entity.getIdentifier(), entity);
+        }
+
+        @Override
+        public void touch(Collection<PokemonEntity> confirmed, Instant updatedAt, Instant expiresAt) {
+            for (PokemonEntity row : confirmed) {
+                rows.computeIfPresent(row.getIdentifier(), (k, e) -> {
+                    e.setUpdatedAt(updatedAt);
+                    e.setExpiresAt(expiresAt);
+                    e.setEtag(row.getEtag());
+                    e.setLastModified(row.getLastModified());
+                    return e;
+                });
+            }
+        }
+
+        @Override
+        public void forEach(Consumer<PokemonEntity> action) {
+            rows.values().forEach(action);
+        }
+    }
+
+    private static final class NoopCache implements PokemonCachePort {
+        @Override
+        public Optional<PokemonDTO> get(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, PokemonDTO> getAll(Collection<String> keys) {
+            return Map.of();
+        }
+
+        @Override
+        public void put(String key, PokemonDTO dto) {
+        }
+
+        @Override
+        public void invalidate(String key) {
+        }
+
+        @Override
+        public boolean hasTombstone(String key) {
+            return false;
+        }
+
+        @Override
+        public Set<String> hasTombstones(Collection<String> keys) {
+            return Set.of();
+        }
+
+        @Override
+        public void putTombstone(String key) {
+        }
+    }
+
+    private static final class NoopAliases implements PokemonAliasRepository {
+        @Override
+        public OptionalInt findPokeapiId(String alias) {
+            return OptionalInt.empty();
+        }
+
+        @Override
+        public void saveAll(Map<String, Integer> aliases) {
+        }
+    }
+}
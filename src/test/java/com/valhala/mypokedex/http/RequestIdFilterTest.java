@@ -0,0 +1,70 @@
+package com.valhala.mypokedex.http;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls the server with a plain JDK client: the instrumented Micronaut client would open a trace
+ * of its own and replace the {@code traceparent} sent here.
+ */
+@MicronautTest
+@Property(name = "spec.name", value = "RequestIdFilterTest")
+class RequestIdFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Inject
+    EmbeddedServer server;
+
+    private HttpResponse<String> get(String... headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(server.getURL() + "/request-id"));
+        if (headers.length > 0)
+            request.headers(headers);
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void theRequestIdIsTheTraceIdOfTheIncomingTrace() throws Exception {
+        HttpResponse<String> response = get("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01",
+                RequestIdFilter.HEADER, "ignored-inside-a-trace");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(TRACE_ID, response.headers().firstValue(RequestIdFilter.HEADER).orElseThrow());
+        assertEquals(TRACE_ID, response.body(), "handlers see the same id through currentId()");
+    }
+
+    @Test
+    void withoutAnIncomingTraceTheServerSpanStartsOne() throws Exception {
+        HttpResponse<String> response = get();
+
+        String reqId = response.headers().firstValue(RequestIdFilter.HEADER).orElseThrow();
+        assertTrue(reqId.matches("[0-9a-f]{32}"), "expected a trace id, was " + reqId);
+        assertEquals(reqId, response.body());
+    }
+
+    @Requires(property = "spec.name", value = "RequestIdFilterTest")
+    @Controller("/request-id")
+    static class RequestIdController {
+
+        @Get
+        @Produces(MediaType.TEXT_PLAIN)
+        String currentId() {
+            return RequestIdFilter.currentId();
+        }
+    }
+}